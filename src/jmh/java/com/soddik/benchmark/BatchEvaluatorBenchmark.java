@@ -0,0 +1,42 @@
+package com.soddik.benchmark;
+
+import com.soddik.evaluator.BatchHandEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranking a column of {@value BenchmarkHands#SIZE} random five card hands with the Vector API kernel and one hand at a
+ * time; the score divided into the amount of hands is the time of one evaluation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BatchEvaluatorBenchmark {
+    private long[] cards;
+    private int[] ranks;
+
+    @Setup
+    public void setUp() {
+        cards = BenchmarkHands.randomCards(5, 5);
+        ranks = new int[BenchmarkHands.SIZE];
+        if (!BatchHandEvaluator.isVectorized()) {
+            throw new IllegalStateException("The Vector API kernel is not available");
+        }
+    }
+
+    @Benchmark
+    public int[] vector() {
+        BatchHandEvaluator.evaluate(cards, 0, BenchmarkHands.SIZE, ranks);
+        return ranks;
+    }
+
+    @Benchmark
+    public int[] scalar() {
+        BatchHandEvaluator.evaluateScalar(cards, 0, BenchmarkHands.SIZE, ranks);
+        return ranks;
+    }
+}
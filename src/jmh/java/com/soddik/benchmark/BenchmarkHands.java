@@ -0,0 +1,56 @@
+package com.soddik.benchmark;
+
+import com.soddik.entity.Card;
+
+import java.util.SplittableRandom;
+
+/**
+ * Inputs shared by the benchmarks. Random hands are drawn uniformly from the 52 cards with a fixed seed, so runs are
+ * comparable.
+ */
+final class BenchmarkHands {
+    static final int SIZE = 1024;
+    static final int MASK = SIZE - 1;
+
+    private BenchmarkHands() {
+    }
+
+    static long[] randomCards(int amount, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] result = new long[SIZE];
+        for (int index = 0; index < SIZE; index++) {
+            long cards = 0;
+            while (Card.count(cards) < amount) {
+                cards |= Card.bit(random.nextInt(Card.DECK_SIZE));
+            }
+            result[index] = cards;
+        }
+        return result;
+    }
+
+    static String[] toStrings(long[] hands) {
+        String[] result = new String[hands.length];
+        int[] codes = new int[Card.DECK_SIZE];
+        for (int index = 0; index < hands.length; index++) {
+            int size = Card.toCodes(hands[index], codes);
+            StringBuilder sb = new StringBuilder();
+            for (int card = 0; card < size; card++) {
+                sb.append(Card.toString(codes[card])).append(' ');
+            }
+            result[index] = sb.toString().trim();
+        }
+        return result;
+    }
+
+    /**
+     * Two pairs with the same pairs, so every comparison falls through to the kicker.
+     */
+    static String[] twoPairsKickerTies() {
+        String[] kickers = {"2", "4", "5", "6", "7", "8", "9", "T", "Q", "K", "A"};
+        String[] result = new String[SIZE];
+        for (int index = 0; index < SIZE; index++) {
+            result[index] = "JC JS 3D 3H " + kickers[index % kickers.length] + "C";
+        }
+        return result;
+    }
+}
@@ -0,0 +1,92 @@
+package com.soddik.benchmark;
+
+import com.soddik.draw.DrawAnalyzer;
+import com.soddik.draw.DrawSituations;
+import com.soddik.entity.Card;
+import com.soddik.evaluator.HandEvaluator;
+import com.soddik.evaluator.SevenCardEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outs, combination odds and showdowns of 1024 random flops with one opponent: {@link DrawAnalyzer} on a single
+ * thread against ranking the player and the opponent from scratch for every next card and runout.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DrawAnalyzerBenchmark {
+    private final DrawAnalyzer analyzer = new DrawAnalyzer(new ForkJoinPool(1));
+    private DrawSituations situations;
+    private long[] holeCards;
+    private long[] boards;
+    private long[] opponents;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(24);
+        situations = new DrawSituations(BenchmarkHands.SIZE);
+        holeCards = new long[BenchmarkHands.SIZE];
+        boards = new long[BenchmarkHands.SIZE];
+        opponents = new long[BenchmarkHands.SIZE];
+        for (int index = 0; index < BenchmarkHands.SIZE; index++) {
+            holeCards[index] = deal(random, 0, 2);
+            boards[index] = deal(random, holeCards[index], 3);
+            opponents[index] = deal(random, holeCards[index] | boards[index], 2);
+            situations.add(holeCards[index], boards[index], new long[]{opponents[index]}, 0);
+        }
+    }
+
+    @Benchmark
+    public long analyzer() {
+        return analyzer.analyze(situations).runouts();
+    }
+
+    @Benchmark
+    public long sevenCardEvaluator() {
+        long sum = 0;
+        for (int index = 0; index < BenchmarkHands.SIZE; index++) {
+            long hole = holeCards[index];
+            long board = boards[index];
+            long opponent = opponents[index];
+            long known = hole | board | opponent;
+            int current = HandEvaluator.combination(SevenCardEvaluator.evaluate(hole | board)).ordinal();
+            for (int turn = 0; turn < Card.DECK_SIZE; turn++) {
+                long turnBoard = board | Card.bit(turn);
+                if ((known & Card.bit(turn)) != 0) {
+                    continue;
+                }
+                int turnRank = SevenCardEvaluator.evaluate(hole | turnBoard);
+                sum += HandEvaluator.combination(turnRank).ordinal() > current ? 1 : 0;
+                sum += turnRank < SevenCardEvaluator.evaluate(opponent | turnBoard) ? 1 : 0;
+                for (int river = turn + 1; river < Card.DECK_SIZE; river++) {
+                    if ((known & Card.bit(river)) != 0) {
+                        continue;
+                    }
+                    long riverBoard = turnBoard | Card.bit(river);
+                    int rank = SevenCardEvaluator.evaluate(hole | riverBoard);
+                    sum += HandEvaluator.combination(rank).ordinal();
+                    sum += rank < SevenCardEvaluator.evaluate(opponent | riverBoard) ? 1 : 0;
+                }
+            }
+        }
+        return sum;
+    }
+
+    private static long deal(SplittableRandom random, long dealt, int amount) {
+        long cards = 0;
+        while (Card.count(cards) < amount) {
+            long card = Card.bit(random.nextInt(Card.DECK_SIZE));
+            if ((card & dealt) == 0) {
+                cards |= card;
+            }
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,58 @@
+package com.soddik.benchmark;
+
+import com.soddik.entity.Card;
+import com.soddik.evaluator.HandEvaluator;
+import com.soddik.evaluator.SevenCardEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluation without object construction, including the naive best of 21 five card subsets for seven cards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluatorBenchmark {
+    private long[] fiveCards;
+    private long[] sevenCards;
+    private int[][] sevenCodes;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        fiveCards = BenchmarkHands.randomCards(5, 3);
+        sevenCards = BenchmarkHands.randomCards(7, 4);
+        sevenCodes = new int[BenchmarkHands.SIZE][7];
+        for (int hand = 0; hand < BenchmarkHands.SIZE; hand++) {
+            Card.toCodes(sevenCards[hand], sevenCodes[hand]);
+        }
+    }
+
+    @Benchmark
+    public int fiveCards() {
+        return HandEvaluator.evaluate(fiveCards[index++ & BenchmarkHands.MASK]);
+    }
+
+    @Benchmark
+    public int sevenCards() {
+        return SevenCardEvaluator.evaluate(sevenCards[index++ & BenchmarkHands.MASK]);
+    }
+
+    @Benchmark
+    public int sevenCardsNaiveSubsets() {
+        int current = index++ & BenchmarkHands.MASK;
+        long cards = sevenCards[current];
+        int[] codes = sevenCodes[current];
+        int best = HandEvaluator.WORST_RANK;
+        for (int first = 0; first < 7; first++) {
+            for (int second = first + 1; second < 7; second++) {
+                best = Math.min(best, HandEvaluator.evaluate(cards & ~Card.bit(codes[first]) & ~Card.bit(codes[second])));
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,81 @@
+package com.soddik.benchmark;
+
+import com.soddik.exception.UnexpectedCardAttributeKindException;
+import com.soddik.parser.HandParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandParserBenchmark {
+    private final HandParser parser = new HandParser();
+    private String[] hands;
+    private byte[][] bytes;
+    private byte[][] invalid;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        hands = BenchmarkHands.toStrings(BenchmarkHands.randomCards(5, 1));
+        bytes = new byte[hands.length][];
+        for (int hand = 0; hand < hands.length; hand++) {
+            bytes[hand] = hands[hand].getBytes(StandardCharsets.US_ASCII);
+        }
+        invalid = new byte[hands.length][];
+        for (int hand = 0; hand < hands.length; hand++) {
+            invalid[hand] = bytes[hand].clone();
+            invalid[hand][hand % 5 * 3 + 1] = 'X';
+        }
+    }
+
+    @Benchmark
+    public long parseString() {
+        return parser.parseHand(hands[index++ & BenchmarkHands.MASK]);
+    }
+
+    @Benchmark
+    public long parseBytes() {
+        byte[] hand = bytes[index++ & BenchmarkHands.MASK];
+        return parser.parseHand(hand, 0, hand.length);
+    }
+
+    @Benchmark
+    public long tryParseBytes() {
+        byte[] hand = bytes[index++ & BenchmarkHands.MASK];
+        return parser.tryParseHand(hand, 0, hand.length);
+    }
+
+    /**
+     * A line with a bad card kind, rejected by catching the exception.
+     */
+    @Benchmark
+    public long rejectThrowing() {
+        byte[] hand = invalid[index++ & BenchmarkHands.MASK];
+        try {
+            return parser.parseHand(hand, 0, hand.length);
+        } catch (UnexpectedCardAttributeKindException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * The same line rejected with a result code.
+     */
+    @Benchmark
+    public long rejectResultCode() {
+        byte[] hand = invalid[index++ & BenchmarkHands.MASK];
+        return parser.tryParseHand(hand, 0, hand.length);
+    }
+
+    @Benchmark
+    public Integer[][] parseStringLegacy() {
+        parser.parseString(hands[index++ & BenchmarkHands.MASK]);
+        return parser.getCards();
+    }
+}
@@ -0,0 +1,61 @@
+package com.soddik.benchmark;
+
+import com.soddik.batch.HandRanking;
+import com.soddik.entity.PokerHand;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordering a leaderboard of random hands: a comparator sort of the hands against the counting sort of their ranks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandRankingBenchmark {
+    @Param({"1000000"})
+    public int hands;
+
+    private List<PokerHand> shuffled;
+    private int[] ranks;
+
+    @Setup
+    public void setUp() {
+        long[] cards = BenchmarkHands.randomCards(5, 4);
+        shuffled = new ArrayList<>(hands);
+        ranks = new int[hands];
+        for (int index = 0; index < hands; index++) {
+            shuffled.add(new PokerHand(cards[index & BenchmarkHands.MASK]));
+        }
+        Collections.shuffle(shuffled, new Random(5));
+        for (int index = 0; index < hands; index++) {
+            ranks[index] = shuffled.get(index).getRank();
+        }
+    }
+
+    @Benchmark
+    public List<PokerHand> comparatorSort() {
+        List<PokerHand> copy = new ArrayList<>(shuffled);
+        copy.sort(PokerHand::compareTo);
+        return copy;
+    }
+
+    @Benchmark
+    public List<PokerHand> countingSort() {
+        List<PokerHand> copy = new ArrayList<>(shuffled);
+        HandRanking.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public HandRanking denseRanking() {
+        return HandRanking.of(ranks);
+    }
+}
@@ -0,0 +1,26 @@
+package com.soddik.benchmark;
+
+import com.soddik.batch.HandSpaceEnumerator;
+import com.soddik.batch.HandSpaceStatistics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass over all 2,598,960 five card hands, the score divided into the amount of hands is the time of one
+ * evaluation including the enumeration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandSpaceBenchmark {
+    private final HandSpaceEnumerator enumerator = new HandSpaceEnumerator();
+
+    @Benchmark
+    public HandSpaceStatistics enumerate() {
+        return enumerator.enumerate();
+    }
+}
@@ -0,0 +1,70 @@
+package com.soddik.benchmark;
+
+import com.soddik.entity.Card;
+import com.soddik.evaluator.IncrementalEvaluator;
+import com.soddik.evaluator.SevenCardEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every turn and river (1081 runouts) of random hole cards and flops: {@link IncrementalEvaluator} deals the five
+ * known cards once, the turn once per turn and only the river per runout, {@link SevenCardEvaluator} ranks every seven
+ * cards from scratch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncrementalEvaluatorBenchmark {
+    private final IncrementalEvaluator evaluator = IncrementalEvaluator.getInstance();
+    private long[] known;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        known = BenchmarkHands.randomCards(5, 22);
+    }
+
+    @Benchmark
+    public long sevenCardEvaluator() {
+        long cards = known[index++ & BenchmarkHands.MASK];
+        long sum = 0;
+        for (int turn = 0; turn < Card.DECK_SIZE; turn++) {
+            long turnCards = cards | Card.bit(turn);
+            if (turnCards == cards) {
+                continue;
+            }
+            for (int river = turn + 1; river < Card.DECK_SIZE; river++) {
+                long riverCards = turnCards | Card.bit(river);
+                if (riverCards != turnCards) {
+                    sum += SevenCardEvaluator.evaluate(riverCards);
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long incremental() {
+        long cards = known[index++ & BenchmarkHands.MASK];
+        int state = evaluator.nextAll(IncrementalEvaluator.START, cards);
+        long sum = 0;
+        for (int turn = 0; turn < Card.DECK_SIZE; turn++) {
+            long turnCards = cards | Card.bit(turn);
+            if (turnCards == cards) {
+                continue;
+            }
+            int turnState = evaluator.next(state, turn);
+            for (int river = turn + 1; river < Card.DECK_SIZE; river++) {
+                long riverCards = turnCards | Card.bit(river);
+                if (riverCards != turnCards) {
+                    sum += evaluator.rank(evaluator.next(turnState, river), riverCards);
+                }
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,89 @@
+package com.soddik.benchmark;
+
+import com.soddik.entity.Card;
+import com.soddik.entity.PokerHand;
+import com.soddik.evaluator.OmahaEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One Omaha player on a river board: {@link OmahaEvaluator} against the naive loop that builds a {@link PokerHand}
+ * for each of the 60 two plus three card hands and keeps the best with {@code compareTo}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OmahaBenchmark {
+    private long[] holeCards;
+    private long[] boards;
+    private int[][] holeCodes;
+    private int[][] boardCodes;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(21);
+        holeCards = new long[BenchmarkHands.SIZE];
+        boards = new long[BenchmarkHands.SIZE];
+        holeCodes = new int[BenchmarkHands.SIZE][4];
+        boardCodes = new int[BenchmarkHands.SIZE][5];
+        for (int deal = 0; deal < BenchmarkHands.SIZE; deal++) {
+            long cards = 0;
+            while (Card.count(cards) < 9) {
+                cards |= Card.bit(random.nextInt(Card.DECK_SIZE));
+            }
+            int[] codes = new int[9];
+            Card.toCodes(cards, codes);
+            for (int card = 0; card < 9; card++) {
+                int other = random.nextInt(card + 1);
+                int code = codes[card];
+                codes[card] = codes[other];
+                codes[other] = code;
+            }
+            for (int card = 0; card < 9; card++) {
+                if (card < 4) {
+                    holeCodes[deal][card] = codes[card];
+                    holeCards[deal] |= Card.bit(codes[card]);
+                } else {
+                    boardCodes[deal][card - 4] = codes[card];
+                    boards[deal] |= Card.bit(codes[card]);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int evaluator() {
+        int deal = index++ & BenchmarkHands.MASK;
+        return OmahaEvaluator.evaluate(holeCards[deal], boards[deal]);
+    }
+
+    @Benchmark
+    public PokerHand naivePokerHands() {
+        int deal = index++ & BenchmarkHands.MASK;
+        int[] hole = holeCodes[deal];
+        int[] board = boardCodes[deal];
+        PokerHand best = null;
+        for (int first = 0; first < 4; first++) {
+            for (int second = first + 1; second < 4; second++) {
+                for (int third = 0; third < 5; third++) {
+                    for (int fourth = third + 1; fourth < 5; fourth++) {
+                        for (int fifth = fourth + 1; fifth < 5; fifth++) {
+                            PokerHand hand = new PokerHand(Card.bit(hole[first]) | Card.bit(hole[second])
+                                    | Card.bit(board[third]) | Card.bit(board[fourth]) | Card.bit(board[fifth]));
+                            if (best == null || hand.compareTo(best) < 0) {
+                                best = hand;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,61 @@
+package com.soddik.benchmark;
+
+import com.soddik.entity.PokerHand;
+import com.soddik.parser.HandParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction covers parsing plus evaluation, comparison runs on prebuilt hands: random pairs and two pairs that only
+ * differ by the kicker.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PokerHandBenchmark {
+    private final HandParser parser = new HandParser();
+    private long[] cards;
+    private String[] strings;
+    private PokerHand[] random;
+    private PokerHand[] kickerTies;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        cards = BenchmarkHands.randomCards(5, 2);
+        strings = BenchmarkHands.toStrings(cards);
+        String[] ties = BenchmarkHands.twoPairsKickerTies();
+        random = new PokerHand[BenchmarkHands.SIZE];
+        kickerTies = new PokerHand[BenchmarkHands.SIZE];
+        for (int hand = 0; hand < BenchmarkHands.SIZE; hand++) {
+            random[hand] = new PokerHand(cards[hand]);
+            kickerTies[hand] = new PokerHand(ties[hand], parser);
+        }
+    }
+
+    @Benchmark
+    public PokerHand constructFromString() {
+        return new PokerHand(strings[index++ & BenchmarkHands.MASK], parser);
+    }
+
+    @Benchmark
+    public PokerHand constructFromPacked() {
+        return new PokerHand(cards[index++ & BenchmarkHands.MASK]);
+    }
+
+    @Benchmark
+    public int compareRandom() {
+        int current = index++;
+        return random[current & BenchmarkHands.MASK].compareTo(random[(current + 1) & BenchmarkHands.MASK]);
+    }
+
+    @Benchmark
+    public int compareTwoPairsKickers() {
+        int current = index++;
+        return kickerTies[current & BenchmarkHands.MASK].compareTo(kickerTies[(current + 1) & BenchmarkHands.MASK]);
+    }
+}
@@ -0,0 +1,28 @@
+package com.soddik.benchmark;
+
+import com.soddik.entity.PokerHand;
+import com.soddik.generator.DeckGenerator;
+import com.soddik.generator.RandomHandGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomHandGeneratorBenchmark {
+    private final RandomHandGenerator generator = new RandomHandGenerator(new DeckGenerator());
+
+    @Benchmark
+    public PokerHand generateHand() {
+        return generator.generateHand();
+    }
+
+    @Benchmark
+    public long generatePackedHand() {
+        return generator.generatePackedHand();
+    }
+}
@@ -0,0 +1,37 @@
+package com.soddik.benchmark;
+
+import com.soddik.equity.HandRange;
+import com.soddik.equity.RangeEquityCalculator;
+import com.soddik.equity.RangeEquityResult;
+import com.soddik.equity.RangeParser;
+import com.soddik.parser.HandParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A tight range against a wide one: 100 000 random preflop boards and every turn and river of a flop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class RangeEquityBenchmark {
+    private final RangeEquityCalculator calculator = new RangeEquityCalculator(ForkJoinPool.commonPool(), 23);
+    private final HandRange tight = RangeParser.parse("TT+, AKs, KQo, 76s-54s");
+    private final HandRange wide = RangeParser.parse("22+, A2s+, K9s+, QTs+, JTs, T9s, ATo+, KJo+");
+    private final long flop = new HandParser().parseCards("QS 9D 2H");
+
+    @Benchmark
+    public RangeEquityResult preflopMonteCarlo() {
+        return calculator.monteCarlo(tight, wide, 0, 0, 100_000);
+    }
+
+    @Benchmark
+    public RangeEquityResult flopExact() {
+        return calculator.exact(tight, wide, flop, 0);
+    }
+}
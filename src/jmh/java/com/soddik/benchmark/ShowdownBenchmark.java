@@ -0,0 +1,56 @@
+package com.soddik.benchmark;
+
+import com.soddik.entity.Card;
+import com.soddik.generator.Deck;
+import com.soddik.showdown.ShowdownResolver;
+import com.soddik.showdown.ShowdownSummary;
+import com.soddik.showdown.ShowdownTables;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving a batch of random tables with random stakes, so most of them have side pots. The score divided into the
+ * amount of tables is the time of one showdown.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShowdownBenchmark {
+    @Param({"65536"})
+    public int tables;
+
+    @Param({"6", "10"})
+    public int players;
+
+    private final ShowdownResolver resolver = new ShowdownResolver();
+    private ShowdownTables batch;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(6);
+        Deck deck = new Deck();
+        int[] codes = new int[5 + 2 * players];
+        long[] holeCards = new long[players];
+        long[] stakes = new long[players];
+        batch = new ShowdownTables(tables);
+        for (int table = 0; table < tables; table++) {
+            deck.deal(codes, 0, codes.length, random);
+            for (int seat = 0; seat < players; seat++) {
+                holeCards[seat] = Card.bit(codes[5 + 2 * seat]) | Card.bit(codes[6 + 2 * seat]);
+                stakes[seat] = 1 + random.nextInt(100);
+            }
+            batch.add(Card.bit(codes[0]) | Card.bit(codes[1]) | Card.bit(codes[2]) | Card.bit(codes[3])
+                    | Card.bit(codes[4]), holeCards, stakes);
+        }
+    }
+
+    @Benchmark
+    public ShowdownSummary resolve() {
+        return resolver.resolve(batch);
+    }
+}
@@ -0,0 +1,41 @@
+package com.soddik.benchmark;
+
+import com.soddik.evaluator.EvaluatorTables;
+import com.soddik.evaluator.IncrementalEvaluator;
+import com.soddik.evaluator.OmahaEvaluator;
+import com.soddik.evaluator.SevenCardEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to the first evaluation of every evaluator in a fresh JVM: one call per fork, which pays for the class
+ * initialization that reads the tables embedded by {@link EvaluatorTables} or, with the property off, generates them.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+    // packed masks, so that the parser is not initialized in the measurement
+    private static final long CARDS = 0x0001_0002_1004_1800L;
+    private static final long OMAHA_HOLE = 0x0000_0000_1001_1800L;
+    private static final long OMAHA_BOARD = 0x0003_0002_0004_0100L;
+
+    @Benchmark
+    public long embeddedTables() {
+        return firstEvaluations();
+    }
+
+    @Benchmark
+    @Fork(value = 10, jvmArgsAppend = "-D" + EvaluatorTables.PROPERTY + "=false")
+    public long generatedTables() {
+        return firstEvaluations();
+    }
+
+    private static long firstEvaluations() {
+        return SevenCardEvaluator.evaluate(CARDS) + IncrementalEvaluator.getInstance().evaluate(CARDS)
+                + OmahaEvaluator.evaluate(OMAHA_HOLE, OMAHA_BOARD);
+    }
+}
@@ -1,17 +1,69 @@
 package com.soddik;
 
+import com.soddik.batch.BulkHandRanker;
+import com.soddik.batch.HandRanking;
+import com.soddik.batch.HandSpaceEnumerator;
 import com.soddik.entity.PokerHand;
+import com.soddik.equity.RangeEquityCalculator;
+import com.soddik.equity.RangeParser;
+import com.soddik.evaluator.IncrementalEvaluator;
+import com.soddik.evaluator.OmahaEvaluator;
+import com.soddik.evaluator.SevenCardEvaluator;
 import com.soddik.generator.DeckGenerator;
 import com.soddik.generator.RandomHandGenerator;
+import com.soddik.parser.HandParser;
+import com.soddik.pipeline.CombinationHistogramSink;
+import com.soddik.pipeline.HandPipeline;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.logging.Logger;
 
+/**
+ * Without arguments ranks 6 random hands. With {@code <input> <output>} ranks every line of the input file, see
+ * {@link BulkHandRanker}; with {@code enumerate} counts the combinations of every five card hand, see
+ * {@link HandSpaceEnumerator}; with {@code simulate <hands>} counts the combinations of random hands, see
+ * {@link HandPipeline}; with {@code range <hero range> <villain range> [board]} computes the equity of two ranges, see
+ * {@link RangeEquityCalculator}, exactly from the flop on and on random boards before it; with {@code startup} times
+ * the first evaluation of a fresh JVM, see {@link com.soddik.evaluator.EvaluatorTables}.
+ */
 public class Main {
     private static final Logger logger = Logger.getLogger(Main.class.getSimpleName());
-    public static void main(String[] args) {
+    private static final long RANGE_BOARDS = 100_000;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 2 && args[0].equals("simulate")) {
+            CombinationHistogramSink histogram = new CombinationHistogramSink();
+            logger.info(new HandPipeline().run(Long.parseLong(args[1]), System.nanoTime(), histogram).toString());
+            logger.info(histogram.getResult().join().toString());
+            return;
+        }
+        if (args.length >= 3 && args[0].equals("range")) {
+            long board = args.length > 3 ? new HandParser().parseCards(args[3]) : 0;
+            RangeEquityCalculator calculator = new RangeEquityCalculator();
+            logger.info((board == 0
+                    ? calculator.monteCarlo(RangeParser.parse(args[1]), RangeParser.parse(args[2]), 0, 0, RANGE_BOARDS)
+                    : calculator.exact(RangeParser.parse(args[1]), RangeParser.parse(args[2]), board, 0)).toString());
+            return;
+        }
+        if (args.length == 2) {
+            BulkHandRanker ranker = new BulkHandRanker(new HandParser());
+            logger.info(ranker.rank(Path.of(args[0]), Path.of(args[1])).toString());
+            return;
+        }
+        if (args.length == 1 && args[0].equals("startup")) {
+            startup();
+            return;
+        }
+        if (args.length == 1 && args[0].equals("enumerate")) {
+            logger.info(new HandSpaceEnumerator().enumerate().toString());
+            return;
+        }
+
         DeckGenerator deckGenerator = new DeckGenerator();
         RandomHandGenerator randomHandGenerator = new RandomHandGenerator(deckGenerator);
 
@@ -20,8 +72,24 @@ public class Main {
             hands.add(randomHandGenerator.generateHand());
         }
         Collections.shuffle(hands);
-        hands.sort(PokerHand::compareTo);
+        HandRanking.sort(hands);
 
         hands.forEach(hand -> logger.info(hand.toString()));
     }
-}
\ No newline at end of file
+
+    /**
+     * Times the first evaluation with every evaluator, before anything else touches them.
+     */
+    private static void startup() {
+        long start = System.nanoTime();
+        HandParser parser = new HandParser();
+        long cards = parser.parseCards("AS KS QH 7D 7C 2S 3H");
+        int rank = SevenCardEvaluator.evaluate(cards);
+        int incremental = IncrementalEvaluator.getInstance().evaluate(cards);
+        int omaha = OmahaEvaluator.evaluate(parser.parseCards("AS KS QH JH"), parser.parseCards("7D 7C 2S 3H TD"));
+        long nanos = System.nanoTime() - start;
+        long uptime = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        logger.info(String.format("First evaluations %d, %d and %d in %.1f ms, %d ms after the JVM started",
+                rank, incremental, omaha, nanos / 1e6, uptime));
+    }
+}
@@ -0,0 +1,210 @@
+package com.soddik.batch;
+
+import com.soddik.entity.Combination;
+import com.soddik.evaluator.HandEvaluator;
+import com.soddik.parser.HandColumns;
+import com.soddik.parser.HandParser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Ranks a file of newline separated hands in the {@link HandParser} format.
+ * <p>
+ * The input is memory-mapped in chunks split on line boundaries, chunks are parsed and evaluated in parallel straight
+ * from the mapped bytes and their results are written in input order through a {@link FileChannel}. Every input line
+ * produces one output line {@code "<rank> <combination>"}; lines that are not a valid hand produce
+ * {@code "0 UNKNOWN"}; they are found with {@link HandParser#parseLines}, so dirty input costs no exceptions.
+ * <p>
+ * Memory stays bounded for any input size. Chunks are submitted while less than {@code 2 * parallelism * chunkSize}
+ * mapped bytes are in flight, and each writes into an output buffer from a pool. A buffer fits a chunk of the shortest
+ * hand lines, {@value #MIN_HAND_LINE} bytes, each ranked into the longest output line, {@value #MAX_OUTPUT_LINE}
+ * bytes: 1.4 times the chunk size, 5.9 MB by default, so the buffers take about {@code 2 * parallelism} times that. A
+ * chunk of shorter lines stops when its buffer is full and continues after the buffer is written. The columns of one
+ * slice of {@value #SLICE_SIZE} bytes are parsed at once, at most 13 bytes per line of the slice per thread.
+ */
+public final class BulkHandRanker {
+    public static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+    /** Bytes of {@code "AS KS QS JS TS\n"}. */
+    public static final int MIN_HAND_LINE = 15;
+    /** Bytes of {@code "7462 THREE_OF_A_KIND\n"}. */
+    public static final int MAX_OUTPUT_LINE = 21;
+    /** Bytes parsed into the columns at once. */
+    public static final int SLICE_SIZE = 64 << 10;
+
+    private static final byte[][] NAMES = new byte[Combination.values().length][];
+
+    static {
+        for (Combination combination : Combination.values()) {
+            NAMES[combination.ordinal()] = combination.name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final HandParser parser;
+    private final int parallelism;
+    private final int chunkSize;
+    private final int sliceSize;
+    private final int outputSize;
+    private final long maxInFlight;
+
+    public BulkHandRanker(HandParser parser) {
+        this(parser, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public BulkHandRanker(HandParser parser, int parallelism, int chunkSize) {
+        if (parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Parallelism and chunk size must be positive");
+        }
+        this.parser = parser;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.sliceSize = Math.min(chunkSize, SLICE_SIZE);
+        // a slice of n bytes ends with the line crossing its end, so it has at most n + 1 lines
+        this.outputSize = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(
+                ((long) chunkSize / MIN_HAND_LINE + 1) * MAX_OUTPUT_LINE, (sliceSize + 1L) * MAX_OUTPUT_LINE));
+        this.maxInFlight = 2L * parallelism * chunkSize;
+    }
+
+    public RankingSummary rank(Path input, Path output) throws IOException {
+        long start = System.nanoTime();
+        long hands = 0;
+        long invalid = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try (FileChannel in = FileChannel.open(input, READ);
+             FileChannel out = FileChannel.open(output, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            long size = in.size();
+            Deque<Future<Chunk>> pending = new ArrayDeque<>();
+            Deque<ByteBuffer> buffers = new ArrayDeque<>();
+            long position = 0;
+            long inFlight = 0;
+            while (position < size || !pending.isEmpty()) {
+                while (position < size && (pending.isEmpty() || inFlight < maxInFlight)) {
+                    long end = nextLineStart(in, Math.min(position + chunkSize, size), size);
+                    MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, position, end - position);
+                    ByteBuffer buffer = buffers.isEmpty() ? ByteBuffer.allocate(outputSize) : buffers.pop();
+                    Chunk chunk = new Chunk(mapped, buffer);
+                    pending.add(executor.submit(() -> rankChunk(chunk)));
+                    inFlight += end - position;
+                    position = end;
+                }
+                Chunk chunk = await(pending.poll());
+                chunk.output.flip();
+                while (chunk.output.hasRemaining()) {
+                    out.write(chunk.output);
+                }
+                chunk.output.clear();
+                if (chunk.offset < chunk.input.limit()) {
+                    // the buffer filled up first, the rest of the chunk is written before the later chunks
+                    pending.addFirst(executor.submit(() -> rankChunk(chunk)));
+                    continue;
+                }
+                buffers.push(chunk.output);
+                inFlight -= chunk.input.limit();
+                hands += chunk.hands;
+                invalid += chunk.invalid;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new RankingSummary(hands, invalid, System.nanoTime() - start);
+    }
+
+    /**
+     * Ranks the chunk from its offset slice by slice until its input is done or its output buffer is full.
+     */
+    private Chunk rankChunk(Chunk chunk) {
+        HandColumns columns = new HandColumns();
+        int limit = chunk.input.limit();
+        while (chunk.offset < limit) {
+            int end = sliceEnd(chunk.input, chunk.offset + sliceSize, limit);
+            parser.parseLines(chunk.input, chunk.offset, end - chunk.offset, columns);
+            if (chunk.output.remaining() < (long) columns.size() * MAX_OUTPUT_LINE) {
+                break;
+            }
+            for (int line = 0; line < columns.size(); line++) {
+                chunk.write(columns.isValid(line) ? HandEvaluator.evaluate(columns.getHand(line)) : 0);
+            }
+            chunk.offset = end;
+        }
+        return chunk;
+    }
+
+    private static int sliceEnd(ByteBuffer input, int position, int limit) {
+        for (int index = position; index < limit; index++) {
+            if (input.get(index) == '\n') {
+                return index + 1;
+            }
+        }
+        return limit;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        long current = position;
+        while (current < size) {
+            buffer.clear();
+            int read = channel.read(buffer, current);
+            for (int index = 0; index < read; index++) {
+                if (buffer.get(index) == '\n') {
+                    return current + index + 1;
+                }
+            }
+            current += read;
+        }
+        return size;
+    }
+
+    private static Chunk await(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Ranking interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ranking of a chunk failed", e.getCause());
+        }
+    }
+
+    private static final class Chunk {
+        private final ByteBuffer input;
+        private final ByteBuffer output;
+        private int offset;
+        private long hands;
+        private long invalid;
+
+        private Chunk(ByteBuffer input, ByteBuffer output) {
+            this.input = input;
+            this.output = output;
+        }
+
+        /**
+         * Appends {@code "<rank> <combination>\n"}, a rank of 0 marks an invalid line.
+         */
+        private void write(int rank) {
+            Combination combination = rank == 0 ? Combination.UNKNOWN : HandEvaluator.combination(rank);
+            if (rank >= 1000) output.put((byte) ('0' + rank / 1000));
+            if (rank >= 100) output.put((byte) ('0' + rank / 100 % 10));
+            if (rank >= 10) output.put((byte) ('0' + rank / 10 % 10));
+            output.put((byte) ('0' + rank % 10));
+            output.put((byte) ' ');
+            output.put(NAMES[combination.ordinal()]);
+            output.put((byte) '\n');
+            hands++;
+            if (rank == 0) {
+                invalid++;
+            }
+        }
+    }
+}
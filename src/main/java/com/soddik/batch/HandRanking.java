@@ -0,0 +1,167 @@
+package com.soddik.batch;
+
+import com.soddik.entity.PokerHand;
+import com.soddik.evaluator.HandEvaluator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Orders and dense-ranks many hands by their rank without a comparator.
+ * <p>
+ * Ranks are bounded by {@link HandEvaluator#WORST_RANK}, so a single counting pass (one radix digit of 13 bits) sorts
+ * any amount of hands in linear time; equal ranks stay in input order. Large inputs count and scatter chunks in
+ * parallel: every chunk writes its hands from its own per-rank start, so the result is the same as the sequential one.
+ * Hands of equal rank form a tie group, e.g. the players who split a pot; group {@code 0} is the strongest.
+ */
+public final class HandRanking {
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final int RANKS = HandEvaluator.WORST_RANK + 1;
+
+    private final int[] ranks;
+    private final int[] order;
+    private final int[] groupStarts;
+    private final short[] places;
+
+    private HandRanking(int[] ranks, int[] order, int[] groupStarts, short[] places) {
+        this.ranks = ranks;
+        this.order = order;
+        this.groupStarts = groupStarts;
+        this.places = places;
+    }
+
+    public static HandRanking of(List<PokerHand> hands) {
+        int[] ranks = new int[hands.size()];
+        for (int index = 0; index < ranks.length; index++) {
+            ranks[index] = hands.get(index).getRank();
+        }
+        return of(ranks);
+    }
+
+    /**
+     * @param ranks {@link PokerHand#getRank()} of every hand, the array is kept and must not change afterwards
+     */
+    public static HandRanking of(int[] ranks) {
+        return of(ranks, ForkJoinPool.commonPool());
+    }
+
+    public static HandRanking of(int[] ranks, ForkJoinPool pool) {
+        int chunks = ranks.length < PARALLEL_THRESHOLD ? 1
+                : Math.min(pool.getParallelism() * 4, ranks.length / (PARALLEL_THRESHOLD / 4));
+        int chunkSize = (ranks.length + chunks - 1) / chunks;
+        int[][] counts = new int[chunks][RANKS];
+        forEachChunk(pool, chunks, chunk -> {
+            int[] count = counts[chunk];
+            for (int index = chunk * chunkSize, end = Math.min(index + chunkSize, ranks.length); index < end; index++) {
+                int rank = ranks[index];
+                if (rank < HandEvaluator.BEST_RANK || rank > HandEvaluator.WORST_RANK) {
+                    throw new IllegalArgumentException(String.format("Unexpected rank %s of hand %s", rank, index));
+                }
+                count[rank]++;
+            }
+        });
+
+        short[] places = new short[RANKS];
+        int[] groupStarts = new int[RANKS + 1];
+        int groups = 0;
+        int position = 0;
+        for (int rank = HandEvaluator.BEST_RANK; rank < RANKS; rank++) {
+            int start = position;
+            for (int[] count : counts) {
+                int amount = count[rank];
+                count[rank] = position;
+                position += amount;
+            }
+            if (position > start) {
+                places[rank] = (short) groups;
+                groupStarts[groups++] = start;
+            }
+        }
+        groupStarts[groups] = position;
+
+        int[] order = new int[ranks.length];
+        forEachChunk(pool, chunks, chunk -> {
+            int[] next = counts[chunk];
+            for (int index = chunk * chunkSize, end = Math.min(index + chunkSize, ranks.length); index < end; index++) {
+                order[next[ranks[index]]++] = index;
+            }
+        });
+        return new HandRanking(ranks, order, Arrays.copyOf(groupStarts, groups + 1), places);
+    }
+
+    /**
+     * Reorders the hands from the strongest to the weakest, hands of equal rank keep their order.
+     */
+    public static void sort(List<PokerHand> hands) {
+        HandRanking ranking = of(hands);
+        PokerHand[] sorted = new PokerHand[hands.size()];
+        for (int position = 0; position < sorted.length; position++) {
+            sorted[position] = hands.get(ranking.order[position]);
+        }
+        for (int position = 0; position < sorted.length; position++) {
+            hands.set(position, sorted[position]);
+        }
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * Index of the hand at the position, from {@code 0} (strongest) to {@code size() - 1}.
+     */
+    public int hand(int position) {
+        return order[position];
+    }
+
+    /**
+     * Dense rank of the hand: {@code 0} for the strongest hands, tied hands share the place.
+     */
+    public int place(int hand) {
+        return places[ranks[hand]];
+    }
+
+    /**
+     * Amount of tie groups, which is the amount of different ranks.
+     */
+    public int groups() {
+        return groupStarts.length - 1;
+    }
+
+    /**
+     * First position of the group, see {@link #hand(int)}.
+     */
+    public int groupStart(int group) {
+        return groupStarts[group];
+    }
+
+    /**
+     * Position after the last hand of the group.
+     */
+    public int groupEnd(int group) {
+        return groupStarts[group + 1];
+    }
+
+    public int groupRank(int group) {
+        return ranks[order[groupStarts[group]]];
+    }
+
+    /**
+     * Indexes of the hands that share the best rank.
+     */
+    public int[] winners() {
+        return groups() == 0 ? new int[0] : Arrays.copyOfRange(order, 0, groupEnd(0));
+    }
+
+    private static void forEachChunk(ForkJoinPool pool, int chunks, IntConsumer task) {
+        if (chunks == 1) {
+            task.accept(0);
+            return;
+        }
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(task)).join();
+    }
+}
@@ -0,0 +1,73 @@
+package com.soddik.batch;
+
+import com.soddik.entity.Card;
+import com.soddik.equity.Combinations;
+import com.soddik.evaluator.HandEvaluator;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Evaluates every one of the C(52, 5) five card hands.
+ * <p>
+ * The colex indexes of the hands are split across a {@link ForkJoinPool}; every leaf unranks its first hand, steps to
+ * the next one in place and counts ranks in its own primitive array, so the only allocation is one counter array per
+ * leaf and the counters are added up when the leaves join. Hands are ranked by {@link HandEvaluator}, which is the
+ * ordering of {@code PokerHand}, so the frequencies double as a check of the whole evaluation.
+ */
+public final class HandSpaceEnumerator {
+    public static final int HAND_SIZE = 5;
+    public static final long HANDS = Combinations.count(Card.DECK_SIZE, HAND_SIZE);
+
+    private static final long THRESHOLD = 1 << 15;
+
+    private final ForkJoinPool pool;
+
+    public HandSpaceEnumerator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public HandSpaceEnumerator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public HandSpaceStatistics enumerate() {
+        long start = System.nanoTime();
+        long[] ranks = pool.invoke(new Enumeration(0, HANDS));
+        return new HandSpaceStatistics(ranks, System.nanoTime() - start);
+    }
+
+    private static final class Enumeration extends RecursiveTask<long[]> {
+        private final long from;
+        private final long to;
+
+        private Enumeration(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from > THRESHOLD) {
+                long middle = (from + to) >>> 1;
+                Enumeration right = new Enumeration(middle, to);
+                right.fork();
+                long[] ranks = new Enumeration(from, middle).compute();
+                long[] other = right.join();
+                for (int rank = 0; rank < ranks.length; rank++) {
+                    ranks[rank] += other[rank];
+                }
+                return ranks;
+            }
+
+            long[] ranks = new long[HandEvaluator.WORST_RANK + 1];
+            int[] positions = new int[HAND_SIZE];
+            Combinations.unrank(from, positions);
+            for (long index = from; index < to; index++) {
+                ranks[HandEvaluator.evaluate(positions[0], positions[1], positions[2], positions[3], positions[4])]++;
+                Combinations.next(positions, Card.DECK_SIZE);
+            }
+            return ranks;
+        }
+    }
+}
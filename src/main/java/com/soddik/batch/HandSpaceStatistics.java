@@ -0,0 +1,106 @@
+package com.soddik.batch;
+
+import com.soddik.entity.Combination;
+import com.soddik.evaluator.HandEvaluator;
+
+/**
+ * Frequencies of every {@link Combination} and every rank over the five card hands visited by
+ * {@link HandSpaceEnumerator}.
+ */
+public final class HandSpaceStatistics {
+    /**
+     * Known amount of five card hands of every combination, indexed by ordinal.
+     */
+    private static final long[] EXPECTED = new long[Combination.values().length];
+
+    static {
+        EXPECTED[Combination.HIGH_CARD.ordinal()] = 1_302_540;
+        EXPECTED[Combination.PAIR.ordinal()] = 1_098_240;
+        EXPECTED[Combination.TWO_PAIRS.ordinal()] = 123_552;
+        EXPECTED[Combination.THREE_OF_A_KIND.ordinal()] = 54_912;
+        EXPECTED[Combination.STRAIGHT.ordinal()] = 10_200;
+        EXPECTED[Combination.FLUSH.ordinal()] = 5_108;
+        EXPECTED[Combination.FULL_HOUSE.ordinal()] = 3_744;
+        EXPECTED[Combination.FOUR_OF_A_KIND.ordinal()] = 624;
+        EXPECTED[Combination.STRAIGHT_FLUSH.ordinal()] = 36;
+        EXPECTED[Combination.ROYAL_FLUSH.ordinal()] = 4;
+    }
+
+    private final long[] ranks;
+    private final long[] combinations;
+    private final long nanos;
+
+    HandSpaceStatistics(long[] ranks, long nanos) {
+        this.ranks = ranks;
+        this.nanos = nanos;
+        this.combinations = new long[Combination.values().length];
+        for (int rank = HandEvaluator.BEST_RANK; rank <= HandEvaluator.WORST_RANK; rank++) {
+            combinations[HandEvaluator.combination(rank).ordinal()] += ranks[rank];
+        }
+    }
+
+    public static long getExpected(Combination combination) {
+        return EXPECTED[combination.ordinal()];
+    }
+
+    public long getHands() {
+        long hands = 0;
+        for (long count : combinations) {
+            hands += count;
+        }
+        return hands;
+    }
+
+    public long getCount(Combination combination) {
+        return combinations[combination.ordinal()];
+    }
+
+    public long getRankCount(int rank) {
+        return ranks[rank];
+    }
+
+    /**
+     * Amount of ranks with at least one hand, {@link HandEvaluator#WORST_RANK} for the whole space.
+     */
+    public int getDistinctRanks() {
+        int distinct = 0;
+        for (long count : ranks) {
+            distinct += count > 0 ? 1 : 0;
+        }
+        return distinct;
+    }
+
+    /**
+     * Whether every combination has its known frequency.
+     */
+    public boolean isExpected() {
+        for (Combination combination : Combination.values()) {
+            if (getCount(combination) != getExpected(combination)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getHandsPerSecond() {
+        return nanos == 0 ? 0 : getHands() * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Enumerated %d hands (%d ranks) in %.3f s, %.0f hands/s%n",
+                getHands(), getDistinctRanks(), nanos / 1_000_000_000.0, getHandsPerSecond()));
+        for (Combination combination : Combination.values()) {
+            if (combination != Combination.UNKNOWN) {
+                sb.append(String.format("%-16s %,10d%s%n", combination, getCount(combination),
+                        getCount(combination) == getExpected(combination) ? "" : " expected " + getExpected(combination)));
+            }
+        }
+        return sb.toString();
+    }
+}
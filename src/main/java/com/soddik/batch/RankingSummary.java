@@ -0,0 +1,21 @@
+package com.soddik.batch;
+
+/**
+ * Totals of a bulk ranking run.
+ *
+ * @param hands   lines ranked, including invalid ones
+ * @param invalid lines that are not a valid five card hand
+ * @param nanos   wall clock time of the run
+ */
+public record RankingSummary(long hands, long invalid, long nanos) {
+
+    public double handsPerSecond() {
+        return nanos == 0 ? 0 : hands * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Ranked %d hands (%d invalid) in %.3f s, %.0f hands/s",
+                hands, invalid, nanos / 1_000_000_000.0, handsPerSecond());
+    }
+}
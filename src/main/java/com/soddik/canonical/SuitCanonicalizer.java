@@ -0,0 +1,442 @@
+package com.soddik.canonical;
+
+import com.soddik.entity.Card;
+import com.soddik.exception.CardAmountException;
+import com.soddik.exception.UniqueCardException;
+
+import java.util.Arrays;
+
+/**
+ * Maps cards to their suit-isomorphic canonical form: situations that only differ by a permutation of kinds have equal
+ * combinations and comparisons, so they share one canonical form and one dense index.
+ * <p>
+ * A situation is a fixed layout of card groups, e.g. a single five card hand ({@code new SuitCanonicalizer(5)}) or
+ * hole cards and a flop ({@code new SuitCanonicalizer(2, 3)}). The cards of one kind form a suit hand: one value mask
+ * per group. Kinds are ordered by the amount of cards they have in every group, then by the index of their suit hand,
+ * and renamed in that order. The dense index is computed combinatorially without tables: the offset of the per-kind
+ * card counts, then for every run of kinds with equal counts the multiset rank of their suit hand indexes.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class SuitCanonicalizer {
+    public static final int MAX_GROUPS = 3;
+
+    private static final int VALUES = Card.VALUE_COUNT;
+    private static final int PERMUTATIONS = 24;
+    private static final long[][] BINOMIALS = new long[VALUES + 1][VALUES + 1];
+    private static final short[] COLEX = new short[1 << VALUES];
+    private static final short[][] COLEX_MASKS = new short[VALUES + 1][];
+
+    static {
+        for (int n = 0; n <= VALUES; n++) {
+            BINOMIALS[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                BINOMIALS[n][k] = BINOMIALS[n - 1][k - 1] + (k <= n - 1 ? BINOMIALS[n - 1][k] : 0);
+            }
+        }
+        int[] counters = new int[VALUES + 1];
+        for (int size = 0; size <= VALUES; size++) {
+            COLEX_MASKS[size] = new short[(int) BINOMIALS[VALUES][size]];
+        }
+        for (int mask = 0; mask < 1 << VALUES; mask++) {
+            int size = Integer.bitCount(mask);
+            COLEX[mask] = (short) counters[size];
+            COLEX_MASKS[size][counters[size]++] = (short) mask;
+        }
+    }
+
+    private final int[] groupSizes;
+    private final long[] configurations;
+    private final long[] offsets;
+    private final long size;
+
+    /**
+     * @param groupSizes amount of cards in every group, 1 to {@value #MAX_GROUPS} groups
+     */
+    public SuitCanonicalizer(int... groupSizes) {
+        if (groupSizes.length < 1 || groupSizes.length > MAX_GROUPS) {
+            throw new IllegalArgumentException(
+                    String.format("There must be from 1 to %s groups, but there are %s", MAX_GROUPS, groupSizes.length));
+        }
+        int total = 0;
+        for (int groupSize : groupSizes) {
+            if (groupSize < 1) {
+                throw new CardAmountException(String.format("A group must have cards, but has %s", groupSize));
+            }
+            total += groupSize;
+        }
+        if (total > VALUES) {
+            throw new CardAmountException(String.format("There must be at most 13 cards, but there are %s", total));
+        }
+        this.groupSizes = groupSizes.clone();
+
+        long[] found = new long[4096];
+        int amount = collectConfigurations(new int[Card.KIND_COUNT], 0, new int[groupSizes.length], found, 0);
+        this.configurations = Arrays.copyOf(found, amount);
+        Arrays.sort(configurations);
+        this.offsets = new long[amount + 1];
+        for (int index = 0; index < amount; index++) {
+            offsets[index + 1] = offsets[index] + configurationSize(configurations[index]);
+        }
+        this.size = offsets[amount];
+    }
+
+    public int getGroups() {
+        return groupSizes.length;
+    }
+
+    /**
+     * Amount of canonical classes, indexes are {@code 0..size-1}.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Dense index of the canonical class of the groups.
+     *
+     * @param groups packed cards of every group, see {@link Card}
+     */
+    public long index(long... groups) {
+        check(groups);
+        long[] keys = new long[Card.KIND_COUNT];
+        sortedKeys(groups, keys);
+        return indexOfKeys(keys);
+    }
+
+    public long index(long group) {
+        return index(new long[]{group});
+    }
+
+    public long index(long first, long second) {
+        return index(new long[]{first, second});
+    }
+
+    /**
+     * Replaces the groups by their canonical form in place.
+     */
+    public void canonicalize(long[] groups) {
+        check(groups);
+        long[] keys = new long[Card.KIND_COUNT];
+        int[] kinds = sortedKeys(groups, keys);
+        long[] result = new long[groups.length];
+        for (int position = 0; position < Card.KIND_COUNT; position++) {
+            for (int group = 0; group < groups.length; group++) {
+                result[group] |= (long) Card.lane(groups[group], kinds[position]) << (position << 4);
+            }
+        }
+        System.arraycopy(result, 0, groups, 0, groups.length);
+    }
+
+    /**
+     * Canonical form of a single group.
+     */
+    public long canonicalize(long group) {
+        long[] groups = {group};
+        canonicalize(groups);
+        return groups[0];
+    }
+
+    /**
+     * Writes the canonical form of the class with the index into {@code groups}.
+     */
+    public void unindex(long index, long[] groups) {
+        if (index < 0 || index >= size || groups.length != groupSizes.length) {
+            throw new IllegalArgumentException(String.format("Unexpected index %s of %s", index, size));
+        }
+        int configuration = Arrays.binarySearch(offsets, index);
+        configuration = configuration >= 0 ? configuration : -configuration - 2;
+        while (offsets[configuration + 1] == offsets[configuration]) {
+            configuration++;
+        }
+        long rest = index - offsets[configuration];
+        long counts = configurations[configuration];
+        Arrays.fill(groups, 0);
+
+        int position = 0;
+        while (position < Card.KIND_COUNT) {
+            int vector = countVector(counts, position);
+            int run = runLength(counts, position);
+            long hands = suitHands(vector);
+            long runSize = multisets(hands, run);
+            long rank = rest % runSize;
+            rest /= runSize;
+            for (int member = run; member >= 1; member--) {
+                long value = largestMultisetValue(rank, member, hands);
+                rank -= binomial(value + member - 1, member);
+                placeSuitHand(vector, value, position + run - member, groups);
+            }
+            position += run;
+        }
+    }
+
+    /**
+     * Amount of situations whose canonical form is the class with the index.
+     */
+    public int multiplicity(long index) {
+        long[] groups = new long[groupSizes.length];
+        unindex(index, groups);
+        return multiplicityOf(groups);
+    }
+
+    /**
+     * Calls the consumer with every canonical class in index order and the amount of situations it stands for. The
+     * multiplicities add up to the amount of all situations of the layout. The groups array is reused between calls.
+     */
+    public void forEach(ClassConsumer consumer) {
+        long[] groups = new long[groupSizes.length];
+        for (long index = 0; index < size; index++) {
+            unindex(index, groups);
+            consumer.accept(index, groups, multiplicityOf(groups));
+        }
+    }
+
+    @FunctionalInterface
+    public interface ClassConsumer {
+        void accept(long index, long[] groups, int multiplicity);
+    }
+
+    private int multiplicityOf(long[] groups) {
+        long[] keys = new long[Card.KIND_COUNT];
+        sortedKeys(groups, keys);
+        int stabilizer = 1;
+        int run = 1;
+        for (int position = 1; position <= Card.KIND_COUNT; position++) {
+            if (position < Card.KIND_COUNT && keys[position] == keys[position - 1]) {
+                run++;
+            } else {
+                stabilizer *= run == 4 ? 24 : run == 3 ? 6 : run;
+                run = 1;
+            }
+        }
+        return PERMUTATIONS / stabilizer;
+    }
+
+    /**
+     * Sort key of every kind, {@code count vector << 40 | suit hand index}, descending; returns the kinds in that order.
+     */
+    private int[] sortedKeys(long[] groups, long[] keys) {
+        int[] kinds = {0, 1, 2, 3};
+        for (int kind = 0; kind < Card.KIND_COUNT; kind++) {
+            int vector = 0;
+            long hand = 0;
+            long radix = 1;
+            int used = 0;
+            for (int group = 0; group < groups.length; group++) {
+                int lane = Card.lane(groups[group], kind);
+                int count = Integer.bitCount(lane);
+                vector |= count << (group << 2);
+                hand += COLEX[compress(lane, used)] * radix;
+                radix *= BINOMIALS[VALUES - Integer.bitCount(used)][count];
+                used |= lane;
+            }
+            keys[kind] = (long) vector << 40 | hand;
+        }
+        for (int position = 1; position < Card.KIND_COUNT; position++) {
+            long key = keys[position];
+            int kind = kinds[position];
+            int other = position - 1;
+            while (other >= 0 && keys[other] < key) {
+                keys[other + 1] = keys[other];
+                kinds[other + 1] = kinds[other];
+                other--;
+            }
+            keys[other + 1] = key;
+            kinds[other + 1] = kind;
+        }
+        return kinds;
+    }
+
+    private long indexOfKeys(long[] keys) {
+        long counts = 0;
+        for (long key : keys) {
+            counts = counts << 12 | key >>> 40;
+        }
+        int configuration = Arrays.binarySearch(configurations, counts);
+        long index = 0;
+        long radix = 1;
+        int position = 0;
+        while (position < Card.KIND_COUNT) {
+            int vector = (int) (keys[position] >>> 40);
+            int run = 1;
+            while (position + run < Card.KIND_COUNT && keys[position + run] >>> 40 == vector) {
+                run++;
+            }
+            long rank = 0;
+            for (int member = 1; member <= run; member++) {
+                long hand = keys[position + run - member] & ((1L << 40) - 1);
+                rank += binomial(hand + member - 1, member);
+            }
+            index += rank * radix;
+            radix *= multisets(suitHands(vector), run);
+            position += run;
+        }
+        return offsets[configuration] + index;
+    }
+
+    private void placeSuitHand(int vector, long hand, int kind, long[] groups) {
+        long rest = hand;
+        int used = 0;
+        for (int group = 0; group < groups.length; group++) {
+            int count = vector >>> (group << 2) & 0xF;
+            long choices = BINOMIALS[VALUES - Integer.bitCount(used)][count];
+            int lane = expand(COLEX_MASKS[count][(int) (rest % choices)], used);
+            rest /= choices;
+            groups[group] |= (long) lane << (kind << 4);
+            used |= lane;
+        }
+    }
+
+    private int collectConfigurations(int[] vectors, int kind, int[] used, long[] found, int amount) {
+        if (kind == Card.KIND_COUNT) {
+            for (int group = 0; group < groupSizes.length; group++) {
+                if (used[group] != groupSizes[group]) {
+                    return amount;
+                }
+            }
+            long counts = 0;
+            for (int vector : vectors) {
+                counts = counts << 12 | vector;
+            }
+            found[amount] = counts;
+            return amount + 1;
+        }
+        int limit = kind == 0 ? Integer.MAX_VALUE : vectors[kind - 1];
+        return collectVectors(vectors, kind, used, 0, 0, 0, limit, found, amount);
+    }
+
+    private int collectVectors(int[] vectors, int kind, int[] used, int group, int vector, int cards, int limit,
+                               long[] found, int amount) {
+        if (group == groupSizes.length) {
+            if (vector > limit) {
+                return amount;
+            }
+            vectors[kind] = vector;
+            return collectConfigurations(vectors, kind + 1, used, found, amount);
+        }
+        int result = amount;
+        for (int count = 0; count <= groupSizes[group] - used[group] && cards + count <= VALUES; count++) {
+            used[group] += count;
+            result = collectVectors(vectors, kind, used, group + 1, vector | count << (group << 2), cards + count,
+                    limit, found, result);
+            used[group] -= count;
+        }
+        return result;
+    }
+
+    private long configurationSize(long counts) {
+        long result = 1;
+        int position = 0;
+        while (position < Card.KIND_COUNT) {
+            int run = runLength(counts, position);
+            result *= multisets(suitHands(countVector(counts, position)), run);
+            position += run;
+        }
+        return result;
+    }
+
+    private long suitHands(int vector) {
+        long result = 1;
+        int used = 0;
+        for (int group = 0; group < groupSizes.length; group++) {
+            int count = vector >>> (group << 2) & 0xF;
+            result *= BINOMIALS[VALUES - used][count];
+            used += count;
+        }
+        return result;
+    }
+
+    private static int countVector(long counts, int position) {
+        return (int) (counts >>> ((Card.KIND_COUNT - 1 - position) * 12)) & 0xFFF;
+    }
+
+    private static int runLength(long counts, int position) {
+        int vector = countVector(counts, position);
+        int run = 1;
+        while (position + run < Card.KIND_COUNT && countVector(counts, position + run) == vector) {
+            run++;
+        }
+        return run;
+    }
+
+    /**
+     * Amount of multisets of {@code size} elements out of {@code elements}.
+     */
+    private static long multisets(long elements, int size) {
+        return binomial(elements + size - 1, size);
+    }
+
+    /**
+     * Largest {@code value < limit} with {@code C(value + member - 1, member) <= rank}.
+     */
+    private static long largestMultisetValue(long rank, int member, long limit) {
+        long low = 0;
+        long high = limit - 1;
+        while (low < high) {
+            long middle = (low + high + 1) >>> 1;
+            if (binomial(middle + member - 1, member) <= rank) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private static long binomial(long n, int k) {
+        if (n < k) {
+            return 0;
+        }
+        long result = 1;
+        for (int index = 0; index < k; index++) {
+            result = result * (n - index) / (index + 1);
+        }
+        return result;
+    }
+
+    /**
+     * Keeps the bits of {@code mask} at positions not in {@code used}, packed down.
+     */
+    private static int compress(int mask, int used) {
+        int result = 0;
+        int target = 0;
+        for (int position = 0; position < VALUES; position++) {
+            if ((used & 1 << position) == 0) {
+                result |= (mask >>> position & 1) << target++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Inverse of {@link #compress}: spreads the packed bits over the positions not in {@code used}.
+     */
+    private static int expand(int packed, int used) {
+        int result = 0;
+        int source = 0;
+        for (int position = 0; position < VALUES; position++) {
+            if ((used & 1 << position) == 0) {
+                result |= (packed >>> source++ & 1) << position;
+            }
+        }
+        return result;
+    }
+
+    private void check(long[] groups) {
+        if (groups.length != groupSizes.length) {
+            throw new IllegalArgumentException(
+                    String.format("There must be %s groups, but there are %s", groupSizes.length, groups.length));
+        }
+        long all = 0;
+        for (int group = 0; group < groups.length; group++) {
+            if (Card.count(groups[group]) != groupSizes[group] || !Card.isValidMask(groups[group])) {
+                throw new CardAmountException(String.format("There must be exactly %s cards in group %s, but there are %s",
+                        groupSizes[group], group, Card.count(groups[group])));
+            }
+            if ((all & groups[group]) != 0) {
+                throw new UniqueCardException("Cards must be unique across groups");
+            }
+            all |= groups[group];
+        }
+    }
+}
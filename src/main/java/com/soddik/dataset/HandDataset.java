@@ -0,0 +1,88 @@
+package com.soddik.dataset;
+
+import com.soddik.entity.Card;
+import com.soddik.equity.Combinations;
+import com.soddik.evaluator.HandEvaluator;
+import com.soddik.evaluator.SevenCardEvaluator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Layout of the binary hand dataset shared by {@link HandDatasetWriter} and {@link HandDatasetReader}.
+ * <p>
+ * A {@value #HEADER_SIZE} byte header: magic {@code "THHD"}, version, flags, hand size (1 to 7 cards), record size and
+ * the amount of records, written when the writer is closed. Then fixed-width big-endian records:
+ * <ul>
+ *     <li>an int with the colex index of the cards among all combinations of that many cards out of 52 (at most
+ *     27 bits for seven cards), with the {@code Combination} ordinal in the top 4 bits when the dataset is ranked</li>
+ *     <li>when the dataset is ranked, a short with the rank of the best five cards</li>
+ * </ul>
+ * A five card hand takes 4 bytes, or 6 bytes with its rank, instead of 15 bytes of text.
+ */
+public final class HandDataset {
+    public static final int MAGIC = 0x54484844;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+    public static final int FLAG_RANKED = 1;
+    public static final int MAX_HAND_SIZE = 7;
+
+    static final int VERSION_OFFSET = 4;
+    static final int FLAGS_OFFSET = 8;
+    static final int HAND_SIZE_OFFSET = 12;
+    static final int RECORD_SIZE_OFFSET = 16;
+    static final int COUNT_OFFSET = 24;
+
+    static final int INDEX_MASK = (1 << 28) - 1;
+    static final int COMBINATION_SHIFT = 28;
+
+    private HandDataset() {
+    }
+
+    static int recordSize(boolean ranked) {
+        return ranked ? Integer.BYTES + Short.BYTES : Integer.BYTES;
+    }
+
+    /**
+     * Colex index of the cards, see {@link Combinations}.
+     *
+     * @param codes scratch space for the card codes
+     */
+    static int index(long cards, int[] codes) {
+        int size = Card.toCodes(cards, codes);
+        int index = 0;
+        for (int position = 0; position < size; position++) {
+            index += (int) Combinations.count(codes[position], position + 1);
+        }
+        return index;
+    }
+
+    static long cards(int index, int[] positions) {
+        Combinations.unrank(index, positions);
+        long cards = 0;
+        for (int position : positions) {
+            cards |= Card.bit(position);
+        }
+        return cards;
+    }
+
+    static int rank(long cards, int handSize) {
+        return handSize == 5 ? HandEvaluator.evaluate(cards) : SevenCardEvaluator.evaluate(cards);
+    }
+
+    static void checkHeader(ByteBuffer header, Path path) throws IOException {
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException(String.format("%s is not a hand dataset", path));
+        }
+        if (header.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException(String.format("%s has version %s, expected %s",
+                    path, header.getInt(VERSION_OFFSET), VERSION));
+        }
+        int handSize = header.getInt(HAND_SIZE_OFFSET);
+        boolean ranked = (header.getInt(FLAGS_OFFSET) & FLAG_RANKED) != 0;
+        if (handSize < 1 || handSize > MAX_HAND_SIZE || header.getInt(RECORD_SIZE_OFFSET) != recordSize(ranked)) {
+            throw new IOException(String.format("%s has an unexpected record layout", path));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.soddik.dataset;
+
+import com.soddik.batch.RankingSummary;
+import com.soddik.entity.Card;
+import com.soddik.parser.HandParser;
+import com.soddik.parser.ParseError;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+
+/**
+ * Converts between the {@link HandParser} text format, one hand per line, and {@link HandDataset} files.
+ * <p>
+ * Text lines that are not a hand of the dataset size are counted as invalid and skipped. Text written back lists the
+ * cards of every hand ordered by value, then by kind, so it parses to the same hands but not always to the same text.
+ */
+public final class HandDatasetConverter {
+    private static final Logger logger = Logger.getLogger(HandDatasetConverter.class.getSimpleName());
+
+    private HandDatasetConverter() {
+    }
+
+    /**
+     * Usage: {@code to-binary <text> <dataset> [hand size] [ranked]} or {@code to-text <dataset> <text>}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args[0].equals("to-text")) {
+            long hands = toText(Path.of(args[1]), Path.of(args[2]));
+            logger.info(String.format("Wrote %d hands", hands));
+            return;
+        }
+        int handSize = args.length > 3 ? Integer.parseInt(args[3]) : HandParser.HAND_SIZE;
+        boolean ranked = args.length <= 4 || Boolean.parseBoolean(args[4]);
+        logger.info(toBinary(Path.of(args[1]), Path.of(args[2]), handSize, ranked).toString());
+    }
+
+    public static RankingSummary toBinary(Path text, Path dataset, int handSize, boolean ranked) throws IOException {
+        long start = System.nanoTime();
+        HandParser parser = new HandParser();
+        long lines = 0;
+        long invalid = 0;
+        try (BufferedReader reader = Files.newBufferedReader(text, StandardCharsets.US_ASCII);
+             HandDatasetWriter writer = new HandDatasetWriter(dataset, handSize, ranked)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lines++;
+                long cards = parser.tryParseCards(line, 0, line.length());
+                if (ParseError.isError(cards) || Card.count(cards) != handSize) {
+                    invalid++;
+                } else {
+                    writer.write(cards);
+                }
+            }
+        }
+        return new RankingSummary(lines, invalid, System.nanoTime() - start);
+    }
+
+    /**
+     * @return amount of hands written
+     */
+    public static long toText(Path dataset, Path text) throws IOException {
+        try (HandDatasetReader reader = HandDatasetReader.open(dataset);
+             BufferedWriter writer = Files.newBufferedWriter(text, StandardCharsets.US_ASCII)) {
+            char[] line = new char[reader.getHandSize() * 3];
+            int[] codes = new int[reader.getHandSize()];
+            try {
+                reader.forEach((record, cards, rank) -> {
+                    int size = Card.toCodes(cards, codes);
+                    for (int card = 0; card < size; card++) {
+                        line[card * 3] = Card.valueSymbol(Card.value(codes[card]));
+                        line[card * 3 + 1] = Card.kindSymbol(Card.kind(codes[card]));
+                        line[card * 3 + 2] = card == size - 1 ? '\n' : ' ';
+                    }
+                    try {
+                        writer.write(line, 0, size * 3);
+                    } catch (IOException e) {
+                        // stops the iteration at the first failure
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return reader.size();
+        }
+    }
+}
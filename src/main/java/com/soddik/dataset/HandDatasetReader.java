@@ -0,0 +1,163 @@
+package com.soddik.dataset;
+
+import com.soddik.entity.Combination;
+import com.soddik.evaluator.HandEvaluator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Memory-mapped read-only view of a {@link HandDataset} file.
+ * <p>
+ * The records are mapped in segments of at most 1 GiB that hold whole records, so files of billions of hands are read
+ * in place. Records are decoded into primitives: {@link #forEach} hands every record to a callback without creating
+ * objects and can be called from several threads on disjoint ranges; the single-record accessors share one scratch
+ * array and are not thread-safe.
+ */
+public final class HandDatasetReader implements Closeable {
+    private static final long SEGMENT_SIZE = 1L << 30;
+    private static final Combination[] COMBINATIONS = Combination.values();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long recordsPerSegment;
+    private final int recordSize;
+    private final int handSize;
+    private final boolean ranked;
+    private final long size;
+    private final int[] positions;
+
+    private HandDatasetReader(FileChannel channel, MappedByteBuffer[] segments, long recordsPerSegment, int recordSize,
+                              int handSize, boolean ranked, long size) {
+        this.channel = channel;
+        this.segments = segments;
+        this.recordsPerSegment = recordsPerSegment;
+        this.recordSize = recordSize;
+        this.handSize = handSize;
+        this.ranked = ranked;
+        this.size = size;
+        this.positions = new int[handSize];
+    }
+
+    public static HandDatasetReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, READ);
+        try {
+            if (channel.size() < HandDataset.HEADER_SIZE) {
+                throw new IOException(String.format("%s is not a hand dataset", path));
+            }
+            ByteBuffer header = ByteBuffer.allocate(HandDataset.HEADER_SIZE);
+            while (header.hasRemaining()) {
+                channel.read(header, header.position());
+            }
+            HandDataset.checkHeader(header, path);
+            int recordSize = header.getInt(HandDataset.RECORD_SIZE_OFFSET);
+            long count = header.getLong(HandDataset.COUNT_OFFSET);
+            if (count < 0 || HandDataset.HEADER_SIZE + count * recordSize != channel.size()) {
+                throw new IOException(String.format("%s is incomplete: %s records in the header, %s bytes", path,
+                        count, channel.size()));
+            }
+
+            long recordsPerSegment = SEGMENT_SIZE / recordSize;
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((count + recordsPerSegment - 1) / recordsPerSegment)];
+            for (int segment = 0; segment < segments.length; segment++) {
+                long first = segment * recordsPerSegment;
+                long records = Math.min(recordsPerSegment, count - first);
+                segments[segment] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HandDataset.HEADER_SIZE + first * recordSize, records * recordSize);
+            }
+            return new HandDatasetReader(channel, segments, recordsPerSegment, recordSize,
+                    header.getInt(HandDataset.HAND_SIZE_OFFSET),
+                    (header.getInt(HandDataset.FLAGS_OFFSET) & HandDataset.FLAG_RANKED) != 0, count);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public int getHandSize() {
+        return handSize;
+    }
+
+    public boolean isRanked() {
+        return ranked;
+    }
+
+    /**
+     * Packed cards of the record, see {@link com.soddik.entity.Card}.
+     */
+    public long cards(long record) {
+        return HandDataset.cards(segment(record).getInt(offset(record)) & HandDataset.INDEX_MASK, positions);
+    }
+
+    /**
+     * Rank of the record, stored in ranked datasets and evaluated otherwise.
+     */
+    public int rank(long record) {
+        return ranked ? segment(record).getShort(offset(record) + Integer.BYTES)
+                : HandDataset.rank(cards(record), handSize);
+    }
+
+    public Combination combination(long record) {
+        if (!ranked) {
+            return HandEvaluator.combination(rank(record));
+        }
+        return COMBINATIONS[segment(record).getInt(offset(record)) >>> HandDataset.COMBINATION_SHIFT];
+    }
+
+    public void forEach(RecordConsumer consumer) {
+        forEach(0, size, consumer);
+    }
+
+    /**
+     * Decodes the records {@code from} (inclusive) to {@code to} (exclusive) in order. The rank is {@code 0} in
+     * unranked datasets.
+     */
+    public void forEach(long from, long to, RecordConsumer consumer) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException(String.format("Records %s to %s of %s", from, to, size));
+        }
+        int[] scratch = new int[handSize];
+        long record = from;
+        while (record < to) {
+            MappedByteBuffer segment = segment(record);
+            long segmentEnd = Math.min(to, (record / recordsPerSegment + 1) * recordsPerSegment);
+            int offset = offset(record);
+            for (; record < segmentEnd; record++, offset += recordSize) {
+                int index = segment.getInt(offset);
+                long cards = HandDataset.cards(index & HandDataset.INDEX_MASK, scratch);
+                consumer.accept(record, cards, ranked ? segment.getShort(offset + Integer.BYTES) : 0);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private MappedByteBuffer segment(long record) {
+        if (record < 0 || record >= size) {
+            throw new IndexOutOfBoundsException(String.format("Record %s of %s", record, size));
+        }
+        return segments[(int) (record / recordsPerSegment)];
+    }
+
+    private int offset(long record) {
+        return (int) (record % recordsPerSegment) * recordSize;
+    }
+
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(long record, long cards, int rank);
+    }
+}
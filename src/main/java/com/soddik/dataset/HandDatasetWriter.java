@@ -0,0 +1,119 @@
+package com.soddik.dataset;
+
+import com.soddik.entity.Card;
+import com.soddik.evaluator.HandEvaluator;
+import com.soddik.evaluator.SevenCardEvaluator;
+import com.soddik.exception.CardAmountException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Streams hands into a {@link HandDataset} file through a direct buffer; the amount of records is written to the
+ * header on {@link #close()}, a file that was never closed is rejected by the reader. Not thread-safe.
+ */
+public final class HandDatasetWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final int handSize;
+    private final boolean ranked;
+    private final int[] codes = new int[Card.DECK_SIZE];
+    private long count;
+
+    /**
+     * @param handSize amount of cards of every hand, 1 to 7; ranked datasets need 5 to 7
+     * @param ranked   whether every record keeps the rank and combination of its hand
+     */
+    public HandDatasetWriter(Path path, int handSize, boolean ranked) throws IOException {
+        int minSize = ranked ? SevenCardEvaluator.MIN_CARDS : 1;
+        if (handSize < minSize || handSize > HandDataset.MAX_HAND_SIZE) {
+            throw new CardAmountException(String.format("Hands must have from %s to 7 cards, but have %s",
+                    minSize, handSize));
+        }
+        this.handSize = handSize;
+        this.ranked = ranked;
+        this.channel = FileChannel.open(path, CREATE, TRUNCATE_EXISTING, WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HandDataset.HEADER_SIZE);
+        header.putInt(0, HandDataset.MAGIC);
+        header.putInt(HandDataset.VERSION_OFFSET, HandDataset.VERSION);
+        header.putInt(HandDataset.FLAGS_OFFSET, ranked ? HandDataset.FLAG_RANKED : 0);
+        header.putInt(HandDataset.HAND_SIZE_OFFSET, handSize);
+        header.putInt(HandDataset.RECORD_SIZE_OFFSET, HandDataset.recordSize(ranked));
+        header.putLong(HandDataset.COUNT_OFFSET, -1);
+        write(header);
+    }
+
+    /**
+     * Appends a hand, ranking it when the dataset is ranked.
+     */
+    public void write(long cards) throws IOException {
+        checkCards(cards);
+        append(cards, ranked ? HandDataset.rank(cards, handSize) : 0);
+    }
+
+    /**
+     * Appends a hand with a rank computed before, e.g. by a bulk ranking run; the rank is ignored by unranked datasets.
+     */
+    public void write(long cards, int rank) throws IOException {
+        checkCards(cards);
+        if (ranked && (rank < HandEvaluator.BEST_RANK || rank > HandEvaluator.WORST_RANK)) {
+            throw new IllegalArgumentException(String.format("Unexpected rank %s", rank));
+        }
+        append(cards, rank);
+    }
+
+    private void append(long cards, int rank) throws IOException {
+        if (buffer.remaining() < HandDataset.recordSize(ranked)) {
+            flush();
+        }
+        int index = HandDataset.index(cards, codes);
+        if (ranked) {
+            buffer.putInt(index | HandEvaluator.combination(rank).ordinal() << HandDataset.COMBINATION_SHIFT);
+            buffer.putShort((short) rank);
+        } else {
+            buffer.putInt(index);
+        }
+        count++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flush();
+            ByteBuffer amount = ByteBuffer.allocate(Long.BYTES).putLong(0, count);
+            while (amount.hasRemaining()) {
+                channel.write(amount, HandDataset.COUNT_OFFSET + amount.position());
+            }
+        }
+    }
+
+    private void checkCards(long cards) {
+        if (Card.count(cards) != handSize || !Card.isValidMask(cards)) {
+            throw new CardAmountException(String.format("There must be exactly %s cards in the hand, but there are %s",
+                    handSize, Card.count(cards)));
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        write(buffer);
+        buffer.clear();
+    }
+
+    private void write(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+}
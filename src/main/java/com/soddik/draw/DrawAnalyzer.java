@@ -0,0 +1,246 @@
+package com.soddik.draw;
+
+import com.soddik.entity.Card;
+import com.soddik.evaluator.HandEvaluator;
+import com.soddik.evaluator.IncrementalEvaluator;
+import com.soddik.exception.CardAmountException;
+import com.soddik.exception.UniqueCardException;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Outs and the exact odds of every {@link com.soddik.entity.Combination} by the river for the situations of a
+ * {@link DrawSituations} batch.
+ * <p>
+ * The player and every opponent are dealt into an {@link IncrementalEvaluator} state once per situation, so each turn
+ * card is one transition per hand and each river card one more from the turn state: the 47 or 46 next cards give the
+ * outs and the 1081 or 46 runouts to the river give the odds, without building a hand per candidate. A hand with fewer
+ * than four cards of every kind after the turn cannot make a flush, so its rivers skip the flush check. The situations
+ * are split across a {@link ForkJoinPool} and nothing is allocated per situation.
+ */
+public final class DrawAnalyzer {
+    public static final int HOLE_CARDS = 2;
+    public static final int FLOP = 3;
+    public static final int TURN = 4;
+
+    private static final int THRESHOLD = 64;
+    private static final int FLUSH_DRAW = 4;
+    private static final int MAX_PLAYERS = DrawSituations.MAX_OPPONENTS + 1;
+    /** {@link com.soddik.entity.Combination} ordinal of every rank. */
+    private static final byte[] CATEGORIES = new byte[HandEvaluator.WORST_RANK + 1];
+
+    static {
+        for (int rank = HandEvaluator.BEST_RANK; rank <= HandEvaluator.WORST_RANK; rank++) {
+            CATEGORIES[rank] = (byte) HandEvaluator.combination(rank).ordinal();
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final IncrementalEvaluator evaluator = IncrementalEvaluator.getInstance();
+
+    public DrawAnalyzer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public DrawAnalyzer(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Analyzes one situation, the result is situation {@code 0} of the returned batch.
+     */
+    public DrawSituations analyze(long holeCards, long board, long[] opponents, long deadCards) {
+        DrawSituations situations = new DrawSituations(1);
+        situations.add(holeCards, board, opponents, deadCards);
+        analyze(situations, 0, new int[2 * MAX_PLAYERS]);
+        return situations;
+    }
+
+    /**
+     * Fills the outs and odds of every situation of the batch.
+     */
+    public DrawSummary analyze(DrawSituations situations) {
+        long start = System.nanoTime();
+        long runouts = pool.invoke(new Analysis(situations, 0, situations.size()));
+        return new DrawSummary(situations.size(), runouts, System.nanoTime() - start);
+    }
+
+    /**
+     * Analyzes one situation.
+     *
+     * @param states scratch space for the states of the player and the opponents, before and after the next card
+     * @return amount of runouts
+     */
+    int analyze(DrawSituations situations, int situation, int[] states) {
+        long hole = situations.holeCards[situation];
+        long board = situations.boards[situation];
+        int opponents = situations.opponentCounts[situation];
+        int first = situation * DrawSituations.MAX_OPPONENTS;
+        long known = checkSituation(hole, board, situations.deadCards[situation]);
+        for (int opponent = first; opponent < first + opponents; opponent++) {
+            long cards = situations.opponents[opponent];
+            checkHoleCards(cards);
+            if ((known & cards) != 0) {
+                throw new UniqueCardException(String.format(
+                        "Hole cards must be unique among players, the board and dead cards of situation %s", situation));
+            }
+            known |= cards;
+        }
+
+        // the player and the opponents are players 0 to opponents, their states after the next card follow them
+        int players = opponents + 1;
+        int boardState = evaluator.nextAll(IncrementalEvaluator.START, board);
+        states[0] = evaluator.nextAll(boardState, hole);
+        int best = Integer.MAX_VALUE;
+        for (int opponent = 1; opponent < players; opponent++) {
+            long cards = situations.opponents[first + opponent - 1];
+            states[opponent] = evaluator.nextAll(boardState, cards);
+            best = Math.min(best, evaluator.rank(states[opponent], cards | board));
+        }
+        int rank = evaluator.rank(states[0], hole | board);
+        int category = CATEGORIES[rank];
+        boolean behind = opponents > 0 && rank >= best;
+
+        long combinationOuts = 0;
+        long rankingOuts = 0;
+        int runouts = 0;
+        int wins = 0;
+        int ties = 0;
+        int[] counts = situations.combinationCounts;
+        int countsStart = situation * DrawSituations.COMBINATIONS;
+        Arrays.fill(counts, countsStart, countsStart + DrawSituations.COMBINATIONS, 0);
+        boolean flop = Card.count(board) == FLOP;
+        for (int next = 0; next < Card.DECK_SIZE; next++) {
+            long nextCard = Card.bit(next);
+            if ((known & nextCard) != 0) {
+                continue;
+            }
+            long nextBoard = board | nextCard;
+            states[MAX_PLAYERS] = evaluator.next(states[0], next);
+            int nextRank = evaluator.rank(states[MAX_PLAYERS], hole | nextBoard);
+            int nextBest = Integer.MAX_VALUE;
+            for (int opponent = 1; opponent < players; opponent++) {
+                states[MAX_PLAYERS + opponent] = evaluator.next(states[opponent], next);
+                nextBest = Math.min(nextBest, evaluator.rank(states[MAX_PLAYERS + opponent],
+                        situations.opponents[first + opponent - 1] | nextBoard));
+            }
+            if (CATEGORIES[nextRank] > category) {
+                combinationOuts |= nextCard;
+            }
+            if (behind && nextRank < nextBest) {
+                rankingOuts |= nextCard;
+            }
+            if (!flop) {
+                // the next card of a turn is the river
+                counts[countsStart + CATEGORIES[nextRank]]++;
+                wins += nextRank < nextBest ? 1 : 0;
+                ties += nextRank == nextBest ? 1 : 0;
+                runouts++;
+                continue;
+            }
+
+            // the river comes after the turn in card order, so every runout is visited once
+            int flushes = canFlush(hole | nextBoard) ? 1 : 0;
+            for (int opponent = 1; opponent < players; opponent++) {
+                flushes |= canFlush(situations.opponents[first + opponent - 1] | nextBoard) ? 1 << opponent : 0;
+            }
+            for (int river = next + 1; river < Card.DECK_SIZE; river++) {
+                long riverCard = Card.bit(river);
+                if ((known & riverCard) != 0) {
+                    continue;
+                }
+                long riverBoard = nextBoard | riverCard;
+                int riverRank = rank(evaluator.next(states[MAX_PLAYERS], river), hole | riverBoard, flushes, 0);
+                int riverBest = Integer.MAX_VALUE;
+                for (int opponent = 1; opponent < players; opponent++) {
+                    riverBest = Math.min(riverBest, rank(evaluator.next(states[MAX_PLAYERS + opponent], river),
+                            situations.opponents[first + opponent - 1] | riverBoard, flushes, opponent));
+                }
+                counts[countsStart + CATEGORIES[riverRank]]++;
+                wins += riverRank < riverBest ? 1 : 0;
+                ties += riverRank == riverBest ? 1 : 0;
+                runouts++;
+            }
+        }
+        situations.combinationOuts[situation] = combinationOuts;
+        situations.rankingOuts[situation] = rankingOuts;
+        situations.runouts[situation] = runouts;
+        // nobody is beaten without opponents
+        situations.wins[situation] = opponents > 0 ? wins : 0;
+        situations.ties[situation] = ties;
+        return runouts;
+    }
+
+    /**
+     * Rank of the river state, looking for a flush only when the player can make one.
+     */
+    private int rank(int state, long cards, int flushes, int player) {
+        return (flushes & 1 << player) != 0 ? evaluator.rank(state, cards) : evaluator.unsuitedRank(state);
+    }
+
+    /**
+     * Whether six cards hold four of a kind, so that a river of that kind makes a flush.
+     */
+    private static boolean canFlush(long cards) {
+        for (int kind = 0; kind < Card.KIND_COUNT; kind++) {
+            if (Integer.bitCount(Card.lane(cards, kind)) >= FLUSH_DRAW) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Validates the cards of the player and returns every known card.
+     */
+    private static long checkSituation(long holeCards, long board, long deadCards) {
+        checkHoleCards(holeCards);
+        int boardCards = Card.count(board);
+        if ((boardCards != FLOP && boardCards != TURN) || !Card.isValidMask(board | deadCards)) {
+            throw new CardAmountException(
+                    String.format("There must be a flop or a turn on the board, but there are %s cards", boardCards));
+        }
+        if ((holeCards & board) != 0 || ((holeCards | board) & deadCards) != 0) {
+            throw new UniqueCardException("Hole cards, board and dead cards must be unique");
+        }
+        return holeCards | board | deadCards;
+    }
+
+    private static void checkHoleCards(long holeCards) {
+        if (Card.count(holeCards) != HOLE_CARDS || !Card.isValidMask(holeCards)) {
+            throw new CardAmountException(
+                    String.format("There must be exactly 2 hole cards, but there are %s", Card.count(holeCards)));
+        }
+    }
+
+    private final class Analysis extends RecursiveTask<Long> {
+        private final DrawSituations situations;
+        private final int from;
+        private final int to;
+
+        private Analysis(DrawSituations situations, int from, int to) {
+            this.situations = situations;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from > THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                Analysis right = new Analysis(situations, middle, to);
+                right.fork();
+                long runouts = new Analysis(situations, from, middle).compute();
+                return runouts + right.join();
+            }
+            int[] states = new int[2 * MAX_PLAYERS];
+            long runouts = 0;
+            for (int situation = from; situation < to; situation++) {
+                runouts += analyze(situations, situation, states);
+            }
+            return runouts;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.soddik.draw;
+
+import com.soddik.entity.Combination;
+
+import java.util.Arrays;
+
+/**
+ * A batch of draw situations kept in flat primitive arrays: packed hole cards and a flop or turn, up to
+ * {@value #MAX_OPPONENTS} opponents with known hole cards and dead cards, see {@link com.soddik.entity.Card}.
+ * {@link DrawAnalyzer} fills the outs, the final {@link Combination} of every runout and the showdowns against the
+ * opponents. The batch can be cleared and refilled without allocating.
+ */
+public final class DrawSituations {
+    public static final int MAX_OPPONENTS = 9;
+    static final int COMBINATIONS = Combination.values().length;
+
+    final long[] holeCards;
+    final long[] boards;
+    final long[] deadCards;
+    final int[] opponentCounts;
+    final long[] opponents;
+    final long[] combinationOuts;
+    final long[] rankingOuts;
+    final int[] runouts;
+    final int[] combinationCounts;
+    final int[] wins;
+    final int[] ties;
+    private int size;
+
+    public DrawSituations(int capacity) {
+        this.holeCards = new long[capacity];
+        this.boards = new long[capacity];
+        this.deadCards = new long[capacity];
+        this.opponentCounts = new int[capacity];
+        this.opponents = new long[capacity * MAX_OPPONENTS];
+        this.combinationOuts = new long[capacity];
+        this.rankingOuts = new long[capacity];
+        this.runouts = new int[capacity];
+        this.combinationCounts = new int[capacity * COMBINATIONS];
+        this.wins = new int[capacity];
+        this.ties = new int[capacity];
+    }
+
+    /**
+     * @param holeCards packed two hole cards of the player
+     * @param board     packed flop or turn
+     * @param opponents packed two hole cards of every opponent, may be empty
+     * @param deadCards packed cards that cannot come
+     * @return index of the situation
+     */
+    public int add(long holeCards, long board, long[] opponents, long deadCards) {
+        if (size == boards.length) {
+            throw new IllegalStateException(String.format("The batch is full with %s situations", size));
+        }
+        if (opponents.length > MAX_OPPONENTS) {
+            throw new IllegalArgumentException(
+                    String.format("There must be at most 9 opponents, but there are %s", opponents.length));
+        }
+        int situation = size++;
+        this.holeCards[situation] = holeCards;
+        boards[situation] = board;
+        this.deadCards[situation] = deadCards;
+        opponentCounts[situation] = opponents.length;
+        System.arraycopy(opponents, 0, this.opponents, situation * MAX_OPPONENTS, opponents.length);
+        return situation;
+    }
+
+    public void clear() {
+        Arrays.fill(combinationCounts, 0, size * COMBINATIONS, 0);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return boards.length;
+    }
+
+    /**
+     * Packed unseen cards that improve the combination of the player on the next street.
+     */
+    public long getCombinationOuts(int situation) {
+        return combinationOuts[situation];
+    }
+
+    /**
+     * Packed unseen cards that put the player strictly ahead of every opponent on the next street when they are not
+     * now, {@code 0} without opponents.
+     */
+    public long getRankingOuts(int situation) {
+        return rankingOuts[situation];
+    }
+
+    /**
+     * Packed cards that are combination or ranking outs.
+     */
+    public long getOuts(int situation) {
+        return combinationOuts[situation] | rankingOuts[situation];
+    }
+
+    /**
+     * Amount of runouts to the river: pairs of turn and river cards after a flop, river cards after a turn.
+     */
+    public int getRunouts(int situation) {
+        return runouts[situation];
+    }
+
+    /**
+     * Exact probability that the best hand of the player is the combination on the river.
+     */
+    public double getProbability(int situation, Combination combination) {
+        return (double) combinationCounts[situation * COMBINATIONS + combination.ordinal()] / runouts[situation];
+    }
+
+    /**
+     * Exact probability that the best hand of the player is the combination or a stronger one on the river.
+     */
+    public double getProbabilityAtLeast(int situation, Combination combination) {
+        int count = 0;
+        for (int ordinal = combination.ordinal(); ordinal < COMBINATIONS; ordinal++) {
+            count += combinationCounts[situation * COMBINATIONS + ordinal];
+        }
+        return (double) count / runouts[situation];
+    }
+
+    /**
+     * Probability that the player alone has the best hand on the river, {@code 0} without opponents.
+     */
+    public double getWinProbability(int situation) {
+        return (double) wins[situation] / runouts[situation];
+    }
+
+    /**
+     * Probability that the player shares the best hand with an opponent on the river.
+     */
+    public double getTieProbability(int situation) {
+        return (double) ties[situation] / runouts[situation];
+    }
+}
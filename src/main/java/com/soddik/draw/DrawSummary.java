@@ -0,0 +1,21 @@
+package com.soddik.draw;
+
+/**
+ * Totals of a batch analyzed by {@link DrawAnalyzer}.
+ *
+ * @param situations situations analyzed
+ * @param runouts    runouts to the river enumerated
+ * @param nanos      wall clock time of the batch
+ */
+public record DrawSummary(long situations, long runouts, long nanos) {
+
+    public double situationsPerSecond() {
+        return nanos == 0 ? 0 : situations * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Analyzed %d situations (%d runouts) in %.3f s, %.0f situations/s",
+                situations, runouts, nanos / 1_000_000_000.0, situationsPerSecond());
+    }
+}
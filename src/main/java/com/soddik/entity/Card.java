@@ -0,0 +1,149 @@
+package com.soddik.entity;
+
+import com.soddik.exception.CardAttributeAmountException;
+import com.soddik.exception.UnexpectedCardAttributeKindException;
+import com.soddik.exception.UnexpectedCardAttributeValueException;
+import com.soddik.exception.UniqueCardException;
+
+/**
+ * Primitive card encoding.
+ * <p>
+ * A single card is an {@code int} code in {@code 0..51}: {@code (value - 2) << 2 | (kind - 20)}, so codes grow with
+ * the card value and the kind (S, H, D, C) is kept in the two lowest bits.
+ * <p>
+ * A set of cards is a {@code long} mask with one 16-bit lane per kind: bit {@code kindIndex * 16 + valueIndex}.
+ * Each lane holds a 13-bit mask of values, which keeps flush and pair detection to a few bitwise operations.
+ */
+public final class Card {
+    public static final int DECK_SIZE = 52;
+    public static final int VALUE_COUNT = 13;
+    public static final int KIND_COUNT = 4;
+    public static final int MIN_VALUE = 2;
+    public static final int MAX_VALUE = 14;
+    public static final int MIN_KIND = 20;
+    public static final int MAX_KIND = 23;
+    public static final int LANE_MASK = 0x1FFF;
+    public static final long DECK_MASK = 0x1FFF_1FFF_1FFF_1FFFL;
+
+    private static final String VALUE_SYMBOLS = "23456789TJQKA";
+    private static final String KIND_SYMBOLS = "SHDC";
+
+    private Card() {
+    }
+
+    public static int of(int value, int kind) {
+        if (value < MIN_VALUE || value > MAX_VALUE) {
+            throw new UnexpectedCardAttributeValueException(String.format("Unexpected card value %s", value));
+        }
+        if (kind < MIN_KIND || kind > MAX_KIND) {
+            throw new UnexpectedCardAttributeKindException(String.format("Unexpected card kind %s", kind));
+        }
+        return (value - MIN_VALUE) << 2 | (kind - MIN_KIND);
+    }
+
+    public static int value(int card) {
+        return (card >>> 2) + MIN_VALUE;
+    }
+
+    public static int kind(int card) {
+        return (card & 3) + MIN_KIND;
+    }
+
+    public static int valueIndex(int card) {
+        return card >>> 2;
+    }
+
+    public static int kindIndex(int card) {
+        return card & 3;
+    }
+
+    public static long bit(int card) {
+        return 1L << ((card & 3) << 4 | card >>> 2);
+    }
+
+    /**
+     * Converts a mask bit position ({@code kindIndex * 16 + valueIndex}) back to a card code.
+     */
+    public static int fromBitIndex(int bitIndex) {
+        return (bitIndex & 15) << 2 | bitIndex >>> 4;
+    }
+
+    public static int lane(long cards, int kindIndex) {
+        return (int) (cards >>> (kindIndex << 4)) & LANE_MASK;
+    }
+
+    public static int count(long cards) {
+        return Long.bitCount(cards);
+    }
+
+    public static boolean isValidMask(long cards) {
+        return (cards & ~DECK_MASK) == 0;
+    }
+
+    public static char valueSymbol(int value) {
+        if (value < MIN_VALUE || value > MAX_VALUE) {
+            throw new UnexpectedCardAttributeValueException(String.format("Unexpected card value %s", value));
+        }
+        return VALUE_SYMBOLS.charAt(value - MIN_VALUE);
+    }
+
+    public static char kindSymbol(int kind) {
+        if (kind < MIN_KIND || kind > MAX_KIND) {
+            throw new UnexpectedCardAttributeKindException(String.format("Unexpected card kind %s", kind));
+        }
+        return KIND_SYMBOLS.charAt(kind - MIN_KIND);
+    }
+
+    public static String toString(int card) {
+        return String.valueOf(VALUE_SYMBOLS.charAt(card >>> 2)) + KIND_SYMBOLS.charAt(card & 3);
+    }
+
+    /**
+     * Writes the cards of the mask into {@code target} ordered by value, then by kind, and returns their amount.
+     */
+    public static int toCodes(long cards, int[] target) {
+        int size = 0;
+        for (int valueIndex = 0; valueIndex < VALUE_COUNT; valueIndex++) {
+            for (int kindIndex = 0; kindIndex < KIND_COUNT; kindIndex++) {
+                if ((cards & 1L << (kindIndex << 4 | valueIndex)) != 0) {
+                    target[size++] = valueIndex << 2 | kindIndex;
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Compatibility adapter: builds the legacy {@code Integer[n][2]} form ({value, kind}) sorted by value.
+     */
+    public static Integer[][] toArray(long cards) {
+        int[] codes = new int[count(cards)];
+        int size = toCodes(cards, codes);
+        Integer[][] result = new Integer[size][2];
+        for (int index = 0; index < size; index++) {
+            result[index][0] = value(codes[index]);
+            result[index][1] = kind(codes[index]);
+        }
+        return result;
+    }
+
+    /**
+     * Compatibility adapter: packs the legacy {@code Integer[n][2]} form ({value, kind}) into a mask.
+     */
+    public static long toMask(Integer[][] cards) {
+        long mask = 0;
+        for (Integer[] card : cards) {
+            if (card == null || card.length != 2 || card[0] == null || card[1] == null) {
+                throw new CardAttributeAmountException("The card should contain 2 attributes: value and kind");
+            }
+            long bit = bit(of(card[0], card[1]));
+            if ((mask & bit) != 0) {
+                throw new UniqueCardException(
+                        String.format("Unique cards must be in hand, but there is a duplicate with card: %s%s",
+                                valueSymbol(card[0]), kindSymbol(card[1])));
+            }
+            mask |= bit;
+        }
+        return mask;
+    }
+}
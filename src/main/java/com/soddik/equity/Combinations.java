@@ -0,0 +1,59 @@
+package com.soddik.equity;
+
+/**
+ * k-combinations of {@code 0..n-1} in colex order: combinations are ascending position arrays ordered by their
+ * highest position first, so the index of {@code c[0] < ... < c[k-1]} is {@code sum C(c[i], i + 1)}.
+ */
+public final class Combinations {
+    private static final long[][] BINOMIALS = new long[53][8];
+
+    static {
+        for (int n = 0; n < BINOMIALS.length; n++) {
+            BINOMIALS[n][0] = 1;
+            for (int k = 1; k < BINOMIALS[n].length; k++) {
+                BINOMIALS[n][k] = n == 0 ? 0 : BINOMIALS[n - 1][k - 1] + BINOMIALS[n - 1][k];
+            }
+        }
+    }
+
+    private Combinations() {
+    }
+
+    public static long count(int n, int k) {
+        return BINOMIALS[n][k];
+    }
+
+    /**
+     * Fills {@code positions} with the combination of the colex {@code index}. Positions are found from the highest
+     * down, each below the one before, so at most 52 binomials are compared in total.
+     */
+    public static void unrank(long index, int[] positions) {
+        long rest = index;
+        int position = BINOMIALS.length - 1;
+        for (int i = positions.length - 1; i >= 0; i--) {
+            position--;
+            while (BINOMIALS[position][i + 1] > rest) {
+                position--;
+            }
+            positions[i] = position;
+            rest -= BINOMIALS[position][i + 1];
+        }
+    }
+
+    /**
+     * Advances {@code positions} to the next combination in colex order.
+     */
+    public static void next(int[] positions, int n) {
+        int last = positions.length - 1;
+        for (int i = 0; i <= last; i++) {
+            int limit = i == last ? n : positions[i + 1];
+            if (positions[i] + 1 < limit) {
+                positions[i]++;
+                for (int lower = 0; lower < i; lower++) {
+                    positions[lower] = lower;
+                }
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.soddik.equity;
+
+import com.soddik.entity.Card;
+import com.soddik.exception.CardAmountException;
+import com.soddik.exception.UniqueCardException;
+import com.soddik.generator.Deck;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Hold'em equity of 2 to 10 players from their hole cards, an optional partial board and dead cards.
+ * <p>
+ * {@link #monteCarlo} deals random runouts on every worker of a {@link ForkJoinPool}. Each worker owns a
+ * {@link Deck}, a random stream split from the calculator seed and its own counters, which are merged after every
+ * round; the run stops once the 95% confidence interval of every player's equity is narrower than the target or the
+ * board limit is reached. {@link #exact} visits every remaining board in colex order instead: the range of colex
+ * indexes is split across the pool and every part starts by unranking its first board. Hands are ranked with the
+ * {@code PokerHand} ordering through {@link com.soddik.evaluator.SevenCardEvaluator}.
+ */
+public final class EquityCalculator {
+    public static final int MIN_PLAYERS = 2;
+    public static final int MAX_PLAYERS = 10;
+    public static final int HOLE_CARDS = 2;
+    public static final int BOARD_SIZE = 5;
+
+    private static final int ROUND_BOARDS = 8192;
+    private static final long ENUMERATION_THRESHOLD = 1 << 15;
+    private static final long MIN_BOARDS = 20_000;
+    private static final double Z_95 = 1.959964;
+
+    private final ForkJoinPool pool;
+    private final long seed;
+
+    public EquityCalculator() {
+        this(ForkJoinPool.commonPool(), System.nanoTime());
+    }
+
+    public EquityCalculator(ForkJoinPool pool, long seed) {
+        this.pool = pool;
+        this.seed = seed;
+    }
+
+    /**
+     * Estimates equities by random runouts.
+     *
+     * @param holeCards       packed two hole cards of every player
+     * @param board           packed board cards already dealt, 0 to 5
+     * @param deadCards       packed cards that cannot come on the board
+     * @param maxBoards       upper limit of runouts
+     * @param targetHalfWidth stop once the 95% confidence half-width of every equity is at most this, {@code 0} to
+     *                        always deal {@code maxBoards}
+     */
+    public EquityResult monteCarlo(long[] holeCards, long board, long deadCards, long maxBoards, double targetHalfWidth) {
+        long start = System.nanoTime();
+        long known = checkSpot(holeCards, board, deadCards);
+        int missing = BOARD_SIZE - Card.count(board);
+        if (missing == 0) {
+            Tally tally = new Tally(holeCards.length);
+            tally.showdown(holeCards, board, 1);
+            return tally.toResult(System.nanoTime() - start, true);
+        }
+
+        SplittableRandom master = new SplittableRandom(seed);
+        Worker[] workers = new Worker[pool.getParallelism()];
+        for (int index = 0; index < workers.length; index++) {
+            workers[index] = new Worker(holeCards, board, missing, new Deck(known), master.split());
+        }
+
+        Tally total;
+        long dealt = 0;
+        do {
+            long remaining = maxBoards - dealt;
+            int perWorker = (int) Math.min(ROUND_BOARDS, (remaining + workers.length - 1) / workers.length);
+            pool.invoke(new Round(workers, 0, workers.length, perWorker));
+            total = new Tally(holeCards.length);
+            for (Worker worker : workers) {
+                total.add(worker.tally);
+            }
+            dealt = total.boards;
+        } while (dealt < maxBoards && !isPrecise(total, dealt, targetHalfWidth));
+        return total.toResult(System.nanoTime() - start, false);
+    }
+
+    /**
+     * Computes exact equities by enumerating every board that completes the known cards.
+     *
+     * @param holeCards packed two hole cards of every player
+     * @param board     packed board cards already dealt, 0 to 5
+     * @param deadCards packed cards that cannot come on the board
+     */
+    public EquityResult exact(long[] holeCards, long board, long deadCards) {
+        long start = System.nanoTime();
+        long known = checkSpot(holeCards, board, deadCards);
+        int[] live = new int[Card.DECK_SIZE - Card.count(known)];
+        int size = 0;
+        for (int card = 0; card < Card.DECK_SIZE; card++) {
+            if ((known & Card.bit(card)) == 0) {
+                live[size++] = card;
+            }
+        }
+        int missing = BOARD_SIZE - Card.count(board);
+        long boards = Combinations.count(live.length, missing);
+        Tally tally = pool.invoke(new Enumeration(holeCards, board, live, missing, 0, boards));
+        return tally.toResult(System.nanoTime() - start, true);
+    }
+
+    /**
+     * Validates the spot and returns every known card.
+     */
+    static long checkSpot(long[] holeCards, long board, long deadCards) {
+        if (holeCards.length < MIN_PLAYERS || holeCards.length > MAX_PLAYERS) {
+            throw new IllegalArgumentException(
+                    String.format("There must be from 2 to 10 players, but there are %s", holeCards.length));
+        }
+        if (Card.count(board) > BOARD_SIZE) {
+            throw new CardAmountException(
+                    String.format("There must be at most 5 board cards, but there are %s", Card.count(board)));
+        }
+        long known = board;
+        if ((known & deadCards) != 0) {
+            throw new UniqueCardException("Dead cards cannot be on the board");
+        }
+        known |= deadCards;
+        for (long hole : holeCards) {
+            if (Card.count(hole) != HOLE_CARDS) {
+                throw new CardAmountException(
+                        String.format("There must be exactly 2 hole cards, but there are %s", Card.count(hole)));
+            }
+            if ((known & hole) != 0) {
+                throw new UniqueCardException("Hole cards must be unique among players, the board and dead cards");
+            }
+            known |= hole;
+        }
+        if (!Card.isValidMask(known)) {
+            throw new CardAmountException(String.format("Unexpected card mask %s", Long.toHexString(known)));
+        }
+        return known;
+    }
+
+    private static boolean isPrecise(Tally total, long boards, double targetHalfWidth) {
+        if (targetHalfWidth <= 0 || boards < MIN_BOARDS) {
+            return false;
+        }
+        EquityResult result = total.toResult(0, false);
+        for (int player = 0; player < result.getPlayers(); player++) {
+            if (Z_95 * result.getStandardError(player) > targetHalfWidth) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Worker {
+        private final long[] holeCards;
+        private final long board;
+        private final int missing;
+        private final Deck deck;
+        private final SplittableRandom random;
+        private final Tally tally;
+
+        private Worker(long[] holeCards, long board, int missing, Deck deck, SplittableRandom random) {
+            this.holeCards = holeCards;
+            this.board = board;
+            this.missing = missing;
+            this.deck = deck;
+            this.random = random;
+            this.tally = new Tally(holeCards.length);
+        }
+
+        private void deal(int boards) {
+            for (int index = 0; index < boards; index++) {
+                tally.showdown(holeCards, board | deck.deal(missing, random), 1);
+            }
+        }
+    }
+
+    /**
+     * Ranks the boards with colex indexes {@code [from, to)}, splitting the range in halves down to
+     * {@link #ENUMERATION_THRESHOLD} boards.
+     */
+    private static final class Enumeration extends RecursiveTask<Tally> {
+        private final long[] holeCards;
+        private final long board;
+        private final int[] live;
+        private final int missing;
+        private final long from;
+        private final long to;
+
+        private Enumeration(long[] holeCards, long board, int[] live, int missing, long from, long to) {
+            this.holeCards = holeCards;
+            this.board = board;
+            this.live = live;
+            this.missing = missing;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from > ENUMERATION_THRESHOLD) {
+                long middle = (from + to) >>> 1;
+                Enumeration right = new Enumeration(holeCards, board, live, missing, middle, to);
+                right.fork();
+                Tally tally = new Enumeration(holeCards, board, live, missing, from, middle).compute();
+                tally.add(right.join());
+                return tally;
+            }
+
+            Tally tally = new Tally(holeCards.length);
+            int[] positions = new int[missing];
+            Combinations.unrank(from, positions);
+            for (long index = from; index < to; index++) {
+                long runout = 0;
+                for (int position : positions) {
+                    runout |= Card.bit(live[position]);
+                }
+                tally.showdown(holeCards, board | runout, 1);
+                Combinations.next(positions, live.length);
+            }
+            return tally;
+        }
+    }
+
+    /**
+     * Forks one leaf per worker.
+     */
+    private static final class Round extends RecursiveAction {
+        private final Worker[] workers;
+        private final int from;
+        private final int to;
+        private final int boards;
+
+        private Round(Worker[] workers, int from, int to, int boards) {
+            this.workers = workers;
+            this.from = from;
+            this.to = to;
+            this.boards = boards;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                workers[from].deal(boards);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Round(workers, from, middle, boards), new Round(workers, middle, to, boards));
+        }
+    }
+}
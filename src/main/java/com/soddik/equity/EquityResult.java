@@ -0,0 +1,86 @@
+package com.soddik.equity;
+
+/**
+ * Win and tie counts of every player over a number of boards. A tie is split evenly between the tied players, so the
+ * equity of a player is {@code (wins + tie shares) / boards}.
+ */
+public final class EquityResult {
+    private final long boards;
+    private final long[] wins;
+    private final long[] ties;
+    private final double[] tieShares;
+    private final double[] shareSquares;
+    private final long nanos;
+
+    EquityResult(long boards, long[] wins, long[] ties, double[] tieShares, double[] shareSquares, long nanos) {
+        this.boards = boards;
+        this.wins = wins;
+        this.ties = ties;
+        this.tieShares = tieShares;
+        this.shareSquares = shareSquares;
+        this.nanos = nanos;
+    }
+
+    public int getPlayers() {
+        return wins.length;
+    }
+
+    /**
+     * Amount of boards dealt or enumerated.
+     */
+    public long getBoards() {
+        return boards;
+    }
+
+    public long getWins(int player) {
+        return wins[player];
+    }
+
+    public long getTies(int player) {
+        return ties[player];
+    }
+
+    public double getWinProbability(int player) {
+        return boards == 0 ? 0 : (double) wins[player] / boards;
+    }
+
+    public double getTieProbability(int player) {
+        return boards == 0 ? 0 : (double) ties[player] / boards;
+    }
+
+    public double getEquity(int player) {
+        return boards == 0 ? 0 : (wins[player] + tieShares[player]) / boards;
+    }
+
+    /**
+     * Standard error of the equity as a mean of per-board shares, {@code 0} for an exact enumeration.
+     */
+    public double getStandardError(int player) {
+        if (boards < 2 || shareSquares == null) {
+            return 0;
+        }
+        double mean = getEquity(player);
+        double variance = Math.max(0, shareSquares[player] / boards - mean * mean) * boards / (boards - 1);
+        return Math.sqrt(variance / boards);
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getBoardsPerSecond() {
+        return nanos == 0 ? 0 : boards * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Equity[ Boards: ").append(boards).append(", ");
+        for (int player = 0; player < getPlayers(); player++) {
+            sb.append(String.format("P%d: %.4f (win %.4f, tie %.4f) ", player + 1, getEquity(player),
+                    getWinProbability(player), getTieProbability(player)));
+        }
+        sb.append(String.format("%.0f boards/s ]", getBoardsPerSecond()));
+        return sb.toString();
+    }
+}
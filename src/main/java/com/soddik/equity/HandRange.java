@@ -0,0 +1,134 @@
+package com.soddik.equity;
+
+import com.soddik.entity.Card;
+import com.soddik.exception.CardAmountException;
+
+/**
+ * Weighted hole card combinations of a range, at most one entry per combination, in colex order of their card codes.
+ * Weights are in {@code (0, 1]}: {@code 0.5} counts a combination half as often as the others.
+ */
+public final class HandRange {
+    /** Amount of two card combinations of the deck. */
+    public static final int MAX_COMBOS = 1326;
+
+    private final long[] combos;
+    private final double[] weights;
+
+    HandRange(long[] combos, double[] weights) {
+        this.combos = combos;
+        this.weights = weights;
+    }
+
+    /**
+     * Range of the given packed hole cards, every one with weight {@code 1}.
+     */
+    public static HandRange of(long... holeCards) {
+        double[] weights = new double[MAX_COMBOS];
+        for (long combo : holeCards) {
+            if (Card.count(combo) != 2 || !Card.isValidMask(combo)) {
+                throw new CardAmountException(
+                        String.format("There must be exactly 2 hole cards, but there are %s", Card.count(combo)));
+            }
+            weights[index(combo)] = 1;
+        }
+        return fromWeights(weights);
+    }
+
+    /**
+     * Range of the combinations with a positive weight, indexed by {@link #index(long)}.
+     */
+    static HandRange fromWeights(double[] weightsByIndex) {
+        int size = 0;
+        for (double weight : weightsByIndex) {
+            if (weight > 0) {
+                size++;
+            }
+        }
+        long[] combos = new long[size];
+        double[] weights = new double[size];
+        size = 0;
+        for (int high = 1; high < Card.DECK_SIZE; high++) {
+            for (int low = 0; low < high; low++) {
+                double weight = weightsByIndex[high * (high - 1) / 2 + low];
+                if (weight > 0) {
+                    combos[size] = Card.bit(high) | Card.bit(low);
+                    weights[size++] = weight;
+                }
+            }
+        }
+        return new HandRange(combos, weights);
+    }
+
+    /**
+     * Colex index of two packed hole cards among the {@value #MAX_COMBOS} combinations.
+     */
+    static int index(long holeCards) {
+        int low = Card.fromBitIndex(Long.numberOfTrailingZeros(holeCards));
+        int high = Card.fromBitIndex(63 - Long.numberOfLeadingZeros(holeCards));
+        if (low > high) {
+            int swap = low;
+            low = high;
+            high = swap;
+        }
+        return high * (high - 1) / 2 + low;
+    }
+
+    public int size() {
+        return combos.length;
+    }
+
+    /**
+     * Packed hole cards of the combination.
+     */
+    public long getCombo(int index) {
+        return combos[index];
+    }
+
+    public double getWeight(int index) {
+        return weights[index];
+    }
+
+    public double getTotalWeight() {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        return total;
+    }
+
+    /**
+     * The combinations that share no card with {@code cards}, e.g. the board and the dead cards.
+     */
+    public HandRange without(long cards) {
+        int size = 0;
+        for (long combo : combos) {
+            if ((combo & cards) == 0) {
+                size++;
+            }
+        }
+        long[] keptCombos = new long[size];
+        double[] keptWeights = new double[size];
+        size = 0;
+        for (int index = 0; index < combos.length; index++) {
+            if ((combos[index] & cards) == 0) {
+                keptCombos[size] = combos[index];
+                keptWeights[size++] = weights[index];
+            }
+        }
+        return new HandRange(keptCombos, keptWeights);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        int[] codes = new int[2];
+        for (int index = 0; index < combos.length; index++) {
+            Card.toCodes(combos[index], codes);
+            sb.append(index == 0 ? "" : ", ").append(Card.toString(codes[1])).append(Card.toString(codes[0]));
+            if (weights[index] != 1) {
+                sb.append(':').append(weights[index]);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.soddik.equity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Heads-up preflop equities of the 169 {@link StartingHand} classes, read from a memory-mapped file written by
+ * {@link PreflopTableGenerator}. The table is never copied onto the heap, a lookup is a single absolute read.
+ * <p>
+ * File layout, big-endian: magic {@code "THPF"}, version, amount of classes, complete flag (ints), boards per
+ * matchup (long, {@code 0} for exact enumeration), one done flag byte per row, then at {@link #DATA_OFFSET} a
+ * {@code 169 x 169} float matrix with the equity of the row class against the column class.
+ */
+public final class PreflopEquityTable {
+    static final int MAGIC = 0x54485046;
+    static final int VERSION = 1;
+    static final int VERSION_OFFSET = 4;
+    static final int CLASSES_OFFSET = 8;
+    static final int COMPLETE_OFFSET = 12;
+    static final int BOARDS_OFFSET = 16;
+    static final int ROWS_OFFSET = 24;
+    static final int DATA_OFFSET = 200;
+    static final long FILE_SIZE = DATA_OFFSET + (long) StartingHand.CLASSES * StartingHand.CLASSES * Float.BYTES;
+
+    private final MappedByteBuffer buffer;
+
+    private PreflopEquityTable(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public static PreflopEquityTable open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() != FILE_SIZE) {
+                throw new IOException(String.format("Unexpected preflop table size %s in %s", channel.size(), path));
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, FILE_SIZE);
+            checkHeader(buffer, path);
+            if (buffer.getInt(COMPLETE_OFFSET) != 1) {
+                throw new IOException(String.format("Preflop table %s is not complete, resume its generation", path));
+            }
+            return new PreflopEquityTable(buffer);
+        }
+    }
+
+    /**
+     * Equity of {@code hero} against {@code villain}, both {@link StartingHand} classes, averaged over all their
+     * non-conflicting hole card combinations.
+     */
+    public float equity(int hero, int villain) {
+        return buffer.getFloat(offset(hero, villain));
+    }
+
+    /**
+     * Class equity of two packed hole cards, see {@link #equity(int, int)}.
+     */
+    public float equity(long heroHoleCards, long villainHoleCards) {
+        return equity(StartingHand.classOf(heroHoleCards), StartingHand.classOf(villainHoleCards));
+    }
+
+    /**
+     * Runouts per matchup the table was generated with, {@code 0} for exact enumeration.
+     */
+    public long getBoardsPerMatchup() {
+        return buffer.getLong(BOARDS_OFFSET);
+    }
+
+    static int offset(int hero, int villain) {
+        return DATA_OFFSET + (hero * StartingHand.CLASSES + villain) * Float.BYTES;
+    }
+
+    static void checkHeader(ByteBuffer buffer, Path path) throws IOException {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(VERSION_OFFSET) != VERSION
+                || buffer.getInt(CLASSES_OFFSET) != StartingHand.CLASSES) {
+            throw new IOException(String.format("%s is not a version %s preflop equity table", path, VERSION));
+        }
+    }
+}
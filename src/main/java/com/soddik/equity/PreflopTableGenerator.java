@@ -0,0 +1,159 @@
+package com.soddik.equity;
+
+import com.soddik.canonical.SuitCanonicalizer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Writes the {@link PreflopEquityTable} file.
+ * <p>
+ * Rows are computed one at a time: the equity of the row class against every class from the diagonal on is written
+ * with its complement to the mirrored cell, the file is forced to disk and only then the row is flagged done. An
+ * interrupted run resumes from the first row that is not done. Only a new or empty file is initialized, any other file
+ * that is not a table of the same boards per matchup is rejected. Every matchup is computed by the
+ * {@link EquityCalculator}, which spreads the boards of one matchup over its pool; combinations with the same
+ * {@link SuitCanonicalizer} class are computed once per class pair.
+ */
+public final class PreflopTableGenerator {
+    private static final Logger logger = Logger.getLogger(PreflopTableGenerator.class.getSimpleName());
+
+    private static final SuitCanonicalizer MATCHUPS = new SuitCanonicalizer(2, 2);
+
+    private final EquityCalculator calculator;
+    private final long boardsPerMatchup;
+
+    /**
+     * @param boardsPerMatchup Monte Carlo runouts per matchup, {@code 0} to enumerate every board
+     */
+    public PreflopTableGenerator(EquityCalculator calculator, long boardsPerMatchup) {
+        this.calculator = calculator;
+        this.boardsPerMatchup = boardsPerMatchup;
+    }
+
+    /**
+     * Usage: {@code <output> [boards per matchup]}.
+     */
+    public static void main(String[] args) throws IOException {
+        long boards = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        new PreflopTableGenerator(new EquityCalculator(), boards).generate(Path.of(args[0]));
+    }
+
+    /**
+     * Computes every row that is not done yet.
+     *
+     * @return amount of rows computed by this call
+     */
+    public int generate(Path path) throws IOException {
+        return generate(path, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Computes at most {@code maxRows} rows that are not done yet.
+     *
+     * @return amount of rows computed by this call
+     */
+    public int generate(Path path, int maxRows) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, CREATE, READ, WRITE)) {
+            // only a new file is initialized, anything else must be a table to resume
+            long size = channel.size();
+            if (size != 0 && size != PreflopEquityTable.FILE_SIZE) {
+                throw new IOException(String.format("%s has %s bytes, a preflop equity table has %s",
+                        path, size, PreflopEquityTable.FILE_SIZE));
+            }
+            MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_WRITE, 0, PreflopEquityTable.FILE_SIZE);
+            if (size == 0) {
+                initialize(table);
+            } else {
+                checkResume(table, path);
+            }
+
+            int computed = 0;
+            for (int row = 0; row < StartingHand.CLASSES && computed < maxRows; row++) {
+                if (table.get(PreflopEquityTable.ROWS_OFFSET + row) != 0) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                for (int column = row; column < StartingHand.CLASSES; column++) {
+                    float equity = row == column ? 0.5f : (float) classEquity(row, column);
+                    table.putFloat(PreflopEquityTable.offset(row, column), equity);
+                    table.putFloat(PreflopEquityTable.offset(column, row), 1 - equity);
+                }
+                table.force();
+                table.put(PreflopEquityTable.ROWS_OFFSET + row, (byte) 1);
+                table.force();
+                computed++;
+                logger.info(String.format("Row %s (%s) done in %.1f s", row, StartingHand.toString(row),
+                        (System.nanoTime() - start) / 1_000_000_000.0));
+            }
+
+            boolean complete = true;
+            for (int row = 0; row < StartingHand.CLASSES; row++) {
+                complete &= table.get(PreflopEquityTable.ROWS_OFFSET + row) != 0;
+            }
+            table.putInt(PreflopEquityTable.COMPLETE_OFFSET, complete ? 1 : 0);
+            table.force();
+            return computed;
+        }
+    }
+
+    /**
+     * Equity of {@code hero} against {@code villain} averaged over all their non-conflicting combinations.
+     */
+    double classEquity(int hero, int villain) {
+        long[] heroCombinations = new long[12];
+        long[] villainCombinations = new long[12];
+        int heroSize = StartingHand.combinations(hero, heroCombinations);
+        int villainSize = StartingHand.combinations(villain, villainCombinations);
+        Map<Long, Double> isomorphic = new HashMap<>();
+        double sum = 0;
+        int matchups = 0;
+        for (int first = 0; first < heroSize; first++) {
+            for (int second = 0; second < villainSize; second++) {
+                long heroCards = heroCombinations[first];
+                long villainCards = villainCombinations[second];
+                if ((heroCards & villainCards) != 0) {
+                    continue;
+                }
+                sum += isomorphic.computeIfAbsent(MATCHUPS.index(heroCards, villainCards),
+                        key -> matchupEquity(heroCards, villainCards));
+                matchups++;
+            }
+        }
+        return sum / matchups;
+    }
+
+    private double matchupEquity(long hero, long villain) {
+        long[] holeCards = {hero, villain};
+        EquityResult result = boardsPerMatchup == 0
+                ? calculator.exact(holeCards, 0, 0)
+                : calculator.monteCarlo(holeCards, 0, 0, boardsPerMatchup, 0);
+        return result.getEquity(0);
+    }
+
+    private void checkResume(ByteBuffer table, Path path) throws IOException {
+        PreflopEquityTable.checkHeader(table, path);
+        if (table.getLong(PreflopEquityTable.BOARDS_OFFSET) != boardsPerMatchup) {
+            throw new IOException(String.format("%s was generated with %s boards per matchup, not %s",
+                    path, table.getLong(PreflopEquityTable.BOARDS_OFFSET), boardsPerMatchup));
+        }
+    }
+
+    private void initialize(ByteBuffer table) {
+        for (int index = 0; index < PreflopEquityTable.DATA_OFFSET; index++) {
+            table.put(index, (byte) 0);
+        }
+        table.putInt(0, PreflopEquityTable.MAGIC);
+        table.putInt(PreflopEquityTable.VERSION_OFFSET, PreflopEquityTable.VERSION);
+        table.putInt(PreflopEquityTable.CLASSES_OFFSET, StartingHand.CLASSES);
+        table.putLong(PreflopEquityTable.BOARDS_OFFSET, boardsPerMatchup);
+    }
+}
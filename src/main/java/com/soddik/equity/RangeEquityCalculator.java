@@ -0,0 +1,202 @@
+package com.soddik.equity;
+
+import com.soddik.entity.Card;
+import com.soddik.evaluator.IncrementalEvaluator;
+import com.soddik.exception.CardAmountException;
+import com.soddik.exception.UniqueCardException;
+import com.soddik.generator.Deck;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Hold'em equity of one range against another, see {@link RangeParser} for the notation.
+ * <p>
+ * Boards are the outer loop: every board is shared by all matchups, so each combination is ranked once per board by
+ * {@link IncrementalEvaluator} from the state of the board instead of once per matchup, and is compared with the whole
+ * opposing range by {@link RangeTally}. {@link #exact} visits every board that completes the known cards, split by colex
+ * index across a {@link ForkJoinPool} like {@link EquityCalculator#exact}; {@link #monteCarlo} deals random boards in
+ * chunks, each with its own random stream drawn from the calculator seed, so results do not depend on scheduling.
+ */
+public final class RangeEquityCalculator {
+    private static final long ENUMERATION_THRESHOLD = 1 << 11;
+    private static final int CHUNK_BOARDS = 1 << 11;
+
+    private final ForkJoinPool pool;
+    private final long seed;
+    private final IncrementalEvaluator evaluator = IncrementalEvaluator.getInstance();
+
+    public RangeEquityCalculator() {
+        this(ForkJoinPool.commonPool(), System.nanoTime());
+    }
+
+    public RangeEquityCalculator(ForkJoinPool pool, long seed) {
+        this.pool = pool;
+        this.seed = seed;
+    }
+
+    /**
+     * Computes exact equities by enumerating every board that completes the known cards.
+     *
+     * @param board     packed board cards already dealt, 0 to 5
+     * @param deadCards packed cards that are neither on the board nor in a range
+     */
+    public RangeEquityResult exact(HandRange hero, HandRange villain, long board, long deadCards) {
+        long start = System.nanoTime();
+        HandRange[] ranges = checkSpot(hero, villain, board, deadCards);
+        int[] live = liveCards(board | deadCards);
+        int missing = EquityCalculator.BOARD_SIZE - Card.count(board);
+        RangeTally tally = pool.invoke(new Enumeration(new RangeTally.Matchup(ranges[0], ranges[1]), board, live,
+                missing, 0, Combinations.count(live.length, missing)));
+        return new RangeEquityResult(ranges, tally, true, System.nanoTime() - start);
+    }
+
+    /**
+     * Estimates equities on {@code boards} random runouts.
+     *
+     * @param board     packed board cards already dealt, 0 to 5
+     * @param deadCards packed cards that are neither on the board nor in a range
+     */
+    public RangeEquityResult monteCarlo(HandRange hero, HandRange villain, long board, long deadCards, long boards) {
+        long start = System.nanoTime();
+        if (boards < 1) {
+            throw new IllegalArgumentException(String.format("Unexpected amount of boards %s", boards));
+        }
+        HandRange[] ranges = checkSpot(hero, villain, board, deadCards);
+        if (Card.count(board) == EquityCalculator.BOARD_SIZE) {
+            return exact(hero, villain, board, deadCards);
+        }
+        int chunks = (int) ((boards + CHUNK_BOARDS - 1) / CHUNK_BOARDS);
+        long[] seeds = new long[chunks];
+        SplittableRandom master = new SplittableRandom(seed);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            seeds[chunk] = master.nextLong();
+        }
+        RangeTally tally = pool.invoke(new Sampling(new RangeTally.Matchup(ranges[0], ranges[1]), board, deadCards,
+                boards, seeds, 0, chunks));
+        return new RangeEquityResult(ranges, tally, false, System.nanoTime() - start);
+    }
+
+    /**
+     * Validates the spot and returns both ranges without the combinations blocked by the board and dead cards.
+     */
+    static HandRange[] checkSpot(HandRange hero, HandRange villain, long board, long deadCards) {
+        if (Card.count(board) > EquityCalculator.BOARD_SIZE || !Card.isValidMask(board | deadCards)) {
+            throw new CardAmountException(
+                    String.format("There must be at most 5 board cards, but there are %s", Card.count(board)));
+        }
+        if ((board & deadCards) != 0) {
+            throw new UniqueCardException("Dead cards cannot be on the board");
+        }
+        HandRange[] ranges = {hero.without(board | deadCards), villain.without(board | deadCards)};
+        if (ranges[0].size() == 0 || ranges[1].size() == 0) {
+            throw new IllegalArgumentException("Both ranges must keep a combination without the board and dead cards");
+        }
+        return ranges;
+    }
+
+    private static int[] liveCards(long known) {
+        int[] live = new int[Card.DECK_SIZE - Card.count(known)];
+        int size = 0;
+        for (int card = 0; card < Card.DECK_SIZE; card++) {
+            if ((known & Card.bit(card)) == 0) {
+                live[size++] = card;
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Ranks the boards with colex indexes {@code [from, to)}, splitting the range in halves down to
+     * {@link #ENUMERATION_THRESHOLD} boards.
+     */
+    private final class Enumeration extends RecursiveTask<RangeTally> {
+        private final RangeTally.Matchup matchup;
+        private final long board;
+        private final int[] live;
+        private final int missing;
+        private final long from;
+        private final long to;
+
+        private Enumeration(RangeTally.Matchup matchup, long board, int[] live, int missing, long from, long to) {
+            this.matchup = matchup;
+            this.board = board;
+            this.live = live;
+            this.missing = missing;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected RangeTally compute() {
+            if (to - from > ENUMERATION_THRESHOLD) {
+                long middle = (from + to) >>> 1;
+                Enumeration right = new Enumeration(matchup, board, live, missing, middle, to);
+                right.fork();
+                RangeTally tally = new Enumeration(matchup, board, live, missing, from, middle).compute();
+                tally.add(right.join());
+                return tally;
+            }
+
+            RangeTally tally = new RangeTally(matchup, evaluator);
+            int[] positions = new int[missing];
+            Combinations.unrank(from, positions);
+            for (long index = from; index < to; index++) {
+                long runout = 0;
+                for (int position : positions) {
+                    runout |= Card.bit(live[position]);
+                }
+                tally.showdown(board | runout);
+                Combinations.next(positions, live.length);
+            }
+            return tally;
+        }
+    }
+
+    /**
+     * Deals the random boards of chunks {@code [from, to)}.
+     */
+    private final class Sampling extends RecursiveTask<RangeTally> {
+        private final RangeTally.Matchup matchup;
+        private final long board;
+        private final long deadCards;
+        private final long boards;
+        private final long[] seeds;
+        private final int from;
+        private final int to;
+
+        private Sampling(RangeTally.Matchup matchup, long board, long deadCards, long boards, long[] seeds, int from,
+                         int to) {
+            this.matchup = matchup;
+            this.board = board;
+            this.deadCards = deadCards;
+            this.boards = boards;
+            this.seeds = seeds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected RangeTally compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                Sampling right = new Sampling(matchup, board, deadCards, boards, seeds, middle, to);
+                right.fork();
+                RangeTally tally = new Sampling(matchup, board, deadCards, boards, seeds, from, middle).compute();
+                tally.add(right.join());
+                return tally;
+            }
+
+            RangeTally tally = new RangeTally(matchup, evaluator);
+            Deck deck = new Deck(board | deadCards);
+            SplittableRandom random = new SplittableRandom(seeds[from]);
+            int missing = EquityCalculator.BOARD_SIZE - Card.count(board);
+            long chunkBoards = Math.min(CHUNK_BOARDS, boards - (long) from * CHUNK_BOARDS);
+            for (long index = 0; index < chunkBoards; index++) {
+                tally.showdown(board | deck.deal(missing, random));
+            }
+            return tally;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.soddik.equity;
+
+/**
+ * Equity of two ranges against each other, for every combination and for the whole range.
+ * <p>
+ * Every matchup of two combinations that share no card on a board counts with the product of their weights. A
+ * combination wins, ties or loses against the weight of the opposing combinations it meets, a tie is split evenly, so
+ * the equity of a combination is {@code (wins + ties / 2) / matchups} and the equity of a range weighs its
+ * combinations the same way. The equities of the two ranges add up to {@code 1}.
+ */
+public final class RangeEquityResult {
+    private final HandRange[] ranges;
+    private final double[][] wins;
+    private final double[][] ties;
+    private final double[][] matchups;
+    private final long boards;
+    private final boolean exact;
+    private final long nanos;
+
+    RangeEquityResult(HandRange[] ranges, RangeTally tally, boolean exact, long nanos) {
+        this.ranges = ranges;
+        this.wins = tally.wins;
+        this.ties = tally.ties;
+        this.matchups = tally.matchups;
+        this.boards = tally.boards;
+        this.exact = exact;
+        this.nanos = nanos;
+    }
+
+    /**
+     * The range of the player, {@code 0} or {@code 1}, without the combinations blocked by the board and dead cards.
+     */
+    public HandRange getRange(int player) {
+        return ranges[player];
+    }
+
+    public double getEquity(int player) {
+        double share = 0;
+        double total = 0;
+        for (int combo = 0; combo < matchups[player].length; combo++) {
+            double weight = ranges[player].getWeight(combo);
+            share += weight * (wins[player][combo] + ties[player][combo] / 2);
+            total += weight * matchups[player][combo];
+        }
+        return total == 0 ? 0 : share / total;
+    }
+
+    /**
+     * Equity of one combination of {@link #getRange(int)} against the opposing range.
+     */
+    public double getComboEquity(int player, int combo) {
+        double total = matchups[player][combo];
+        return total == 0 ? 0 : (wins[player][combo] + ties[player][combo] / 2) / total;
+    }
+
+    /**
+     * Opposing weight the combination met summed over the boards, {@code 0} when it never met any.
+     */
+    public double getMatchups(int player, int combo) {
+        return matchups[player][combo];
+    }
+
+    /**
+     * Amount of boards dealt or enumerated.
+     */
+    public long getBoards() {
+        return boards;
+    }
+
+    public boolean isExact() {
+        return exact;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RangeEquity[ Boards: %d%s, P1: %.4f (%d combos), P2: %.4f (%d combos), %.1f ms ]",
+                boards, exact ? " exact" : "", getEquity(0), ranges[0].size(), getEquity(1), ranges[1].size(),
+                nanos / 1e6);
+    }
+}
@@ -0,0 +1,175 @@
+package com.soddik.equity;
+
+import com.soddik.entity.Card;
+import com.soddik.exception.RangeFormatException;
+
+/**
+ * Expands range notation into a {@link HandRange}. The notation is a comma separated list of:
+ * <ul>
+ *     <li>classes: {@code AA}, {@code AKs}, {@code AKo}, or {@code AK} for both</li>
+ *     <li>a class and everything up to the top: {@code TT+} for the pairs from tens to aces, {@code ATs+} for the
+ *     suited aces with a ten to a king</li>
+ *     <li>a span of classes: {@code 22-55}, {@code A5s-A2s} with the same high card, {@code 76s-54s} with the same
+ *     gap</li>
+ *     <li>single combinations: {@code AsKh}</li>
+ * </ul>
+ * Any entry may end with {@code :weight}, e.g. {@code AKo:0.5}. An entry overrides the weight of the combinations
+ * listed before it.
+ */
+public final class RangeParser {
+    private static final int BOTH = 0;
+    private static final int SUITED = 1;
+    private static final int OFFSUIT = 2;
+
+    private RangeParser() {
+    }
+
+    public static HandRange parse(String notation) {
+        double[] weights = new double[HandRange.MAX_COMBOS];
+        if (!notation.isBlank()) {
+            for (String entry : notation.split(",")) {
+                parseEntry(entry.trim(), weights);
+            }
+        }
+        return HandRange.fromWeights(weights);
+    }
+
+    /**
+     * Parses the range and drops the combinations that share a card with the board or the dead cards.
+     */
+    public static HandRange parse(String notation, long board, long deadCards) {
+        return parse(notation).without(board | deadCards);
+    }
+
+    private static void parseEntry(String entry, double[] weights) {
+        double weight = 1;
+        String hands = entry;
+        int colon = entry.indexOf(':');
+        if (colon >= 0) {
+            hands = entry.substring(0, colon).trim();
+            weight = parseWeight(entry, entry.substring(colon + 1).trim());
+        }
+
+        int dash = hands.indexOf('-');
+        if (dash >= 0) {
+            int[] from = parseClass(entry, hands.substring(0, dash).trim());
+            int[] to = parseClass(entry, hands.substring(dash + 1).trim());
+            addSpan(entry, from, to, weight, weights);
+        } else if (hands.endsWith("+")) {
+            int[] from = parseClass(entry, hands.substring(0, hands.length() - 1));
+            int top = Card.VALUE_COUNT - 1;
+            int[] to = from[0] == from[1] ? new int[]{top, top, BOTH} : new int[]{from[0], from[0] - 1, from[2]};
+            addSpan(entry, from, to, weight, weights);
+        } else if (hands.length() == 4) {
+            int first = parseCard(entry, hands, 0);
+            int second = parseCard(entry, hands, 2);
+            if (first == second) {
+                throw new RangeFormatException(String.format("Unexpected range entry %s: the same card twice", entry));
+            }
+            weights[HandRange.index(Card.bit(first) | Card.bit(second))] = weight;
+        } else {
+            int[] hand = parseClass(entry, hands);
+            addClass(hand[0], hand[1], hand[2], weight, weights);
+        }
+    }
+
+    /**
+     * High and low value indexes and suitedness of a class like {@code AKs}.
+     */
+    private static int[] parseClass(String entry, String hand) {
+        if (hand.length() < 2 || hand.length() > 3) {
+            throw new RangeFormatException(String.format("Unexpected range entry %s", entry));
+        }
+        int first = valueIndex(entry, hand.charAt(0));
+        int second = valueIndex(entry, hand.charAt(1));
+        int suitedness = BOTH;
+        if (hand.length() == 3) {
+            char suffix = Character.toLowerCase(hand.charAt(2));
+            if (suffix != 's' && suffix != 'o' || first == second) {
+                throw new RangeFormatException(String.format("Unexpected range entry %s", entry));
+            }
+            suitedness = suffix == 's' ? SUITED : OFFSUIT;
+        }
+        return new int[]{Math.max(first, second), Math.min(first, second), suitedness};
+    }
+
+    /**
+     * Adds the classes from one to the other: pairs, the same high card or the same gap.
+     */
+    private static void addSpan(String entry, int[] from, int[] to, double weight, double[] weights) {
+        boolean pairs = from[0] == from[1] && to[0] == to[1];
+        if (pairs) {
+            for (int value = Math.min(from[0], to[0]); value <= Math.max(from[0], to[0]); value++) {
+                addClass(value, value, BOTH, weight, weights);
+            }
+            return;
+        }
+        if (from[0] == from[1] || to[0] == to[1] || from[2] != to[2]) {
+            throw new RangeFormatException(String.format("Unexpected range entry %s", entry));
+        }
+        if (from[0] == to[0]) {
+            for (int low = Math.min(from[1], to[1]); low <= Math.max(from[1], to[1]); low++) {
+                addClass(from[0], low, from[2], weight, weights);
+            }
+        } else if (from[0] - from[1] == to[0] - to[1]) {
+            int gap = from[0] - from[1];
+            for (int high = Math.min(from[0], to[0]); high <= Math.max(from[0], to[0]); high++) {
+                addClass(high, high - gap, from[2], weight, weights);
+            }
+        } else {
+            throw new RangeFormatException(
+                    String.format("Unexpected range entry %s: the ends need the same high card or gap", entry));
+        }
+    }
+
+    private static void addClass(int high, int low, int suitedness, double weight, double[] weights) {
+        long[] combos = new long[12];
+        if (high == low || suitedness != OFFSUIT) {
+            addCombos(combos, StartingHand.combinations(high * Card.VALUE_COUNT + low, combos), weight, weights);
+        }
+        if (high != low && suitedness != SUITED) {
+            addCombos(combos, StartingHand.combinations(low * Card.VALUE_COUNT + high, combos), weight, weights);
+        }
+    }
+
+    private static void addCombos(long[] combos, int size, double weight, double[] weights) {
+        for (int combo = 0; combo < size; combo++) {
+            weights[HandRange.index(combos[combo])] = weight;
+        }
+    }
+
+    private static double parseWeight(String entry, String weight) {
+        double value;
+        try {
+            value = Double.parseDouble(weight);
+        } catch (NumberFormatException e) {
+            value = Double.NaN;
+        }
+        if (!(value > 0 && value <= 1)) {
+            throw new RangeFormatException(
+                    String.format("Unexpected range entry %s: the weight must be above 0 and at most 1", entry));
+        }
+        return value;
+    }
+
+    private static int parseCard(String entry, String hand, int position) {
+        int valueIndex = valueIndex(entry, hand.charAt(position));
+        char kind = Character.toUpperCase(hand.charAt(position + 1));
+        for (int kindIndex = 0; kindIndex < Card.KIND_COUNT; kindIndex++) {
+            if (Card.kindSymbol(Card.MIN_KIND + kindIndex) == kind) {
+                return valueIndex << 2 | kindIndex;
+            }
+        }
+        throw new RangeFormatException(String.format("Unexpected range entry %s: unknown kind %s", entry, kind));
+    }
+
+    private static int valueIndex(String entry, char symbol) {
+        char upper = Character.toUpperCase(symbol);
+        for (int valueIndex = 0; valueIndex < Card.VALUE_COUNT; valueIndex++) {
+            if (Card.valueSymbol(Card.MIN_VALUE + valueIndex) == upper) {
+                return valueIndex;
+            }
+        }
+        throw new RangeFormatException(String.format("Unexpected range entry %s: unknown value %s", entry, symbol));
+    }
+}
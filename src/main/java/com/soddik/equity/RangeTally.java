@@ -0,0 +1,231 @@
+package com.soddik.equity;
+
+import com.soddik.entity.Card;
+import com.soddik.evaluator.IncrementalEvaluator;
+
+import java.util.Arrays;
+
+/**
+ * Per-task counters of two ranges over complete boards.
+ * <p>
+ * Every combination is ranked once per board and each range is sorted by rank with the running sum of its weights, so
+ * a combination meets the whole opposing range at once: walking both ranges in rank order gives the weight of the
+ * stronger, equal and weaker opposing combinations. The opposing combinations that share a card with it cannot be dealt
+ * with it and are taken back out the same way, from the opposing combinations holding each card, also in rank order;
+ * an opposing combination of the same two cards is in both lists and is added back once.
+ */
+final class RangeTally {
+    private static final int CONFLICT = 0;
+
+    private final Side[] sides;
+    private final IncrementalEvaluator evaluator;
+    /** Weighted wins, ties and matchups of every combination of both sides. */
+    final double[][] wins;
+    final double[][] ties;
+    final double[][] matchups;
+    private final Ranking[] rankings;
+    private final int[] stronger = new int[Card.DECK_SIZE];
+    private final int[] weaker = new int[Card.DECK_SIZE];
+    long boards;
+
+    RangeTally(Matchup matchup, IncrementalEvaluator evaluator) {
+        this.sides = new Side[]{matchup.hero, matchup.villain};
+        this.evaluator = evaluator;
+        this.wins = new double[2][];
+        this.ties = new double[2][];
+        this.matchups = new double[2][];
+        this.rankings = new Ranking[2];
+        for (int side = 0; side < 2; side++) {
+            int size = sides[side].combos.length;
+            wins[side] = new double[size];
+            ties[side] = new double[size];
+            matchups[side] = new double[size];
+            rankings[side] = new Ranking(size);
+        }
+    }
+
+    void showdown(long board) {
+        int state = evaluator.nextAll(IncrementalEvaluator.START, board);
+        rank(sides[0], board, state, rankings[0]);
+        rank(sides[1], board, state, rankings[1]);
+        credit(0, 1);
+        credit(1, 0);
+        boards++;
+    }
+
+    void add(RangeTally other) {
+        boards += other.boards;
+        for (int side = 0; side < 2; side++) {
+            for (int combo = 0; combo < wins[side].length; combo++) {
+                wins[side][combo] += other.wins[side][combo];
+                ties[side][combo] += other.ties[side][combo];
+                matchups[side][combo] += other.matchups[side][combo];
+            }
+        }
+    }
+
+    /**
+     * Ranks the combinations that miss the board, sorts them by rank and lists them by card in the same order, each
+     * with the running sum of the weights.
+     */
+    private void rank(Side side, long board, int state, Ranking ranking) {
+        int size = 0;
+        for (int combo = 0; combo < side.combos.length; combo++) {
+            long cards = side.combos[combo];
+            if ((cards & board) != 0) {
+                ranking.ranks[combo] = CONFLICT;
+                continue;
+            }
+            ranking.ranks[combo] = evaluator.rank(evaluator.nextAll(state, cards), cards | board);
+            ranking.sorted[size++] = (long) ranking.ranks[combo] << 32 | combo;
+        }
+        Arrays.sort(ranking.sorted, 0, size);
+        ranking.size = size;
+
+        System.arraycopy(side.cardStarts, 0, ranking.cardEnds, 0, Card.DECK_SIZE);
+        for (int position = 0; position < size; position++) {
+            int combo = (int) ranking.sorted[position];
+            double weight = side.weights[combo];
+            ranking.prefix[position + 1] = ranking.prefix[position] + weight;
+            for (int card : side.cards[combo]) {
+                int slot = ranking.cardEnds[card]++;
+                ranking.cardRanks[slot] = ranking.ranks[combo];
+                // every card has one more running sum than combinations, its first one stays zero
+                ranking.cardPrefix[slot + card + 1] = ranking.cardPrefix[slot + card] + weight;
+            }
+        }
+    }
+
+    /**
+     * Credits every ranked combination of side {@code own} with the opposing weight it beats, ties and meets on this
+     * board.
+     */
+    private void credit(int own, int other) {
+        Side ownSide = sides[own];
+        Side otherSide = sides[other];
+        Ranking ownRanking = rankings[own];
+        Ranking otherRanking = rankings[other];
+        System.arraycopy(otherSide.cardStarts, 0, stronger, 0, Card.DECK_SIZE);
+        System.arraycopy(otherSide.cardStarts, 0, weaker, 0, Card.DECK_SIZE);
+        int strongerEnd = 0;
+        int weakerEnd = 0;
+        for (int position = 0; position < ownRanking.size; position++) {
+            int combo = (int) ownRanking.sorted[position];
+            int rank = ownRanking.ranks[combo];
+            long key = (long) rank << 32;
+            long nextKey = (long) (rank + 1) << 32;
+            while (strongerEnd < otherRanking.size && otherRanking.sorted[strongerEnd] < key) {
+                strongerEnd++;
+            }
+            weakerEnd = Math.max(weakerEnd, strongerEnd);
+            while (weakerEnd < otherRanking.size && otherRanking.sorted[weakerEnd] < nextKey) {
+                weakerEnd++;
+            }
+            double better = otherRanking.prefix[strongerEnd];
+            double equal = otherRanking.prefix[weakerEnd] - better;
+            double all = otherRanking.prefix[otherRanking.size];
+
+            for (int card : ownSide.cards[combo]) {
+                int end = otherRanking.cardEnds[card];
+                int strongerSlot = stronger[card];
+                while (strongerSlot < end && otherRanking.cardRanks[strongerSlot] < rank) {
+                    strongerSlot++;
+                }
+                int weakerSlot = Math.max(weaker[card], strongerSlot);
+                while (weakerSlot < end && otherRanking.cardRanks[weakerSlot] == rank) {
+                    weakerSlot++;
+                }
+                stronger[card] = strongerSlot;
+                weaker[card] = weakerSlot;
+                double removedBetter = otherRanking.cardPrefix[strongerSlot + card];
+                better -= removedBetter;
+                equal -= otherRanking.cardPrefix[weakerSlot + card] - removedBetter;
+                all -= otherRanking.cardPrefix[end + card];
+            }
+            int twin = ownSide.twins[combo];
+            if (twin >= 0) {
+                // the same two cards miss the board as well, so the twin is ranked equal and was taken out twice
+                equal += otherSide.weights[twin];
+                all += otherSide.weights[twin];
+            }
+            wins[own][combo] += all - better - equal;
+            ties[own][combo] += equal;
+            matchups[own][combo] += all;
+        }
+    }
+
+    /**
+     * The combinations of one range with their card codes, and where the combinations of each card start in the lists
+     * by card.
+     */
+    static final class Side {
+        final long[] combos;
+        final double[] weights;
+        final int[][] cards;
+        final int[] cardStarts = new int[Card.DECK_SIZE];
+        /** Index of the combination of the same two cards in the opposing range, {@code -1} when there is none. */
+        final int[] twins;
+
+        private Side(HandRange range, HandRange opposing) {
+            combos = new long[range.size()];
+            weights = new double[range.size()];
+            cards = new int[range.size()][];
+            twins = new int[range.size()];
+            int[] opposingIndexes = new int[HandRange.MAX_COMBOS];
+            Arrays.fill(opposingIndexes, -1);
+            for (int combo = 0; combo < opposing.size(); combo++) {
+                opposingIndexes[HandRange.index(opposing.getCombo(combo))] = combo;
+            }
+            int[] counts = new int[Card.DECK_SIZE];
+            for (int combo = 0; combo < combos.length; combo++) {
+                combos[combo] = range.getCombo(combo);
+                weights[combo] = range.getWeight(combo);
+                twins[combo] = opposingIndexes[HandRange.index(combos[combo])];
+                cards[combo] = new int[]{Card.fromBitIndex(Long.numberOfTrailingZeros(combos[combo])),
+                        Card.fromBitIndex(63 - Long.numberOfLeadingZeros(combos[combo]))};
+                counts[cards[combo][0]]++;
+                counts[cards[combo][1]]++;
+            }
+            for (int card = 1; card < Card.DECK_SIZE; card++) {
+                cardStarts[card] = cardStarts[card - 1] + counts[card - 1];
+            }
+        }
+    }
+
+    /**
+     * Both ranges, shared by all tasks.
+     */
+    static final class Matchup {
+        final Side hero;
+        final Side villain;
+
+        Matchup(HandRange hero, HandRange villain) {
+            this.hero = new Side(hero, villain);
+            this.villain = new Side(villain, hero);
+        }
+    }
+
+    /**
+     * Ranks of one side on the current board.
+     */
+    private static final class Ranking {
+        final int[] ranks;
+        /** Rank and index of the ranked combinations, ascending. */
+        final long[] sorted;
+        final double[] prefix;
+        /** Ranks of the combinations holding each card in rank order, from the card start of the side. */
+        final int[] cardRanks;
+        /** Running weights of {@link #cardRanks}, shifted by the card code so every card starts with a zero. */
+        final double[] cardPrefix;
+        final int[] cardEnds = new int[Card.DECK_SIZE];
+        int size;
+
+        private Ranking(int combos) {
+            ranks = new int[combos];
+            sorted = new long[combos];
+            prefix = new double[combos + 1];
+            cardRanks = new int[2 * combos];
+            cardPrefix = new double[2 * combos + Card.DECK_SIZE];
+        }
+    }
+}
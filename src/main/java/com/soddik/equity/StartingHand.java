@@ -0,0 +1,76 @@
+package com.soddik.equity;
+
+import com.soddik.entity.Card;
+import com.soddik.exception.CardAmountException;
+
+/**
+ * The 169 classes of two hole cards laid out as the usual 13x13 grid: pairs on the diagonal, suited hands at
+ * {@code high * 13 + low} and offsuit hands at {@code low * 13 + high}, where {@code high} and {@code low} are value
+ * indexes (0 for a two, 12 for an ace).
+ */
+public final class StartingHand {
+    public static final int CLASSES = Card.VALUE_COUNT * Card.VALUE_COUNT;
+
+    private StartingHand() {
+    }
+
+    /**
+     * Class of two packed hole cards.
+     */
+    public static int classOf(long holeCards) {
+        if (Card.count(holeCards) != 2) {
+            throw new CardAmountException(
+                    String.format("There must be exactly 2 hole cards, but there are %s", Card.count(holeCards)));
+        }
+        int first = Card.fromBitIndex(Long.numberOfTrailingZeros(holeCards));
+        int second = Card.fromBitIndex(63 - Long.numberOfLeadingZeros(holeCards));
+        int high = Math.max(Card.valueIndex(first), Card.valueIndex(second));
+        int low = Math.min(Card.valueIndex(first), Card.valueIndex(second));
+        boolean suited = Card.kindIndex(first) == Card.kindIndex(second);
+        return suited ? high * Card.VALUE_COUNT + low : low * Card.VALUE_COUNT + high;
+    }
+
+    public static boolean isPair(int startingHand) {
+        return startingHand / Card.VALUE_COUNT == startingHand % Card.VALUE_COUNT;
+    }
+
+    public static boolean isSuited(int startingHand) {
+        return startingHand / Card.VALUE_COUNT > startingHand % Card.VALUE_COUNT;
+    }
+
+    /**
+     * Amount of hole card combinations of the class: 6 for a pair, 4 suited, 12 offsuit.
+     */
+    public static int combinations(int startingHand) {
+        return isPair(startingHand) ? 6 : isSuited(startingHand) ? 4 : 12;
+    }
+
+    /**
+     * Writes the packed hole cards of every combination of the class into {@code target} and returns their amount.
+     */
+    public static int combinations(int startingHand, long[] target) {
+        int high = Math.max(startingHand / Card.VALUE_COUNT, startingHand % Card.VALUE_COUNT);
+        int low = Math.min(startingHand / Card.VALUE_COUNT, startingHand % Card.VALUE_COUNT);
+        int size = 0;
+        for (int firstKind = 0; firstKind < Card.KIND_COUNT; firstKind++) {
+            for (int secondKind = 0; secondKind < Card.KIND_COUNT; secondKind++) {
+                boolean matches = isPair(startingHand) ? firstKind < secondKind
+                        : isSuited(startingHand) == (firstKind == secondKind);
+                if (matches) {
+                    target[size++] = Card.bit(high << 2 | firstKind) | Card.bit(low << 2 | secondKind);
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Name of the class, e.g. {@code "AA"}, {@code "AKs"} or {@code "T9o"}.
+     */
+    public static String toString(int startingHand) {
+        int high = Math.max(startingHand / Card.VALUE_COUNT, startingHand % Card.VALUE_COUNT);
+        int low = Math.min(startingHand / Card.VALUE_COUNT, startingHand % Card.VALUE_COUNT);
+        String values = String.valueOf(Card.valueSymbol(high + Card.MIN_VALUE)) + Card.valueSymbol(low + Card.MIN_VALUE);
+        return isPair(startingHand) ? values : values + (isSuited(startingHand) ? "s" : "o");
+    }
+}
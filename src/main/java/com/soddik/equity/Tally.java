@@ -0,0 +1,71 @@
+package com.soddik.equity;
+
+import com.soddik.evaluator.SevenCardEvaluator;
+
+/**
+ * Per-worker counters of showdowns. Workers never share a tally, tallies are merged once their work is done.
+ */
+final class Tally {
+    final long[] wins;
+    final long[] ties;
+    final double[] tieShares;
+    final double[] shareSquares;
+    private final int[] ranks;
+    long boards;
+
+    Tally(int players) {
+        this.wins = new long[players];
+        this.ties = new long[players];
+        this.tieShares = new double[players];
+        this.shareSquares = new double[players];
+        this.ranks = new int[players];
+    }
+
+    /**
+     * Ranks every player's hole cards with the complete board and credits the winners.
+     */
+    void showdown(long[] holeCards, long board, long weight) {
+        int best = Integer.MAX_VALUE;
+        int winners = 0;
+        for (int player = 0; player < holeCards.length; player++) {
+            int rank = SevenCardEvaluator.evaluate(holeCards[player] | board);
+            ranks[player] = rank;
+            if (rank < best) {
+                best = rank;
+                winners = 1;
+            } else if (rank == best) {
+                winners++;
+            }
+        }
+        boards += weight;
+        double share = 1.0 / winners;
+        for (int player = 0; player < holeCards.length; player++) {
+            if (ranks[player] != best) {
+                continue;
+            }
+            if (winners == 1) {
+                wins[player] += weight;
+                shareSquares[player] += weight;
+            } else {
+                ties[player] += weight;
+                tieShares[player] += share * weight;
+                shareSquares[player] += share * share * weight;
+            }
+        }
+    }
+
+    void add(Tally other) {
+        boards += other.boards;
+        for (int player = 0; player < wins.length; player++) {
+            wins[player] += other.wins[player];
+            ties[player] += other.ties[player];
+            tieShares[player] += other.tieShares[player];
+            shareSquares[player] += other.shareSquares[player];
+        }
+    }
+
+    EquityResult toResult(long nanos, boolean exact) {
+        return new EquityResult(boards, wins.clone(), ties.clone(), tieShares.clone(),
+                exact ? null : shareSquares.clone(), nanos);
+    }
+}
@@ -0,0 +1,85 @@
+package com.soddik.evaluator;
+
+import java.util.logging.Logger;
+
+/**
+ * Ranks a column of packed five card hands, the same ranks as {@link HandEvaluator#evaluate(long)}.
+ * <p>
+ * When the runtime is started with {@code --add-modules=jdk.incubator.vector}, whole blocks of hands are ranked by a
+ * Vector API kernel without branches, several hands per instruction; the hands left over after the last block and
+ * runtimes without the module go through {@link HandEvaluator} one at a time. Setting the property
+ * {@value #PROPERTY} to {@code false} keeps the scalar path.
+ */
+public final class BatchHandEvaluator {
+    public static final String PROPERTY = "com.soddik.vector";
+
+    private static final Logger logger = Logger.getLogger(BatchHandEvaluator.class.getSimpleName());
+    private static final int LANES = vectorLanes();
+
+    private BatchHandEvaluator() {
+    }
+
+    /**
+     * Whether the Vector API kernel is used.
+     */
+    public static boolean isVectorized() {
+        return LANES > 1;
+    }
+
+    public static int[] evaluate(long[] cards) {
+        int[] ranks = new int[cards.length];
+        evaluate(cards, 0, cards.length, ranks);
+        return ranks;
+    }
+
+    /**
+     * Writes the rank of every hand of {@code cards[from, to)} to {@code ranks} at the same index.
+     */
+    public static void evaluate(long[] cards, int from, int to, int[] ranks) {
+        checkRange(cards, from, to, ranks);
+        int blocksEnd = from + (to - from) / LANES * LANES;
+        if (LANES > 1 && blocksEnd > from) {
+            int invalid = VectorHandEvaluator.evaluate(cards, from, blocksEnd, ranks);
+            if (invalid >= 0) {
+                // ranks the block again one by one for the exception of the first invalid hand
+                evaluateScalar(cards, invalid, invalid + LANES, ranks);
+            }
+            from = blocksEnd;
+        }
+        evaluateScalar(cards, from, to, ranks);
+    }
+
+    /**
+     * Ranks every hand with {@link HandEvaluator#evaluate(long)}, whether the kernel is available or not.
+     */
+    public static void evaluateScalar(long[] cards, int from, int to, int[] ranks) {
+        checkRange(cards, from, to, ranks);
+        for (int hand = from; hand < to; hand++) {
+            ranks[hand] = HandEvaluator.evaluate(cards[hand]);
+        }
+    }
+
+    private static void checkRange(long[] cards, int from, int to, int[] ranks) {
+        if (from < 0 || from > to || to > cards.length || to > ranks.length) {
+            throw new IndexOutOfBoundsException(String.format("Hands %s to %s of %s with %s ranks",
+                    from, to, cards.length, ranks.length));
+        }
+    }
+
+    /**
+     * Lanes of the kernel, {@code 1} when the scalar path is used. The kernel class is only touched once the module is
+     * known to be present, so runtimes without it never try to load it.
+     */
+    private static int vectorLanes() {
+        if (!Boolean.parseBoolean(System.getProperty(PROPERTY, "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return 1;
+        }
+        try {
+            return VectorHandEvaluator.LANES;
+        } catch (LinkageError | RuntimeException e) {
+            logger.info(String.format("Vector API is not usable, hands are ranked one at a time: %s", e));
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.soddik.evaluator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Generated evaluator tables embedded as class path resources, so that the first evaluation of a short-lived JVM reads
+ * them instead of generating them.
+ * <p>
+ * The build runs {@link #main} in a forked JVM after compiling and writes {@value #HAND}, {@value #OMAHA} and
+ * {@value #INCREMENTAL} next to the classes. Every resource has a {@value #HEADER_SIZE} byte header: magic
+ * {@code "THET"}, version, length and CRC-32 of the table. A table is read in one bulk read when its class is first
+ * used; a missing resource, another version or a wrong checksum is logged and the table is generated as before.
+ * Setting the property {@value #PROPERTY} to {@code false} always generates them.
+ */
+public final class EvaluatorTables {
+    public static final String PROPERTY = "com.soddik.tables";
+    public static final int MAGIC = 0x54484554;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+
+    public static final String HAND = "hand.tables";
+    public static final String OMAHA = "omaha.tables";
+    public static final String INCREMENTAL = "incremental.tables";
+
+    private EvaluatorTables() {
+    }
+
+    /**
+     * Usage: {@code <output directory>}, generates every table and writes it to the directory. The build runs it in its
+     * own JVM with {@value #PROPERTY} {@code false}, so that tables embedded by an earlier build are not read back.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: <output directory>");
+        }
+        Path directory = Path.of(args[0]);
+        Files.createDirectories(directory);
+        write(directory.resolve(HAND), HandEvaluator.tables());
+        write(directory.resolve(OMAHA), OmahaEvaluator.tables());
+        write(directory.resolve(INCREMENTAL), IncrementalEvaluator.generate().toBuffer());
+    }
+
+    /**
+     * Writes the table from its position to its limit with the header.
+     */
+    public static void write(Path path, ByteBuffer table) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(table.remaining()).putInt(checksum(table)).flip();
+        try (FileChannel channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            ByteBuffer[] buffers = {header, table.duplicate()};
+            while (buffers[1].hasRemaining()) {
+                channel.write(buffers);
+            }
+        }
+        logger().info(String.format("Wrote %s, %d bytes with checksum %08x", path, table.remaining(), checksum(table)));
+    }
+
+    /**
+     * The embedded table, {@code null} when it is disabled, missing or invalid and has to be generated.
+     */
+    static ByteBuffer read(String name) {
+        if (!Boolean.parseBoolean(System.getProperty(PROPERTY, "true"))) {
+            return null;
+        }
+        try (InputStream input = EvaluatorTables.class.getResourceAsStream(name)) {
+            if (input == null) {
+                logger().info(String.format("%s is not embedded, generating it", name));
+                return null;
+            }
+            return check(input.readAllBytes(), name);
+        } catch (IOException e) {
+            warnGenerating(e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The embedded table of a fixed length, {@code null} when it has to be generated.
+     */
+    static ByteBuffer read(String name, int length) {
+        ByteBuffer table = read(name);
+        if (table != null && table.remaining() != length) {
+            warnGenerating(String.format("%s has %s bytes, expected %s", name, table.remaining(), length));
+            return null;
+        }
+        return table;
+    }
+
+    /**
+     * Validates the header and returns the table after it.
+     */
+    static ByteBuffer check(byte[] bytes, String name) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException(String.format("%s is not an evaluator table", name));
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException(String.format("%s has version %s, expected %s", name, buffer.getInt(4), VERSION));
+        }
+        if (buffer.getInt(8) != bytes.length - HEADER_SIZE) {
+            throw new IOException(String.format("%s has %s bytes, expected %s",
+                    name, bytes.length - HEADER_SIZE, buffer.getInt(8)));
+        }
+        ByteBuffer table = buffer.position(HEADER_SIZE).slice();
+        if (checksum(table) != buffer.getInt(12)) {
+            throw new IOException(String.format("%s has a wrong checksum", name));
+        }
+        return table;
+    }
+
+    static void warnGenerating(String reason) {
+        logger().warning(String.format("%s, generating it", reason));
+    }
+
+    /**
+     * Looked up when something is logged, so that reading the tables does not start the logging framework.
+     */
+    private static Logger logger() {
+        return Logger.getLogger(EvaluatorTables.class.getSimpleName());
+    }
+
+    private static int checksum(ByteBuffer table) {
+        CRC32 crc = new CRC32();
+        crc.update(table.duplicate());
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,315 @@
+package com.soddik.evaluator;
+
+import com.soddik.entity.Card;
+import com.soddik.entity.Combination;
+import com.soddik.exception.CardAmountException;
+import com.soddik.exception.UnexpectedCardAttributeValueException;
+
+import java.nio.ByteBuffer;
+
+import static com.soddik.entity.Combination.*;
+
+/**
+ * Table-driven five card evaluator.
+ * <p>
+ * Every hand maps to one of the 7462 equivalence classes: rank {@code 1} is the royal flush and rank {@link #WORST_RANK}
+ * is 7-5-4-3-2 offsuit, so a lower rank is a stronger hand. Hands with five different values take a single lookup in a
+ * table indexed by the 13-bit value mask, paired hands are ranked arithmetically from the masks of values present in at
+ * least two, three and four kinds. The tables take 94,659 bytes, about 95 KB, and are read from the resource embedded
+ * by {@link EvaluatorTables} at class initialization or built when it is missing.
+ */
+public final class HandEvaluator {
+    public static final int BEST_RANK = 1;
+    public static final int WORST_RANK = 7462;
+
+    static final int STRAIGHT_FLUSH_OFFSET = 1;
+    static final int FOUR_OF_A_KIND_OFFSET = 11;
+    static final int FULL_HOUSE_OFFSET = 167;
+    static final int FLUSH_OFFSET = 323;
+    static final int STRAIGHT_OFFSET = 1600;
+    static final int THREE_OF_A_KIND_OFFSET = 1610;
+    static final int TWO_PAIRS_OFFSET = 2468;
+    static final int PAIR_OFFSET = 3326;
+    static final int HIGH_CARD_OFFSET = 6186;
+
+    private static final int WHEEL = 0x100F;
+    private static final int MASKS = 1 << Card.VALUE_COUNT;
+
+    /** Best straight in a value mask as the index of its top value, {@code -1} when there is none. */
+    static final byte[] STRAIGHT_TOP = new byte[MASKS];
+    /** Position of a value mask among the masks with the same amount of values, in ascending order. */
+    static final short[] COLEX = new short[MASKS];
+    /** Rank of five suited values. */
+    static final short[] FLUSHES = new short[MASKS];
+    /** Rank of five different values in more than one kind. */
+    static final short[] UNIQUE = new short[MASKS];
+    /** Values of the five cards of every rank, 4 bits each, the most significant card in the highest nibble. */
+    private static final int[] SHAPES = new int[WORST_RANK + 1];
+    private static final Combination[] COMBINATIONS = new Combination[WORST_RANK + 1];
+    private static final int TABLES_SIZE = MASKS * (Byte.BYTES + 3 * Short.BYTES)
+            + (WORST_RANK + 1) * (Integer.BYTES + Byte.BYTES);
+
+    static {
+        ByteBuffer tables = EvaluatorTables.read(EvaluatorTables.HAND, TABLES_SIZE);
+        if (tables != null) {
+            load(tables);
+        } else {
+            generate();
+        }
+    }
+
+    private HandEvaluator() {
+    }
+
+    private static void generate() {
+        int[] colexCounters = new int[Card.VALUE_COUNT + 1];
+        for (int mask = 0; mask < MASKS; mask++) {
+            COLEX[mask] = (short) colexCounters[Integer.bitCount(mask)]++;
+            STRAIGHT_TOP[mask] = -1;
+            for (int top = Card.VALUE_COUNT - 1; top >= 4; top--) {
+                int straight = 0x1F << (top - 4);
+                if ((mask & straight) == straight) {
+                    STRAIGHT_TOP[mask] = (byte) top;
+                    break;
+                }
+            }
+            if (STRAIGHT_TOP[mask] < 0 && (mask & WHEEL) == WHEEL) {
+                STRAIGHT_TOP[mask] = 3;
+            }
+        }
+
+        int order = 0;
+        for (int mask = MASKS - 1; mask >= 0; mask--) {
+            if (Integer.bitCount(mask) != 5) {
+                continue;
+            }
+            int top = STRAIGHT_TOP[mask];
+            if (top >= 0) {
+                FLUSHES[mask] = (short) straightFlush(top);
+                UNIQUE[mask] = (short) straight(top);
+            } else {
+                FLUSHES[mask] = (short) (FLUSH_OFFSET + order);
+                UNIQUE[mask] = (short) (HIGH_CARD_OFFSET + order);
+                order++;
+            }
+            describe(FLUSHES[mask], top >= 0 ? (top == 12 ? ROYAL_FLUSH : STRAIGHT_FLUSH) : FLUSH, straightOrValues(mask));
+            describe(UNIQUE[mask], top >= 0 ? STRAIGHT : HIGH_CARD, straightOrValues(mask));
+        }
+
+        for (int value = 0; value < Card.VALUE_COUNT; value++) {
+            for (int rest = 0; rest < MASKS; rest++) {
+                if ((rest & 1 << value) != 0) {
+                    continue;
+                }
+                switch (Integer.bitCount(rest)) {
+                    case 1 -> {
+                        describe(fourOfAKind(value, index(rest)), FOUR_OF_A_KIND, repeat(value, 4) << 4 | values(rest));
+                        describe(fullHouse(value, index(rest)), FULL_HOUSE, repeat(value, 3) << 8 | repeat(index(rest), 2));
+                    }
+                    case 2 -> describe(threeOfAKind(value, rest), THREE_OF_A_KIND, repeat(value, 3) << 8 | values(rest));
+                    case 3 -> describe(pair(value, rest), PAIR, repeat(value, 2) << 12 | values(rest));
+                    default -> {
+                    }
+                }
+            }
+        }
+        for (int pairs = 0; pairs < MASKS; pairs++) {
+            if (Integer.bitCount(pairs) != 2) {
+                continue;
+            }
+            for (int kicker = 0; kicker < Card.VALUE_COUNT; kicker++) {
+                if ((pairs & 1 << kicker) == 0) {
+                    describe(twoPairs(pairs, 1 << kicker), TWO_PAIRS, repeat(index(pairs), 2) << 12
+                            | repeat(Integer.numberOfTrailingZeros(pairs), 2) << 4 | (kicker + Card.MIN_VALUE));
+                }
+            }
+        }
+    }
+
+    /**
+     * The tables in the order {@link #load} reads them, {@code -1} for the combination of the unused rank {@code 0}.
+     */
+    static ByteBuffer tables() {
+        ByteBuffer tables = ByteBuffer.allocate(TABLES_SIZE);
+        tables.put(STRAIGHT_TOP);
+        tables.asShortBuffer().put(COLEX).put(FLUSHES).put(UNIQUE);
+        tables.position(tables.position() + 3 * MASKS * Short.BYTES);
+        tables.asIntBuffer().put(SHAPES);
+        tables.position(tables.position() + SHAPES.length * Integer.BYTES);
+        for (Combination combination : COMBINATIONS) {
+            tables.put((byte) (combination == null ? -1 : combination.ordinal()));
+        }
+        return tables.flip();
+    }
+
+    private static void load(ByteBuffer tables) {
+        tables.get(STRAIGHT_TOP);
+        tables.asShortBuffer().get(COLEX).get(FLUSHES).get(UNIQUE);
+        tables.position(tables.position() + 3 * MASKS * Short.BYTES);
+        tables.asIntBuffer().get(SHAPES);
+        tables.position(tables.position() + SHAPES.length * Integer.BYTES);
+        Combination[] combinations = Combination.values();
+        for (int rank = 0; rank < COMBINATIONS.length; rank++) {
+            byte ordinal = tables.get();
+            COMBINATIONS[rank] = ordinal < 0 ? null : combinations[ordinal];
+        }
+    }
+
+    /**
+     * Ranks a packed five card hand, see {@link Card} for the mask layout.
+     */
+    public static int evaluate(long cards) {
+        if (Card.count(cards) != 5) {
+            throw new CardAmountException(
+                    String.format("There must be exactly 5 cards in the hand, but there are %s", Card.count(cards)));
+        }
+        if (!Card.isValidMask(cards)) {
+            throw new UnexpectedCardAttributeValueException(
+                    String.format("Unexpected card mask %s", Long.toHexString(cards)));
+        }
+        return evaluateUnchecked(cards);
+    }
+
+    /**
+     * Ranks five different card codes.
+     */
+    public static int evaluate(int first, int second, int third, int fourth, int fifth) {
+        return evaluateUnchecked(Card.bit(first) | Card.bit(second) | Card.bit(third) | Card.bit(fourth) | Card.bit(fifth));
+    }
+
+    /**
+     * Ranks a mask known to hold exactly five cards.
+     */
+    static int evaluateUnchecked(long cards) {
+        int s = (int) cards & Card.LANE_MASK;
+        int h = (int) (cards >>> 16) & Card.LANE_MASK;
+        int d = (int) (cards >>> 32) & Card.LANE_MASK;
+        int c = (int) (cards >>> 48) & Card.LANE_MASK;
+        int values = s | h | d | c;
+        if (Integer.bitCount(values) == 5) {
+            return s == values || h == values || d == values || c == values ? FLUSHES[values] : UNIQUE[values];
+        }
+
+        int four = s & h & d & c;
+        if (four != 0) {
+            return fourOfAKind(index(four), index(values ^ four));
+        }
+        int two = (s & h) | (s & d) | (s & c) | (h & d) | (h & c) | (d & c);
+        int three = (s & h & d) | (s & h & c) | (s & d & c) | (h & d & c);
+        if (three != 0) {
+            return two != three ? fullHouse(index(three), index(two ^ three)) : threeOfAKind(index(three), values ^ three);
+        }
+        return Integer.bitCount(two) == 2 ? twoPairs(two, values ^ two) : pair(index(two), values ^ two);
+    }
+
+    public static Combination combination(int rank) {
+        return COMBINATIONS[rank];
+    }
+
+    /**
+     * Value (2..14) that defines the combination: the top card of a straight, the value of the four, of the three in a
+     * full house, of the higher pair or the highest card.
+     */
+    public static int combinationValue(int rank) {
+        return SHAPES[rank] >>> 16;
+    }
+
+    /**
+     * Values (2..14) of the five cards of the rank, the most significant first: the four, three or pairs, then kickers.
+     */
+    public static int cardValue(int rank, int position) {
+        return SHAPES[rank] >>> ((4 - position) << 2) & 0xF;
+    }
+
+    static int straightFlush(int top) {
+        return STRAIGHT_FLUSH_OFFSET + (Card.VALUE_COUNT - 1 - top);
+    }
+
+    static int fourOfAKind(int four, int kicker) {
+        return FOUR_OF_A_KIND_OFFSET + (Card.VALUE_COUNT - 1 - four) * 12 + (11 - skip(kicker, four));
+    }
+
+    static int fullHouse(int three, int pair) {
+        return FULL_HOUSE_OFFSET + (Card.VALUE_COUNT - 1 - three) * 12 + (11 - skip(pair, three));
+    }
+
+    static int flush(int values) {
+        return FLUSHES[values];
+    }
+
+    static int straight(int top) {
+        return STRAIGHT_OFFSET + (Card.VALUE_COUNT - 1 - top);
+    }
+
+    /**
+     * @param kickers mask of exactly two values
+     */
+    static int threeOfAKind(int three, int kickers) {
+        return THREE_OF_A_KIND_OFFSET + (Card.VALUE_COUNT - 1 - three) * 66 + (65 - COLEX[remove(kickers, three)]);
+    }
+
+    /**
+     * @param pairs mask of exactly two values
+     */
+    static int twoPairs(int pairs, int kicker) {
+        int kickerIndex = index(kicker);
+        int skipped = kickerIndex - Integer.bitCount(pairs & ((1 << kickerIndex) - 1));
+        return TWO_PAIRS_OFFSET + (77 - COLEX[pairs]) * 11 + (10 - skipped);
+    }
+
+    /**
+     * @param kickers mask of exactly three values
+     */
+    static int pair(int pair, int kickers) {
+        return PAIR_OFFSET + (Card.VALUE_COUNT - 1 - pair) * 220 + (219 - COLEX[remove(kickers, pair)]);
+    }
+
+    static int highCard(int values) {
+        return UNIQUE[values];
+    }
+
+    static int index(int value) {
+        return 31 - Integer.numberOfLeadingZeros(value);
+    }
+
+    private static int skip(int value, int skipped) {
+        return value > skipped ? value - 1 : value;
+    }
+
+    /**
+     * Drops bit {@code index} from the mask, shifting the higher bits down.
+     */
+    private static int remove(int mask, int index) {
+        return (mask & ((1 << index) - 1)) | (mask >>> (index + 1)) << index;
+    }
+
+    private static void describe(int rank, Combination combination, int shape) {
+        COMBINATIONS[rank] = combination;
+        SHAPES[rank] = shape;
+    }
+
+    private static int repeat(int index, int times) {
+        int result = 0;
+        for (int time = 0; time < times; time++) {
+            result = result << 4 | (index + Card.MIN_VALUE);
+        }
+        return result;
+    }
+
+    /**
+     * Nibbles of the values in the mask, the highest first.
+     */
+    private static int values(int mask) {
+        int result = 0;
+        for (int index = Card.VALUE_COUNT - 1; index >= 0; index--) {
+            if ((mask & 1 << index) != 0) {
+                result = result << 4 | (index + Card.MIN_VALUE);
+            }
+        }
+        return result;
+    }
+
+    private static int straightOrValues(int mask) {
+        return mask == WHEEL ? 0x5432E : values(mask);
+    }
+}
@@ -0,0 +1,268 @@
+package com.soddik.evaluator;
+
+import com.soddik.entity.Card;
+import com.soddik.exception.CardAmountException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Ranks up to seven cards one card at a time through a table of states, so the cards shared by many hands, like the
+ * hole cards and the flop of every runout, are only dealt once.
+ * <p>
+ * A state is the set of values dealt so far, at most seven with at most four of each, and a card moves it to the state
+ * with its value added: one load per card. Every state of five to seven values holds the rank of the best hand of those
+ * values in more than one kind. Kinds only matter for flushes, which {@link #rank(int, long)} checks on the packed
+ * cards: with at most seven cards a flush beats every hand without one. All 76 155 states are reached from {@value #START}, a
+ * card that cannot be added leads to {@code -1}.
+ * <p>
+ * The table is generated in about 200 milliseconds and takes 4.1 MB; {@link #save} and {@link #load} keep it in a
+ * file with a {@value #HEADER_SIZE} byte header: magic {@code "THIT"}, version, amount of states and values. The build
+ * embeds the same layout with {@link EvaluatorTables}, {@link #getInstance()} reads it on first use.
+ */
+public final class IncrementalEvaluator {
+    public static final int START = 0;
+    public static final int MAGIC = 0x54484954;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+
+    private static final int VALUES = Card.VALUE_COUNT;
+
+    /** Next state of every state and value index, {@code state * 13 + value}. */
+    private final int[] transitions;
+    /** Rank of the values of every state, {@code 0} below five cards. */
+    private final short[] ranks;
+
+    private IncrementalEvaluator(int[] transitions, short[] ranks) {
+        this.transitions = transitions;
+        this.ranks = ranks;
+    }
+
+    /**
+     * The table loaded or generated once per JVM.
+     */
+    public static IncrementalEvaluator getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Builds the table breadth first, by amount of cards, from the state without cards.
+     */
+    public static IncrementalEvaluator generate() {
+        // value counts in base 5 identify a state
+        Map<Long, Integer> states = new HashMap<>();
+        long[] counts = new long[64];
+        int size = 0;
+        states.put(0L, size);
+        counts[size++] = 0;
+        int[] transitions = new int[64 * VALUES];
+        int levelStart = 0;
+        for (int cards = 0; cards < SevenCardEvaluator.MAX_CARDS; cards++) {
+            int levelEnd = size;
+            for (int state = levelStart; state < levelEnd; state++) {
+                long power = 1;
+                for (int value = 0; value < VALUES; value++, power *= 5) {
+                    if (counts[state] / power % 5 == Card.KIND_COUNT) {
+                        continue;
+                    }
+                    long next = counts[state] + power;
+                    Integer target = states.get(next);
+                    if (target == null) {
+                        target = size;
+                        states.put(next, size);
+                        if (size == counts.length) {
+                            counts = Arrays.copyOf(counts, size * 2);
+                            transitions = Arrays.copyOf(transitions, size * 2 * VALUES);
+                        }
+                        counts[size++] = next;
+                    }
+                    transitions[state * VALUES + value] = target;
+                }
+            }
+            levelStart = levelEnd;
+        }
+        transitions = Arrays.copyOf(transitions, size * VALUES);
+        for (int state = 0; state < size; state++) {
+            for (int value = 0; value < VALUES; value++) {
+                // only the last level and full values have no next state, never the start
+                if (transitions[state * VALUES + value] == START) {
+                    transitions[state * VALUES + value] = -1;
+                }
+            }
+        }
+
+        short[] ranks = new short[size];
+        for (int state = 0; state < size; state++) {
+            ranks[state] = (short) valueRank(counts[state]);
+        }
+        return new IncrementalEvaluator(transitions, ranks);
+    }
+
+    /**
+     * Usage: {@code <table file>}, writes the generated table to the file.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: <table file>");
+        }
+        generate().save(Path.of(args[0]));
+    }
+
+    public static IncrementalEvaluator load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), path, true);
+        }
+    }
+
+    public void save(Path path) throws IOException {
+        ByteBuffer buffer = toBuffer();
+        try (FileChannel channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * The table in the layout of {@link #save}.
+     */
+    ByteBuffer toBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + transitions.length * Integer.BYTES
+                + ranks.length * Short.BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(ranks.length).putInt(VALUES);
+        buffer.asIntBuffer().put(transitions);
+        buffer.position(HEADER_SIZE + transitions.length * Integer.BYTES);
+        buffer.asShortBuffer().put(ranks);
+        return buffer.rewind();
+    }
+
+    /**
+     * Reads the layout of {@link #save} from the start of the buffer.
+     *
+     * @param checkStates whether to check that every transition leads to a state of the table
+     */
+    static IncrementalEvaluator read(ByteBuffer buffer, Object source, boolean checkStates) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException(String.format("%s is not an evaluator table", source));
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException(String.format("%s has version %s, expected %s", source, buffer.getInt(4), VERSION));
+        }
+        int size = buffer.getInt(8);
+        if (buffer.getInt(12) != VALUES || size < 1
+                || buffer.capacity() != HEADER_SIZE + (long) size * (VALUES * Integer.BYTES + Short.BYTES)) {
+            throw new IOException(String.format("%s has an unexpected layout", source));
+        }
+        int[] transitions = new int[size * VALUES];
+        short[] ranks = new short[size];
+        buffer.position(HEADER_SIZE);
+        buffer.asIntBuffer().get(transitions);
+        buffer.position(HEADER_SIZE + transitions.length * Integer.BYTES);
+        buffer.asShortBuffer().get(ranks);
+        for (int transition = 0; checkStates && transition < transitions.length; transition++) {
+            if (transitions[transition] < -1 || transitions[transition] >= size) {
+                throw new IOException(String.format("%s has a state %s out of %s",
+                        source, transitions[transition], size));
+            }
+        }
+        return new IncrementalEvaluator(transitions, ranks);
+    }
+
+    public int size() {
+        return ranks.length;
+    }
+
+    /**
+     * State after dealing the card code; {@code -1} when the state already holds seven cards or four of the value.
+     */
+    public int next(int state, int card) {
+        return transitions[state * VALUES + (card >>> 2)];
+    }
+
+    /**
+     * State after dealing every card of the packed mask.
+     */
+    public int nextAll(int state, long cards) {
+        int next = state;
+        for (long rest = cards; rest != 0 && next >= 0; rest &= rest - 1) {
+            next = transitions[next * VALUES + (Long.numberOfTrailingZeros(rest) & 0xF)];
+        }
+        return next;
+    }
+
+    /**
+     * Rank of a state of five to seven cards, the same as {@link SevenCardEvaluator#evaluate(long)} of the packed
+     * {@code cards} that were dealt to reach it; {@code 0} below five cards.
+     */
+    public int rank(int state, long cards) {
+        for (int kind = 0; kind < Card.KIND_COUNT; kind++) {
+            int suited = Card.lane(cards, kind);
+            if (Integer.bitCount(suited) >= SevenCardEvaluator.MIN_CARDS) {
+                return SevenCardEvaluator.suitedRank(suited);
+            }
+        }
+        return unsuitedRank(state);
+    }
+
+    /**
+     * Rank of a state of five to seven cards that hold no flush, without looking at the cards; {@code 0} below five
+     * cards.
+     */
+    public int unsuitedRank(int state) {
+        return ranks[state];
+    }
+
+    /**
+     * Deals 5 to 7 packed cards from the start, like {@link SevenCardEvaluator#evaluate(long)}.
+     */
+    public int evaluate(long cards) {
+        int amount = Card.count(cards);
+        if (amount < SevenCardEvaluator.MIN_CARDS || amount > SevenCardEvaluator.MAX_CARDS
+                || !Card.isValidMask(cards)) {
+            throw new CardAmountException(String.format("There must be from 5 to 7 cards, but there are %s", amount));
+        }
+        return rank(nextAll(START, cards), cards);
+    }
+
+    /**
+     * Best rank of the values of base 5 counts, dealt in consecutive kinds so that seven of them are never a flush.
+     */
+    private static int valueRank(long counts) {
+        long cards = 0;
+        int card = 0;
+        long rest = counts;
+        for (int value = 0; value < VALUES; value++, rest /= 5) {
+            for (int copy = 0; copy < rest % 5; copy++) {
+                cards |= Card.bit(value << 2 | card++ % Card.KIND_COUNT);
+            }
+        }
+        return card < SevenCardEvaluator.MIN_CARDS ? 0 : SevenCardEvaluator.evaluateUnchecked(cards);
+    }
+
+    /**
+     * The table embedded by {@link EvaluatorTables}, generated when it is missing.
+     */
+    private static IncrementalEvaluator embeddedOrGenerate() {
+        ByteBuffer table = EvaluatorTables.read(EvaluatorTables.INCREMENTAL);
+        if (table != null) {
+            try {
+                // the checksum already covers the states written by the build
+                return read(table, EvaluatorTables.INCREMENTAL, false);
+            } catch (IOException e) {
+                EvaluatorTables.warnGenerating(e.getMessage());
+            }
+        }
+        return generate();
+    }
+
+    private static final class Holder {
+        private static final IncrementalEvaluator INSTANCE = embeddedOrGenerate();
+    }
+}
@@ -0,0 +1,199 @@
+package com.soddik.evaluator;
+
+import com.soddik.entity.Card;
+import com.soddik.entity.Combination;
+import com.soddik.exception.CardAmountException;
+import com.soddik.exception.UniqueCardException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Best Omaha hand: exactly two of the four hole cards with exactly three of the board cards, ranked like
+ * {@link HandEvaluator} so ranks compare the same way as {@code PokerHand}.
+ * <p>
+ * Hands that are not flushes only depend on their values. Every value has a key chosen so that the sums of the keys of
+ * any five values are all different, so the key of a hand is the key of its hole pair plus the key of its board triple
+ * and each of the 60 hands takes one addition and one lookup in a table of the 6175 value sets, without the branches of
+ * the five card evaluator. Flushes are only possible in a kind with at least two hole and three board cards, and are
+ * ranked by the flush table from the value masks of that kind. The sum table takes 700 KB, it is read from the resource
+ * embedded by {@link EvaluatorTables} at class initialization or built when it is missing. A board of three or four
+ * cards, before the turn or the river, gives one or four triples.
+ */
+public final class OmahaEvaluator {
+    public static final int HOLE_CARDS = 4;
+    public static final int MIN_BOARD_CARDS = 3;
+    public static final int MAX_BOARD_CARDS = 5;
+
+    /** Smallest ascending keys whose sums of five values, at most four of each, are unique. */
+    private static final int[] KEYS = {0, 1, 5, 22, 94, 312, 992, 2422, 5624, 12522, 19998, 43258, 79415};
+    /** Rank of five values of more than one kind by the sum of their keys. */
+    private static final short[] VALUE_SUMS = new short[4 * KEYS[12] + KEYS[11] + 1];
+
+    static {
+        ByteBuffer tables = EvaluatorTables.read(EvaluatorTables.OMAHA, VALUE_SUMS.length * Short.BYTES);
+        if (tables != null) {
+            tables.asShortBuffer().get(VALUE_SUMS);
+        } else {
+            fillValueSums(new int[5], 0, 0);
+        }
+    }
+
+    private OmahaEvaluator() {
+    }
+
+    /**
+     * Ranks the best hand of packed hole cards and board, see {@link Card} for the mask layout.
+     */
+    public static int evaluate(long holeCards, long board) {
+        check(holeCards, board);
+        return evaluateUnchecked(holeCards, board);
+    }
+
+    public static Combination combination(long holeCards, long board) {
+        return HandEvaluator.combination(evaluate(holeCards, board));
+    }
+
+    /**
+     * The five cards of the best hand; of equally ranked hands the first one found is returned.
+     */
+    public static long bestHand(long holeCards, long board) {
+        check(holeCards, board);
+        int best = Integer.MAX_VALUE;
+        long hand = 0;
+        for (long first = holeCards; first != 0; first &= first - 1) {
+            for (long second = first & (first - 1); second != 0; second &= second - 1) {
+                long pair = Long.lowestOneBit(first) | Long.lowestOneBit(second);
+                for (long third = board; third != 0; third &= third - 1) {
+                    for (long fourth = third & (third - 1); fourth != 0; fourth &= fourth - 1) {
+                        for (long fifth = fourth & (fourth - 1); fifth != 0; fifth &= fifth - 1) {
+                            long cards = pair | Long.lowestOneBit(third) | Long.lowestOneBit(fourth)
+                                    | Long.lowestOneBit(fifth);
+                            int rank = HandEvaluator.evaluateUnchecked(cards);
+                            if (rank < best) {
+                                best = rank;
+                                hand = cards;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return hand;
+    }
+
+    /**
+     * Ranks four hole cards and three to five board cards known to be valid and different.
+     */
+    static int evaluateUnchecked(long holeCards, long board) {
+        long hole = holeCards;
+        int first = key(hole);
+        hole &= hole - 1;
+        int second = key(hole);
+        hole &= hole - 1;
+        int third = key(hole);
+        hole &= hole - 1;
+        int fourth = key(hole);
+        int pair01 = first + second;
+        int pair02 = first + third;
+        int pair03 = first + fourth;
+        int pair12 = second + third;
+        int pair13 = second + fourth;
+        int pair23 = third + fourth;
+
+        int best = Integer.MAX_VALUE;
+        for (long a = board; a != 0; a &= a - 1) {
+            int keyA = key(a);
+            for (long b = a & (a - 1); b != 0; b &= b - 1) {
+                int keyAB = keyA + key(b);
+                for (long c = b & (b - 1); c != 0; c &= c - 1) {
+                    int triple = keyAB + key(c);
+                    int rank = Math.min(Math.min(VALUE_SUMS[triple + pair01], VALUE_SUMS[triple + pair02]),
+                            Math.min(VALUE_SUMS[triple + pair03], VALUE_SUMS[triple + pair12]));
+                    best = Math.min(best, Math.min(rank,
+                            Math.min(VALUE_SUMS[triple + pair13], VALUE_SUMS[triple + pair23])));
+                }
+            }
+        }
+
+        for (int kind = 0; kind < Card.KIND_COUNT; kind++) {
+            int suitedHole = Card.lane(holeCards, kind);
+            int suitedBoard = Card.lane(board, kind);
+            if (Integer.bitCount(suitedHole) >= 2 && Integer.bitCount(suitedBoard) >= 3) {
+                best = Math.min(best, bestFlush(suitedHole, suitedBoard));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Best flush of two of the suited hole values and three of the suited board values.
+     */
+    private static int bestFlush(int hole, int board) {
+        int best = Integer.MAX_VALUE;
+        for (int first = hole; first != 0; first &= first - 1) {
+            for (int second = first & (first - 1); second != 0; second &= second - 1) {
+                int pair = Integer.lowestOneBit(first) | Integer.lowestOneBit(second);
+                for (int third = board; third != 0; third &= third - 1) {
+                    for (int fourth = third & (third - 1); fourth != 0; fourth &= fourth - 1) {
+                        for (int fifth = fourth & (fourth - 1); fifth != 0; fifth &= fifth - 1) {
+                            best = Math.min(best, HandEvaluator.FLUSHES[pair | Integer.lowestOneBit(third)
+                                    | Integer.lowestOneBit(fourth) | Integer.lowestOneBit(fifth)]);
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Key of the value of the lowest card of the mask.
+     */
+    private static int key(long cards) {
+        return KEYS[Long.numberOfTrailingZeros(cards) & 0xF];
+    }
+
+    /**
+     * Ranks every ascending set of five values with at most four of each. Consecutive equal values get consecutive
+     * kinds, so the hand is never a flush.
+     */
+    static ByteBuffer tables() {
+        ByteBuffer tables = ByteBuffer.allocate(VALUE_SUMS.length * Short.BYTES);
+        tables.asShortBuffer().put(VALUE_SUMS);
+        return tables;
+    }
+
+    private static void fillValueSums(int[] values, int position, int lowest) {
+        if (position == values.length) {
+            long cards = 0;
+            int sum = 0;
+            for (int card = 0; card < values.length; card++) {
+                cards |= Card.bit(values[card] << 2 | card % Card.KIND_COUNT);
+                sum += KEYS[values[card]];
+            }
+            VALUE_SUMS[sum] = (short) HandEvaluator.evaluateUnchecked(cards);
+            return;
+        }
+        for (int value = lowest; value < Card.VALUE_COUNT; value++) {
+            if (position < 4 || values[0] != value) {
+                values[position] = value;
+                fillValueSums(values, position + 1, value);
+            }
+        }
+    }
+
+    private static void check(long holeCards, long board) {
+        if (Card.count(holeCards) != HOLE_CARDS || !Card.isValidMask(holeCards)) {
+            throw new CardAmountException(
+                    String.format("There must be exactly 4 hole cards, but there are %s", Card.count(holeCards)));
+        }
+        int boardCards = Card.count(board);
+        if (boardCards < MIN_BOARD_CARDS || boardCards > MAX_BOARD_CARDS || !Card.isValidMask(board)) {
+            throw new CardAmountException(
+                    String.format("There must be from 3 to 5 board cards, but there are %s", boardCards));
+        }
+        if ((holeCards & board) != 0) {
+            throw new UniqueCardException("Hole cards and board cards must be unique");
+        }
+    }
+}
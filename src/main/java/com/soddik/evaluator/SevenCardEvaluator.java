@@ -0,0 +1,151 @@
+package com.soddik.evaluator;
+
+import com.soddik.entity.Card;
+import com.soddik.entity.Combination;
+import com.soddik.exception.CardAmountException;
+import com.soddik.exception.UnexpectedCardAttributeValueException;
+
+import static com.soddik.evaluator.HandEvaluator.*;
+
+/**
+ * Best five of up to seven cards (two hole cards and the board) without enumerating the 21 five card subsets.
+ * <p>
+ * The lanes of the mask give the values present in one, two, three and four kinds at once, so each combination is
+ * detected from the strongest down and ranked from the top values of these masks. A flush excludes four of a kind and
+ * full house with seven cards, so it is returned as soon as a lane has five values. Ranks are the same as
+ * {@link HandEvaluator} ranks.
+ */
+public final class SevenCardEvaluator {
+    public static final int MIN_CARDS = 5;
+    public static final int MAX_CARDS = 7;
+
+    private SevenCardEvaluator() {
+    }
+
+    /**
+     * Ranks the best five card hand of 5 to 7 packed cards, see {@link Card} for the mask layout.
+     */
+    public static int evaluate(long cards) {
+        checkCards(cards);
+        return evaluateUnchecked(cards);
+    }
+
+    /**
+     * Ranks the best five card hand of seven different card codes.
+     */
+    public static int evaluate(int first, int second, int third, int fourth, int fifth, int sixth, int seventh) {
+        return evaluateUnchecked(Card.bit(first) | Card.bit(second) | Card.bit(third) | Card.bit(fourth)
+                | Card.bit(fifth) | Card.bit(sixth) | Card.bit(seventh));
+    }
+
+    public static Combination combination(long cards) {
+        return HandEvaluator.combination(evaluate(cards));
+    }
+
+    /**
+     * Ranks a mask known to hold 5 to 7 cards.
+     */
+    static int evaluateUnchecked(long cards) {
+        int s = (int) cards & Card.LANE_MASK;
+        int h = (int) (cards >>> 16) & Card.LANE_MASK;
+        int d = (int) (cards >>> 32) & Card.LANE_MASK;
+        int c = (int) (cards >>> 48) & Card.LANE_MASK;
+
+        int suited = flushLane(s, h, d, c);
+        if (suited != 0) {
+            return suitedRank(suited);
+        }
+
+        int values = s | h | d | c;
+        int four = s & h & d & c;
+        if (four != 0) {
+            return fourOfAKind(index(four), index(values ^ four));
+        }
+        int two = (s & h) | (s & d) | (s & c) | (h & d) | (h & c) | (d & c);
+        int three = (s & h & d) | (s & h & c) | (s & d & c) | (h & d & c);
+        int threeIndex = index(three);
+        if (three != 0 && two != 1 << threeIndex) {
+            return fullHouse(threeIndex, index(two ^ 1 << threeIndex));
+        }
+        int top = STRAIGHT_TOP[values];
+        if (top >= 0) {
+            return straight(top);
+        }
+        if (three != 0) {
+            return threeOfAKind(threeIndex, highest(values ^ three, 2));
+        }
+        if (Integer.bitCount(two) >= 2) {
+            int pairs = highest(two, 2);
+            return twoPairs(pairs, 1 << index(values ^ pairs));
+        }
+        if (two != 0) {
+            return pair(index(two), highest(values ^ two, 3));
+        }
+        return highCard(highest(values, 5));
+    }
+
+    /**
+     * The five cards that make the best hand of 5 to 7 packed cards. Among equal cards the lowest kind is taken.
+     */
+    public static long bestHand(long cards) {
+        int rank = evaluate(cards);
+        long available = cards;
+        Combination combination = HandEvaluator.combination(rank);
+        if (combination == Combination.FLUSH || combination == Combination.STRAIGHT_FLUSH
+                || combination == Combination.ROYAL_FLUSH) {
+            for (int kindIndex = 0; kindIndex < Card.KIND_COUNT; kindIndex++) {
+                if (Integer.bitCount(Card.lane(cards, kindIndex)) >= MIN_CARDS) {
+                    available = cards & (long) Card.LANE_MASK << (kindIndex << 4);
+                }
+            }
+        }
+
+        long hand = 0;
+        for (int position = 0; position < MIN_CARDS; position++) {
+            int valueIndex = HandEvaluator.cardValue(rank, position) - Card.MIN_VALUE;
+            long card = Long.lowestOneBit(available & (0x0001_0001_0001_0001L << valueIndex));
+            hand |= card;
+            available &= ~card;
+        }
+        return hand;
+    }
+
+    private static void checkCards(long cards) {
+        int amount = Card.count(cards);
+        if (amount < MIN_CARDS || amount > MAX_CARDS) {
+            throw new CardAmountException(
+                    String.format("There must be from 5 to 7 cards, but there are %s", amount));
+        }
+        if (!Card.isValidMask(cards)) {
+            throw new UnexpectedCardAttributeValueException(
+                    String.format("Unexpected card mask %s", Long.toHexString(cards)));
+        }
+    }
+
+    /**
+     * Rank of the best five of five to seven values of one kind, a straight flush or a flush.
+     */
+    static int suitedRank(int suited) {
+        int top = STRAIGHT_TOP[suited];
+        return top >= 0 ? straightFlush(top) : flush(highest(suited, 5));
+    }
+
+    private static int flushLane(int s, int h, int d, int c) {
+        if (Integer.bitCount(s) >= 5) return s;
+        if (Integer.bitCount(h) >= 5) return h;
+        if (Integer.bitCount(d) >= 5) return d;
+        if (Integer.bitCount(c) >= 5) return c;
+        return 0;
+    }
+
+    /**
+     * Keeps the {@code amount} highest values of the mask.
+     */
+    private static int highest(int values, int amount) {
+        int result = values;
+        while (Integer.bitCount(result) > amount) {
+            result &= result - 1;
+        }
+        return result;
+    }
+}
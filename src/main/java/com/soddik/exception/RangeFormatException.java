@@ -0,0 +1,7 @@
+package com.soddik.exception;
+
+public class RangeFormatException extends RuntimeException {
+    public RangeFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,93 @@
+package com.soddik.generator;
+
+import com.soddik.entity.Card;
+import com.soddik.exception.CardAmountException;
+import com.soddik.exception.UnexpectedCardAttributeValueException;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The live cards of a 52 card deck as a primitive array of card codes, see {@link Card}.
+ * <p>
+ * Cards are dealt by a partial Fisher-Yates shuffle: the first {@code k} positions are swapped with uniformly chosen
+ * positions of the rest of the array. The array stays a permutation of the live cards, so the next deal is uniform again
+ * without resetting anything and dealing does not allocate. Dead cards (e.g. known hole cards or the board) are left out
+ * of the array. Instances are not thread-safe, use one deck per thread.
+ */
+public final class Deck {
+    private final int[] cards = new int[Card.DECK_SIZE];
+    private long deadCards;
+    private int size;
+
+    public Deck() {
+        this(0L);
+    }
+
+    /**
+     * @param deadCards packed cards that are never dealt
+     */
+    public Deck(long deadCards) {
+        setDeadCards(deadCards);
+    }
+
+    public void setDeadCards(long deadCards) {
+        if (!Card.isValidMask(deadCards)) {
+            throw new UnexpectedCardAttributeValueException(
+                    String.format("Unexpected card mask %s", Long.toHexString(deadCards)));
+        }
+        this.deadCards = deadCards;
+        this.size = 0;
+        for (int card = 0; card < Card.DECK_SIZE; card++) {
+            if ((deadCards & Card.bit(card)) == 0) {
+                cards[size++] = card;
+            }
+        }
+    }
+
+    public long getDeadCards() {
+        return deadCards;
+    }
+
+    /**
+     * Amount of cards that can be dealt.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Deals {@code amount} distinct live cards as a packed mask.
+     */
+    public long deal(int amount, RandomGenerator random) {
+        checkAmount(amount);
+        long result = 0;
+        for (int index = 0; index < amount; index++) {
+            result |= Card.bit(swap(index, index + random.nextInt(size - index)));
+        }
+        return result;
+    }
+
+    /**
+     * Deals {@code amount} distinct live cards into {@code target} starting at {@code offset}, in dealing order.
+     */
+    public void deal(int[] target, int offset, int amount, RandomGenerator random) {
+        checkAmount(amount);
+        for (int index = 0; index < amount; index++) {
+            target[offset + index] = swap(index, index + random.nextInt(size - index));
+        }
+    }
+
+    private int swap(int index, int other) {
+        int card = cards[other];
+        cards[other] = cards[index];
+        cards[index] = card;
+        return card;
+    }
+
+    private void checkAmount(int amount) {
+        if (amount < 0 || amount > size) {
+            throw new CardAmountException(
+                    String.format("Cannot deal %s cards, there are %s cards in the deck", amount, size));
+        }
+    }
+}
@@ -23,6 +23,15 @@ public final class DeckGenerator {
         return deck;
     }
 
+    /**
+     * Creates a primitive deck for dealing, see {@link Deck}.
+     *
+     * @param deadCards packed cards that are never dealt
+     */
+    public Deck createDeck(long deadCards) {
+        return new Deck(deadCards);
+    }
+
     public List<String> getKinds() {
         return new ArrayList<>(kinds);
     }
@@ -1,54 +1,39 @@
 package com.soddik.generator;
 
 import com.soddik.entity.PokerHand;
-import com.soddik.exception.UnexpectedCardAttributeValueException;
-import com.soddik.parser.HandParser;
 
-import java.util.List;
-import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
+/**
+ * Deals uniformly random five card hands from a {@link Deck}. Not thread-safe, use one generator per thread.
+ */
 public class RandomHandGenerator {
-    private final DeckGenerator deckGenerator;
+    private static final int HAND_SIZE = 5;
+
+    private final Deck deck;
+    private final RandomGenerator random;
 
     public RandomHandGenerator(DeckGenerator deckGenerator) {
-        this.deckGenerator = deckGenerator;
+        this(deckGenerator, null);
+    }
+
+    /**
+     * @param random source of randomness, {@code null} for {@link ThreadLocalRandom}
+     */
+    public RandomHandGenerator(DeckGenerator deckGenerator, RandomGenerator random) {
+        this.deck = deckGenerator.createDeck(0L);
+        this.random = random;
     }
 
     public PokerHand generateHand() {
-        Map<String, List<Integer>> deck = deckGenerator.generateDeck();
-        StringBuilder sb = new StringBuilder();
-        for (int cardIndex = 0; cardIndex < 5; cardIndex++) {
-            List<String> actualKinds = deckGenerator.getKinds().stream()
-                    .filter(kind -> deck.get(kind).size() != 0)
-                    .toList();
-            String randomKind = actualKinds.get(ThreadLocalRandom.current().nextInt(0, actualKinds.size()));
-            addRandomCard(deck, sb, randomKind);
-        }
-        deckGenerator.clearDeck();
-
-        return new PokerHand(sb.toString().trim(), new HandParser());
+        return new PokerHand(generatePackedHand());
     }
 
-    private void addRandomCard(Map<String, List<Integer>> deck, StringBuilder sb, String randomKind) {
-        Integer value = deck.get(randomKind).get(ThreadLocalRandom.current().nextInt(0, deck.get(randomKind).size()));
-        deck.get(randomKind).remove(value);
-        if (value < 10) {
-            sb.append(value);
-        } else {
-            String strValue = switch (value) {
-                case 14 -> "A";
-                case 13 -> "K";
-                case 12 -> "Q";
-                case 11 -> "J";
-                case 10 -> "T";
-                default ->
-                        throw new UnexpectedCardAttributeValueException(String.format("Unexpected card value %s", value));
-            };
-
-            sb.append(strValue);
-        }
-        sb.append(randomKind);
-        sb.append(" ");
+    /**
+     * Deals a hand as a packed card mask without creating any object.
+     */
+    public long generatePackedHand() {
+        return deck.deal(HAND_SIZE, random == null ? ThreadLocalRandom.current() : random);
     }
 }
@@ -0,0 +1,225 @@
+package com.soddik.metrics;
+
+import com.soddik.entity.Combination;
+import com.soddik.evaluator.HandEvaluator;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide counters and latency histograms of parsing, evaluation and comparison, per {@link Stage} and per
+ * {@link Combination}, and counts of the card exceptions thrown by parsing and evaluation.
+ * <p>
+ * Instrumented code calls {@link #start()} before and {@link #record} after a stage. While disabled {@code start}
+ * returns {@code 0} after a single volatile read and {@code record} returns at once, so the disabled cost is one load
+ * and a branch per stage and no clock is read. The {@value #ENABLED_PROPERTY} system property registers the platform
+ * MBean {@value #OBJECT_NAME} on first use of this class: {@code true} also enables the metrics, {@code false} leaves
+ * them to be switched on through JMX. Without the property nothing is registered until {@link #register()} is called,
+ * so plain evaluation never loads the JMX classes; {@link #setEnabled} switches the metrics in either case.
+ */
+public final class HandMetrics implements HandMetricsMXBean {
+    public static final String OBJECT_NAME = "com.soddik:type=HandMetrics";
+    public static final String ENABLED_PROPERTY = "com.soddik.metrics";
+
+    private static final Logger logger = Logger.getLogger(HandMetrics.class.getSimpleName());
+    private static final Stage[] STAGES = Stage.values();
+    private static final Combination[] COMBINATIONS = Combination.values();
+    private static final LatencyHistogram[] STAGE_HISTOGRAMS = new LatencyHistogram[STAGES.length];
+    private static final LatencyHistogram[] COMBINATION_HISTOGRAMS = new LatencyHistogram[COMBINATIONS.length];
+    private static final Map<String, LongAdder> EXCEPTIONS = new ConcurrentHashMap<>();
+    private static final HandMetrics INSTANCE = new HandMetrics();
+
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+    private static boolean registered;
+
+    static {
+        for (int stage = 0; stage < STAGES.length; stage++) {
+            STAGE_HISTOGRAMS[stage] = new LatencyHistogram();
+        }
+        for (int combination = 0; combination < COMBINATIONS.length; combination++) {
+            COMBINATION_HISTOGRAMS[combination] = new LatencyHistogram();
+        }
+        if (System.getProperty(ENABLED_PROPERTY) != null) {
+            register();
+        }
+    }
+
+    private HandMetrics() {
+    }
+
+    public static HandMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return start time of a stage, {@code 0} while metrics are disabled
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public static void record(Stage stage, long start) {
+        if (start != 0) {
+            STAGE_HISTOGRAMS[stage.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records an {@link Stage#EVALUATE} stage both for the stage and for the combination of the rank it produced.
+     */
+    public static void recordEvaluation(int rank, long start) {
+        if (start != 0) {
+            long nanos = System.nanoTime() - start;
+            STAGE_HISTOGRAMS[Stage.EVALUATE.ordinal()].record(nanos);
+            COMBINATION_HISTOGRAMS[HandEvaluator.combination(rank).ordinal()].record(nanos);
+        }
+    }
+
+    /**
+     * Counts an exception about to be thrown by an instrumented stage and returns it, {@code throw thrown(e)}.
+     */
+    public static <T extends RuntimeException> T thrown(T exception) {
+        if (enabled) {
+            EXCEPTIONS.computeIfAbsent(exception.getClass().getSimpleName(), name -> new LongAdder()).increment();
+        }
+        return exception;
+    }
+
+    public static LatencyHistogram histogram(Stage stage) {
+        return STAGE_HISTOGRAMS[stage.ordinal()];
+    }
+
+    public static LatencyHistogram histogram(Combination combination) {
+        return COMBINATION_HISTOGRAMS[combination.ordinal()];
+    }
+
+    public static long exceptionCount(Class<? extends RuntimeException> type) {
+        LongAdder count = EXCEPTIONS.get(type.getSimpleName());
+        return count == null ? 0 : count.sum();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        HandMetrics.enabled = enabled;
+    }
+
+    @Override
+    public Map<String, Long> getStageCounts() {
+        return stages(LatencyHistogram::getCount);
+    }
+
+    @Override
+    public Map<String, Double> getStageMeanNanos() {
+        return stageMeans(LatencyHistogram::getMeanNanos);
+    }
+
+    @Override
+    public Map<String, Long> getStageP50Nanos() {
+        return stages(histogram -> histogram.getQuantileNanos(0.5));
+    }
+
+    @Override
+    public Map<String, Long> getStageP99Nanos() {
+        return stages(histogram -> histogram.getQuantileNanos(0.99));
+    }
+
+    @Override
+    public Map<String, Long> getCombinationCounts() {
+        return combinations(LatencyHistogram::getCount);
+    }
+
+    @Override
+    public Map<String, Double> getCombinationMeanNanos() {
+        Map<String, Double> result = new TreeMap<>();
+        for (Combination combination : COMBINATIONS) {
+            result.put(combination.name(), histogram(combination).getMeanNanos());
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getCombinationP99Nanos() {
+        return combinations(histogram -> histogram.getQuantileNanos(0.99));
+    }
+
+    @Override
+    public Map<String, Long> getExceptionCounts() {
+        Map<String, Long> result = new TreeMap<>();
+        EXCEPTIONS.forEach((name, count) -> result.put(name, count.sum()));
+        return result;
+    }
+
+    @Override
+    public long[] getStageHistogram(String stage) {
+        return histogram(Stage.valueOf(stage)).getBuckets();
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram histogram : STAGE_HISTOGRAMS) {
+            histogram.reset();
+        }
+        for (LatencyHistogram histogram : COMBINATION_HISTOGRAMS) {
+            histogram.reset();
+        }
+        EXCEPTIONS.values().forEach(LongAdder::reset);
+    }
+
+    private static Map<String, Long> stages(ToLongFunction<LatencyHistogram> value) {
+        Map<String, Long> result = new TreeMap<>();
+        for (Stage stage : STAGES) {
+            result.put(stage.name(), value.applyAsLong(histogram(stage)));
+        }
+        return result;
+    }
+
+    private static Map<String, Double> stageMeans(ToDoubleFunction<LatencyHistogram> value) {
+        Map<String, Double> result = new TreeMap<>();
+        for (Stage stage : STAGES) {
+            result.put(stage.name(), value.applyAsDouble(histogram(stage)));
+        }
+        return result;
+    }
+
+    private static Map<String, Long> combinations(ToLongFunction<LatencyHistogram> value) {
+        Map<String, Long> result = new TreeMap<>();
+        for (Combination combination : COMBINATIONS) {
+            result.put(combination.name(), value.applyAsLong(histogram(combination)));
+        }
+        return result;
+    }
+
+    /**
+     * Registers the platform MBean, later calls do nothing.
+     */
+    public static synchronized void register() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            logger.fine(String.format("%s is already registered", OBJECT_NAME));
+        } catch (JMException e) {
+            logger.log(Level.WARNING, String.format("Cannot register %s", OBJECT_NAME), e);
+        }
+    }
+}
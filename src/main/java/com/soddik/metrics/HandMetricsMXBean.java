@@ -0,0 +1,36 @@
+package com.soddik.metrics;
+
+import java.util.Map;
+
+/**
+ * Management view of {@link HandMetrics}, registered as {@value HandMetrics#OBJECT_NAME}. Maps are keyed by stage,
+ * combination or exception name; latencies are in nanoseconds, quantiles are bucket upper bounds.
+ */
+public interface HandMetricsMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    Map<String, Long> getStageCounts();
+
+    Map<String, Double> getStageMeanNanos();
+
+    Map<String, Long> getStageP50Nanos();
+
+    Map<String, Long> getStageP99Nanos();
+
+    Map<String, Long> getCombinationCounts();
+
+    Map<String, Double> getCombinationMeanNanos();
+
+    Map<String, Long> getCombinationP99Nanos();
+
+    Map<String, Long> getExceptionCounts();
+
+    /**
+     * Bucket counts of the stage, see {@link LatencyHistogram#upperBound(int)}.
+     */
+    long[] getStageHistogram(String stage);
+
+    void reset();
+}
@@ -0,0 +1,90 @@
+package com.soddik.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with one bucket per power of two nanoseconds.
+ * <p>
+ * Bucket {@code b} holds durations in {@code [2^(b-1), 2^b)}, bucket {@code 0} holds zero. Every bucket and the total
+ * are {@link LongAdder}s, striped counters that threads increment without contending on one cache line, so recording
+ * is a leading-zero count and one uncontended add.
+ */
+public final class LatencyHistogram {
+    public static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            buckets[bucket] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long duration = Math.max(0, nanos);
+        buckets[BUCKETS - Long.numberOfLeadingZeros(duration)].increment();
+        totalNanos.add(duration);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    public double getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) totalNanos.sum() / count;
+    }
+
+    /**
+     * Upper bound of the bucket that holds the quantile, e.g. {@code 0.99}; {@code 0} when nothing was recorded.
+     */
+    public long getQuantileNanos(double quantile) {
+        long[] counts = getBuckets();
+        long count = 0;
+        for (long bucketCount : counts) {
+            count += bucketCount;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= Math.max(1, target)) {
+                return upperBound(bucket);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    /**
+     * Counts of every bucket, see {@link #upperBound(int)}.
+     */
+    public long[] getBuckets() {
+        long[] counts = new long[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts[bucket] = buckets[bucket].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * Largest duration counted in the bucket.
+     */
+    public static long upperBound(int bucket) {
+        return bucket == 0 ? 0 : bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalNanos.reset();
+    }
+}
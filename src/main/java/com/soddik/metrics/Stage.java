@@ -0,0 +1,13 @@
+package com.soddik.metrics;
+
+/**
+ * Instrumented steps of handling a hand.
+ */
+public enum Stage {
+    /** {@code HandParser.parseHand} and {@code parseString}. */
+    PARSE,
+    /** Evaluation in the {@code PokerHand} constructor. */
+    EVALUATE,
+    /** {@code PokerHand.compareTo}. */
+    COMPARE
+}
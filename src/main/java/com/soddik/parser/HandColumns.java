@@ -0,0 +1,84 @@
+package com.soddik.parser;
+
+import java.util.Arrays;
+
+/**
+ * The hands of a chunk of lines filled by {@link HandParser#parseLines}, one entry per line in three columns: the
+ * packed cards ({@code 0} for an invalid line), the {@link ParseError} and its position in the line. The columns grow
+ * as needed and keep their capacity when cleared, so one instance serves any amount of chunks. Not thread-safe.
+ */
+public final class HandColumns {
+    private static final ParseError[] ERRORS = ParseError.values();
+
+    private long[] hands;
+    private byte[] errors;
+    private int[] positions;
+    private int size;
+    private int invalid;
+
+    public HandColumns() {
+        this(1024);
+    }
+
+    public HandColumns(int capacity) {
+        this.hands = new long[Math.max(capacity, 1)];
+        this.errors = new byte[hands.length];
+        this.positions = new int[hands.length];
+    }
+
+    void add(long result) {
+        if (size == hands.length) {
+            int capacity = hands.length * 2;
+            hands = Arrays.copyOf(hands, capacity);
+            errors = Arrays.copyOf(errors, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+        }
+        if (ParseError.isError(result)) {
+            hands[size] = 0;
+            errors[size] = (byte) ParseError.of(result).ordinal();
+            positions[size] = ParseError.position(result);
+            invalid++;
+        } else {
+            hands[size] = result;
+            errors[size] = 0;
+            positions[size] = 0;
+        }
+        size++;
+    }
+
+    public void clear() {
+        size = 0;
+        invalid = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getInvalid() {
+        return invalid;
+    }
+
+    public boolean isValid(int line) {
+        return errors[checkLine(line)] == 0;
+    }
+
+    public long getHand(int line) {
+        return hands[checkLine(line)];
+    }
+
+    public ParseError getError(int line) {
+        return ERRORS[errors[checkLine(line)]];
+    }
+
+    public int getPosition(int line) {
+        return positions[checkLine(line)];
+    }
+
+    private int checkLine(int line) {
+        if (line < 0 || line >= size) {
+            throw new IndexOutOfBoundsException(String.format("Line %s of %s", line, size));
+        }
+        return line;
+    }
+}
@@ -1,116 +1,359 @@
 package com.soddik.parser;
 
+import com.soddik.entity.Card;
 import com.soddik.exception.*;
+import com.soddik.metrics.HandMetrics;
+import com.soddik.metrics.Stage;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
+/**
+ * Parses cards written as value and kind symbols separated by single spaces, e.g. {@code "AC JC KC QC TC"}, into a
+ * packed card mask (see {@link Card}).
+ * <p>
+ * The {@code parseHand} and {@code parseCards} methods are stateless and do not allocate on success, so one instance
+ * can be shared by any number of threads. Only the legacy {@link #parseString(String)} / {@link #getCards()} pair keeps
+ * the last parsed hand in the instance. Successful {@code parseHand} calls are timed as {@link Stage#PARSE} while
+ * {@link HandMetrics} are enabled.
+ * <p>
+ * Bad input makes {@code parseHand} and {@code parseCards} throw. For untrusted bulk input the {@code tryParse} and
+ * {@code parseLines} methods report it as a {@link ParseError} result code with the position instead, without
+ * creating exceptions or allocating on failure.
+ */
 public class HandParser {
-    private Integer[][] cards;
+    public static final int HAND_SIZE = 5;
+
+    private static final byte[] VALUES = new byte[128];
+    private static final byte[] KINDS = new byte[128];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        Arrays.fill(KINDS, (byte) -1);
+        String values = "23456789TJQKA";
+        for (int index = 0; index < values.length(); index++) {
+            VALUES[values.charAt(index)] = (byte) index;
+        }
+        String kinds = "SHDC";
+        for (int index = 0; index < kinds.length(); index++) {
+            KINDS[kinds.charAt(index)] = (byte) index;
+        }
+    }
+
+    private long cards;
 
     public HandParser() {
-        this.cards = new Integer[5][2];
+        this.cards = 0;
     }
 
     public void parseString(String hand) {
+        this.cards = parseHand(hand);
+    }
+
+    /**
+     * Parses exactly five unique cards.
+     */
+    public long parseHand(CharSequence hand) {
         if (hand == null) {
             throw new NullPointerException("Entry string cannot be null");
         }
+        return parseHand(hand, 0, hand.length());
+    }
 
-        String[] strCards = hand.split(" ");
-        uniquenessOfCardsInHandCheck(strCards);
-        if (strCards.length == 5) {
-            createHandAndSort(strCards);
-        } else {
-            throw new CardAmountException(
-                    String.format("There must be exactly 5 cards in the hand, but there are %s", strCards.length));
-        }
+    public long parseHand(CharSequence hand, int offset, int length) {
+        return orThrow(tryParseHand(hand, offset, length), hand, offset);
+    }
+
+    public long parseHand(char[] hand, int offset, int length) {
+        return orThrow(tryParseHand(hand, offset, length), hand, offset);
+    }
+
+    /**
+     * Parses exactly five unique cards from ASCII bytes.
+     */
+    public long parseHand(byte[] hand, int offset, int length) {
+        return orThrow(tryParseHand(hand, offset, length), hand, offset);
+    }
+
+    /**
+     * Parses exactly five unique cards from ASCII bytes at an absolute range, the buffer position is not changed.
+     */
+    public long parseHand(ByteBuffer hand, int offset, int length) {
+        return orThrow(tryParseHand(hand, offset, length), hand, offset);
     }
 
-    private void createHandAndSort(String[] strCards) {
-        for (int index = 0; index < strCards.length; index++) {
-            String[] card = strCards[index].split("");
-            cards[index] = createCard(card);
+    /**
+     * Parses any amount of unique cards, e.g. hole cards and the board of a showdown.
+     */
+    public long parseCards(CharSequence cards) {
+        if (cards == null) {
+            throw new NullPointerException("Entry string cannot be null");
         }
-        sortCardsByValue(cards);
+        return parseCards(cards, 0, cards.length());
     }
 
-    private Integer[] createCard(String[] card) {
-        if (card.length == 2) {
-            Integer value = switch (card[0]) {
-                case "A" -> 14;
-                case "K" -> 13;
-                case "Q" -> 12;
-                case "J" -> 11;
-                case "T" -> 10;
-                default -> validateNumericValue(card[0]);
-            };
+    public long parseCards(CharSequence cards, int offset, int length) {
+        return orThrow(tryParseCards(cards, offset, length), cards, offset);
+    }
 
-            Integer kind = switch (card[1]) {
-                case "S" -> 20;
-                case "H" -> 21;
-                case "D" -> 22;
-                case "C" -> 23;
-                default ->
-                        throw new UnexpectedCardAttributeKindException(String.format("Unexpected card kind %s", card[1]));
-            };
+    public long parseCards(char[] cards, int offset, int length) {
+        return orThrow(tryParseCards(cards, offset, length), cards, offset);
+    }
 
-            return new Integer[]{value, kind};
-        } else {
-            throw new CardAttributeAmountException(
-                    String.format("The card should contain 2 attributes, but contains %s", card.length));
+    public long parseCards(byte[] cards, int offset, int length) {
+        return orThrow(tryParseCards(cards, offset, length), cards, offset);
+    }
+
+    public long parseCards(ByteBuffer cards, int offset, int length) {
+        return orThrow(tryParseCards(cards, offset, length), cards, offset);
+    }
+
+    /**
+     * Parses exactly five unique cards without throwing for bad input.
+     *
+     * @return the packed cards, or a negative result code read with {@link ParseError}
+     */
+    public long tryParseHand(CharSequence hand, int offset, int length) {
+        long start = HandMetrics.start();
+        return checkHandSize(tryParseCards(hand, offset, length), length, start);
+    }
+
+    public long tryParseHand(char[] hand, int offset, int length) {
+        long start = HandMetrics.start();
+        return checkHandSize(tryParseCards(hand, offset, length), length, start);
+    }
+
+    public long tryParseHand(byte[] hand, int offset, int length) {
+        long start = HandMetrics.start();
+        return checkHandSize(tryParseCards(hand, offset, length), length, start);
+    }
+
+    public long tryParseHand(ByteBuffer hand, int offset, int length) {
+        long start = HandMetrics.start();
+        return checkHandSize(tryParseCards(hand, offset, length), length, start);
+    }
+
+    /**
+     * Parses any amount of unique cards without throwing for bad input.
+     *
+     * @return the packed cards, or a negative result code read with {@link ParseError}
+     */
+    public long tryParseCards(CharSequence cards, int offset, int length) {
+        int end = offset + length;
+        while (end > offset && cards.charAt(end - 1) == ' ') {
+            end--;
+        }
+        long result = 0;
+        int start = offset;
+        for (int index = offset; index <= end; index++) {
+            if (index == end || cards.charAt(index) == ' ') {
+                result = addCard(result, index - start, charAt(cards, start, index), charAt(cards, start + 1, index),
+                        start - offset);
+                if (result < 0) {
+                    return result;
+                }
+                start = index + 1;
+            }
         }
+        return result;
     }
 
-    private Integer validateNumericValue(String value) {
-        if (value.matches("[2-9]")) {
-            int num = Integer.parseInt(value);
-            if (num > 1 && num < 10) {
-                return num;
+    public long tryParseCards(char[] cards, int offset, int length) {
+        int end = offset + length;
+        while (end > offset && cards[end - 1] == ' ') {
+            end--;
+        }
+        long result = 0;
+        int start = offset;
+        for (int index = offset; index <= end; index++) {
+            if (index == end || cards[index] == ' ') {
+                result = addCard(result, index - start, start < index ? cards[start] & 0xFFFF : 0,
+                        start + 1 < index ? cards[start + 1] & 0xFFFF : 0, start - offset);
+                if (result < 0) {
+                    return result;
+                }
+                start = index + 1;
             }
         }
-        throw new UnexpectedCardAttributeValueException(String.format("Unexpected card value %s", value));
+        return result;
     }
 
-    private void uniquenessOfCardsInHandCheck(String[] cards) {
-        Set<String> set = new HashSet<>();
-        for (String card : cards) {
-            if (!set.contains(card)) {
-                set.add(card);
-            } else {
-                throw new UniqueCardException(
-                        String.format("Unique cards must be in hand, but there is a duplicate with card: %s", card));
+    public long tryParseCards(byte[] cards, int offset, int length) {
+        int end = offset + length;
+        while (end > offset && cards[end - 1] == ' ') {
+            end--;
+        }
+        long result = 0;
+        int start = offset;
+        for (int index = offset; index <= end; index++) {
+            if (index == end || cards[index] == ' ') {
+                result = addCard(result, index - start, start < index ? cards[start] & 0xFF : 0,
+                        start + 1 < index ? cards[start + 1] & 0xFF : 0, start - offset);
+                if (result < 0) {
+                    return result;
+                }
+                start = index + 1;
             }
         }
+        return result;
     }
 
-    private void sortCardsByValue(Integer[][] cards) {
-        for (int i = 0; i < cards.length; i++) {
-            int pos = i;
-            int value = cards[i][0];
-            int kind = cards[i][1];
-            for (int j = i + 1; j < cards.length; j++) {
-                if (cards[j][0] < value) {
-                    pos = j;
-                    value = cards[j][0];
-                    kind = cards[j][1];
+    public long tryParseCards(ByteBuffer cards, int offset, int length) {
+        int end = offset + length;
+        while (end > offset && cards.get(end - 1) == ' ') {
+            end--;
+        }
+        long result = 0;
+        int start = offset;
+        for (int index = offset; index <= end; index++) {
+            if (index == end || cards.get(index) == ' ') {
+                result = addCard(result, index - start, start < index ? cards.get(start) & 0xFF : 0,
+                        start + 1 < index ? cards.get(start + 1) & 0xFF : 0, start - offset);
+                if (result < 0) {
+                    return result;
                 }
+                start = index + 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Parses every line of {@code chunk[offset, offset + length)} as a hand into the columns, which are cleared first.
+     * Lines end with {@code \n} or {@code \r\n}, the last one may end with the chunk; bad lines only set their
+     * error, nothing is thrown.
+     *
+     * @return amount of invalid lines
+     */
+    public int parseLines(byte[] chunk, int offset, int length, HandColumns columns) {
+        columns.clear();
+        int end = offset + length;
+        int lineStart = offset;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && chunk[lineEnd] != '\n') {
+                lineEnd++;
             }
-            cards[pos][0] = cards[i][0];
-            cards[pos][1] = cards[i][1];
+            int contentEnd = lineEnd > lineStart && chunk[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            columns.add(tryParseHand(chunk, lineStart, contentEnd - lineStart));
+            lineStart = lineEnd + 1;
+        }
+        return columns.getInvalid();
+    }
+
+    /**
+     * Same as {@link #parseLines(byte[], int, int, HandColumns)} at an absolute range of the buffer.
+     */
+    public int parseLines(ByteBuffer chunk, int offset, int length, HandColumns columns) {
+        columns.clear();
+        int end = offset + length;
+        int lineStart = offset;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && chunk.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int contentEnd = lineEnd > lineStart && chunk.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            columns.add(tryParseHand(chunk, lineStart, contentEnd - lineStart));
+            lineStart = lineEnd + 1;
+        }
+        return columns.getInvalid();
+    }
+
+    /**
+     * Adds one two-symbol card to the mask.
+     *
+     * @param position start of the card from the start of the parsed range
+     * @return the new mask or a {@link ParseError} result code
+     */
+    private static long addCard(long cards, int tokenLength, int valueSymbol, int kindSymbol, int position) {
+        if (tokenLength != 2) {
+            return ParseError.code(ParseError.CARD_ATTRIBUTE_AMOUNT, position, tokenLength);
+        }
+        int value = valueSymbol < 128 ? VALUES[valueSymbol] : -1;
+        if (value < 0) {
+            return ParseError.code(ParseError.CARD_VALUE, position, 0);
+        }
+        int kind = kindSymbol < 128 ? KINDS[kindSymbol] : -1;
+        if (kind < 0) {
+            return ParseError.code(ParseError.CARD_KIND, position + 1, 0);
+        }
+        long bit = Card.bit(value << 2 | kind);
+        if ((cards & bit) != 0) {
+            return ParseError.code(ParseError.DUPLICATE_CARD, position, 0);
+        }
+        return cards | bit;
+    }
 
-            cards[i][0] = value;
-            cards[i][1] = kind;
+    /**
+     * Times a successful parse as {@link Stage#PARSE}.
+     */
+    private static long checkHandSize(long result, int length, long start) {
+        if (result < 0) {
+            return result;
+        }
+        if (Card.count(result) != HAND_SIZE) {
+            return ParseError.code(ParseError.CARD_AMOUNT, length, Card.count(result));
         }
+        HandMetrics.record(Stage.PARSE, start);
+        return result;
     }
 
+    /**
+     * Turns a result code into the exception the throwing methods have always thrown.
+     */
+    private static long orThrow(long result, Object source, int offset) {
+        if (result >= 0) {
+            return result;
+        }
+        int position = offset + ParseError.position(result);
+        throw HandMetrics.thrown(switch (ParseError.of(result)) {
+            case CARD_AMOUNT -> new CardAmountException(String.format(
+                    "There must be exactly 5 cards in the hand, but there are %s", ParseError.detail(result)));
+            case CARD_ATTRIBUTE_AMOUNT -> new CardAttributeAmountException(String.format(
+                    "The card should contain 2 attributes, but contains %s", ParseError.detail(result)));
+            case CARD_VALUE -> new UnexpectedCardAttributeValueException(
+                    String.format("Unexpected card value %s", symbolAt(source, position)));
+            case CARD_KIND -> new UnexpectedCardAttributeKindException(
+                    String.format("Unexpected card kind %s", symbolAt(source, position)));
+            case DUPLICATE_CARD -> new UniqueCardException(String.format(
+                    "Unique cards must be in hand, but there is a duplicate with card: %s%s",
+                    symbolAt(source, position), symbolAt(source, position + 1)));
+            case NONE -> new IllegalStateException(String.format("Unexpected result %s", result));
+        });
+    }
+
+    private static char charAt(CharSequence cards, int index, int end) {
+        return index < end ? cards.charAt(index) : 0;
+    }
+
+    private static char symbolAt(Object source, int index) {
+        if (source instanceof CharSequence chars) {
+            return chars.charAt(index);
+        } else if (source instanceof char[] chars) {
+            return chars[index];
+        } else if (source instanceof byte[] bytes) {
+            return (char) (bytes[index] & 0xFF);
+        }
+        return (char) (((ByteBuffer) source).get(index) & 0xFF);
+    }
+
+    /**
+     * Compatibility adapter: returns the last parsed hand in the legacy {@code Integer[5][2]} form sorted by value.
+     */
     public Integer[][] getCards() {
-        Integer[][] copy = cards;
+        Integer[][] copy = Card.toArray(cards);
+        clear();
+        return copy;
+    }
+
+    public long getPackedCards() {
+        long copy = cards;
         clear();
         return copy;
     }
 
     private void clear() {
-        this.cards = new Integer[5][2];
+        this.cards = 0;
     }
 }
@@ -0,0 +1,55 @@
+package com.soddik.parser;
+
+/**
+ * Why a line is not a valid hand, as reported by the exception-free {@code tryParse} methods of {@link HandParser}.
+ * <p>
+ * Those methods return one {@code long}: the packed cards when they are valid, otherwise a negative result code
+ * holding the error, its position in the input and a detail, read with the static methods of this enum. The kinds
+ * mirror the exceptions of the throwing methods.
+ */
+public enum ParseError {
+    /** A valid hand, {@link #position(long)} and {@link #detail(long)} are {@code 0}. */
+    NONE,
+    /** Valid cards but not five of them; the position is the end of the input, the detail is the amount of cards. */
+    CARD_AMOUNT,
+    /** A card without exactly two symbols; the position is its start, the detail is its length. */
+    CARD_ATTRIBUTE_AMOUNT,
+    /** A card with an unknown value symbol, at the position. */
+    CARD_VALUE,
+    /** A card with an unknown kind symbol, at the position. */
+    CARD_KIND,
+    /** A card that was already in the hand, starting at the position. */
+    DUPLICATE_CARD;
+
+    private static final ParseError[] ERRORS = values();
+    private static final int ERROR_SHIFT = 56;
+    private static final int DETAIL_SHIFT = 32;
+    private static final int MAX_DETAIL = (1 << 24) - 1;
+
+    static long code(ParseError error, int position, int detail) {
+        return Long.MIN_VALUE | (long) error.ordinal() << ERROR_SHIFT
+                | (long) Math.min(detail, MAX_DETAIL) << DETAIL_SHIFT | position;
+    }
+
+    public static boolean isError(long result) {
+        return result < 0;
+    }
+
+    public static ParseError of(long result) {
+        return result < 0 ? ERRORS[(int) (result >>> ERROR_SHIFT) & 0x7F] : NONE;
+    }
+
+    /**
+     * Index of the error from the start of the parsed range.
+     */
+    public static int position(long result) {
+        return result < 0 ? (int) result : 0;
+    }
+
+    /**
+     * Amount of cards or symbols that caused the error, capped at {@value #MAX_DETAIL}.
+     */
+    public static int detail(long result) {
+        return result < 0 ? (int) (result >>> DETAIL_SHIFT) & MAX_DETAIL : 0;
+    }
+}
@@ -0,0 +1,90 @@
+package com.soddik.pipeline;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * The last stage of a {@link HandPipeline}: consumes ranked batches one at a time and completes its result when the
+ * stream ends.
+ * <p>
+ * A sink requests {@value #PREFETCH} batches ahead and one more after every batch it consumed, so at most that many
+ * wait for it. A failure of the sink cancels its subscription and completes the result exceptionally.
+ *
+ * @param <R> result of the sink
+ */
+public abstract class BatchSink<R> implements Flow.Subscriber<HandBatch> {
+    public static final int PREFETCH = 2;
+
+    private final CompletableFuture<R> result = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+
+    @Override
+    public final void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(PREFETCH);
+    }
+
+    @Override
+    public final void onNext(HandBatch batch) {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            accept(batch);
+            subscription.request(1);
+        } catch (IOException | RuntimeException e) {
+            subscription.cancel();
+            fail(e);
+        }
+    }
+
+    @Override
+    public final void onError(Throwable throwable) {
+        if (!result.isDone()) {
+            fail(throwable);
+        }
+    }
+
+    @Override
+    public final void onComplete() {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            result.complete(finish());
+        } catch (IOException e) {
+            result.completeExceptionally(new UncheckedIOException(e));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private void fail(Throwable throwable) {
+        try {
+            finish();
+        } catch (IOException | RuntimeException e) {
+            throwable.addSuppressed(e);
+        }
+        result.completeExceptionally(throwable);
+    }
+
+    /**
+     * Completed with the value of {@link #finish()} when the stream ends.
+     */
+    public CompletableFuture<R> getResult() {
+        return result;
+    }
+
+    protected abstract void accept(HandBatch batch) throws IOException;
+
+    /**
+     * Called once when the stream ends, also after a failure to release resources.
+     */
+    protected abstract R finish() throws IOException;
+}
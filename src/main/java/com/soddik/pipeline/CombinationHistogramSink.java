@@ -0,0 +1,31 @@
+package com.soddik.pipeline;
+
+import com.soddik.entity.Combination;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counts the hands of every {@link Combination}.
+ */
+public final class CombinationHistogramSink extends BatchSink<Map<Combination, Long>> {
+    private static final Combination[] COMBINATIONS = Combination.values();
+
+    private final long[] counts = new long[COMBINATIONS.length];
+
+    @Override
+    protected void accept(HandBatch batch) {
+        for (int hand = 0; hand < batch.size(); hand++) {
+            counts[batch.getCombination(hand).ordinal()]++;
+        }
+    }
+
+    @Override
+    protected Map<Combination, Long> finish() {
+        Map<Combination, Long> histogram = new EnumMap<>(Combination.class);
+        for (Combination combination : COMBINATIONS) {
+            histogram.put(combination, counts[combination.ordinal()]);
+        }
+        return histogram;
+    }
+}
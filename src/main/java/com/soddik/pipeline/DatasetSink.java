@@ -0,0 +1,31 @@
+package com.soddik.pipeline;
+
+import com.soddik.dataset.HandDatasetWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Writes every hand with its rank to a ranked {@link com.soddik.dataset.HandDataset} file, the result is the amount of
+ * hands written.
+ */
+public final class DatasetSink extends BatchSink<Long> {
+    private final HandDatasetWriter writer;
+
+    public DatasetSink(Path path) throws IOException {
+        this.writer = new HandDatasetWriter(path, 5, true);
+    }
+
+    @Override
+    protected void accept(HandBatch batch) throws IOException {
+        for (int hand = 0; hand < batch.size(); hand++) {
+            writer.write(batch.getCards(hand), batch.getRank(hand));
+        }
+    }
+
+    @Override
+    protected Long finish() throws IOException {
+        writer.close();
+        return writer.getCount();
+    }
+}
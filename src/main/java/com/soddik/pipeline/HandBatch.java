@@ -0,0 +1,37 @@
+package com.soddik.pipeline;
+
+import com.soddik.entity.Combination;
+import com.soddik.evaluator.HandEvaluator;
+
+/**
+ * Hands travelling together between the stages of a {@link HandPipeline}: packed cards (see
+ * {@link com.soddik.entity.Card}) and, once the batch passed the {@link RankingProcessor}, their ranks.
+ * A batch is filled by one stage and only read by the stages after it.
+ */
+public final class HandBatch {
+    final long[] cards;
+    final int[] ranks;
+    private final int size;
+
+    HandBatch(long[] cards, int size) {
+        this.cards = cards;
+        this.ranks = new int[size];
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getCards(int hand) {
+        return cards[hand];
+    }
+
+    public int getRank(int hand) {
+        return ranks[hand];
+    }
+
+    public Combination getCombination(int hand) {
+        return HandEvaluator.combination(ranks[hand]);
+    }
+}
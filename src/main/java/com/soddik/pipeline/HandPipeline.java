@@ -0,0 +1,74 @@
+package com.soddik.pipeline;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Generates, ranks and aggregates random hands as a chain of {@link java.util.concurrent.Flow} stages:
+ * <pre>
+ * {@link RandomHandPublisher} -&gt; {@link RankingProcessor} -&gt; {@link BatchSink} (one or more)
+ * </pre>
+ * Hands travel in batches. Generation and ranking run on pools of their own size and every stage only works on batches
+ * that were requested from it, so at any rate at most {@code buffer} batches are being ranked, {@code buffer} wait for
+ * every sink and {@link BatchSink#PREFETCH} are inside every sink: memory stays bounded while the slowest stage sets
+ * the pace.
+ */
+public final class HandPipeline {
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+    public static final int DEFAULT_BUFFER = 16;
+
+    private final int generators;
+    private final int rankers;
+    private final int batchSize;
+    private final int buffer;
+
+    public HandPipeline() {
+        this(Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors(),
+                DEFAULT_BATCH_SIZE, DEFAULT_BUFFER);
+    }
+
+    /**
+     * @param generators parallelism of hand generation
+     * @param rankers    parallelism of ranking, which also delivers batches to the sinks
+     * @param batchSize  hands per batch
+     * @param buffer     batches in flight between the stages
+     */
+    public HandPipeline(int generators, int rankers, int batchSize, int buffer) {
+        if (generators < 1 || rankers < 1 || batchSize < 1 || buffer < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Unexpected pipeline of %s generators, %s rankers, batches of %s and a buffer of %s",
+                    generators, rankers, batchSize, buffer));
+        }
+        this.generators = generators;
+        this.rankers = rankers;
+        this.batchSize = batchSize;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Runs the pipeline until every sink has its result, see {@link BatchSink#getResult()}.
+     *
+     * @throws CompletionException when a stage or a sink failed
+     */
+    public PipelineSummary run(long hands, long seed, BatchSink<?>... sinks) {
+        if (sinks.length == 0) {
+            throw new IllegalArgumentException("There must be at least one sink");
+        }
+        long start = System.nanoTime();
+        ForkJoinPool generation = new ForkJoinPool(generators);
+        ForkJoinPool ranking = new ForkJoinPool(rankers);
+        try (RankingProcessor processor = new RankingProcessor(ranking, buffer)) {
+            for (BatchSink<?> sink : sinks) {
+                processor.subscribe(sink);
+            }
+            new RandomHandPublisher(hands, batchSize, generators, seed, generation).subscribe(processor);
+            for (BatchSink<?> sink : sinks) {
+                sink.getResult().join();
+            }
+            return new PipelineSummary(processor.getHands(), processor.getBatches(), System.nanoTime() - start);
+        } finally {
+            generation.shutdownNow();
+            ranking.shutdownNow();
+        }
+    }
+}
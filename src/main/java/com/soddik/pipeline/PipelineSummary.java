@@ -0,0 +1,21 @@
+package com.soddik.pipeline;
+
+/**
+ * Totals of a {@link HandPipeline} run.
+ *
+ * @param hands   hands generated and ranked
+ * @param batches batches the hands travelled in
+ * @param nanos   wall clock time until every sink finished
+ */
+public record PipelineSummary(long hands, long batches, long nanos) {
+
+    public double handsPerSecond() {
+        return nanos == 0 ? 0 : hands * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Generated and ranked %d hands in %d batches in %.3f s, %.0f hands/s",
+                hands, batches, nanos / 1_000_000_000.0, handsPerSecond());
+    }
+}
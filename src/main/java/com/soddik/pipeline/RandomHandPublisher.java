@@ -0,0 +1,146 @@
+package com.soddik.pipeline;
+
+import com.soddik.generator.DeckGenerator;
+import com.soddik.generator.RandomHandGenerator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes a fixed amount of random five card hands in {@link HandBatch batches}, generated only on demand.
+ * <p>
+ * Up to {@code parallelism} workers on the executor deal batches at once, each with its own
+ * {@link RandomHandGenerator} split from the seed; a worker stops as soon as the subscriber has no outstanding demand,
+ * so no batch is generated that was not requested. Batches are handed to the subscriber one at a time in the order
+ * they are finished. Every subscriber gets its own hands.
+ */
+public final class RandomHandPublisher implements Flow.Publisher<HandBatch> {
+    private final long hands;
+    private final int batchSize;
+    private final int parallelism;
+    private final long seed;
+    private final Executor executor;
+
+    public RandomHandPublisher(long hands, int batchSize, int parallelism, long seed, Executor executor) {
+        if (hands < 0 || batchSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException(String.format("Unexpected %s hands in batches of %s by %s workers",
+                    hands, batchSize, parallelism));
+        }
+        this.hands = hands;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.seed = seed;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super HandBatch> subscriber) {
+        Generation generation = new Generation(subscriber);
+        subscriber.onSubscribe(generation);
+        if (hands == 0) {
+            generation.complete();
+        }
+    }
+
+    private final class Generation implements Flow.Subscription {
+        private final Flow.Subscriber<? super HandBatch> subscriber;
+        private final RandomHandGenerator[] generators = new RandomHandGenerator[parallelism];
+        private final AtomicBoolean[] busy = new AtomicBoolean[parallelism];
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicLong unclaimed = new AtomicLong(hands);
+        private final AtomicLong published = new AtomicLong();
+        private volatile boolean done;
+
+        private Generation(Flow.Subscriber<? super HandBatch> subscriber) {
+            this.subscriber = subscriber;
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int worker = 0; worker < parallelism; worker++) {
+                generators[worker] = new RandomHandGenerator(new DeckGenerator(), random.split());
+                busy[worker] = new AtomicBoolean();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException(String.format("Unexpected request of %s", n)));
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            for (int worker = 0; worker < parallelism; worker++) {
+                if (!busy[worker].get()) {
+                    start(worker);
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        private void start(int worker) {
+            if (!done && demand.get() > 0 && unclaimed.get() > 0 && busy[worker].compareAndSet(false, true)) {
+                executor.execute(() -> work(worker));
+            }
+        }
+
+        private void work(int worker) {
+            try {
+                int size;
+                while (!done && (size = claim()) > 0) {
+                    long[] cards = new long[size];
+                    for (int hand = 0; hand < size; hand++) {
+                        cards[hand] = generators[worker].generatePackedHand();
+                    }
+                    synchronized (this) {
+                        if (!done) {
+                            subscriber.onNext(new HandBatch(cards, size));
+                        }
+                    }
+                    if (published.addAndGet(size) == hands) {
+                        complete();
+                    }
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            } finally {
+                busy[worker].set(false);
+            }
+            // demand that arrived while the worker was stopping
+            start(worker);
+        }
+
+        /**
+         * Takes one unit of demand and the hands of one batch, {@code 0} when either is exhausted.
+         */
+        private int claim() {
+            if (demand.getAndUpdate(current -> current > 0 ? current - 1 : 0) <= 0) {
+                return 0;
+            }
+            long left = unclaimed.getAndUpdate(current -> Math.max(0, current - batchSize));
+            if (left <= 0) {
+                return 0;
+            }
+            return (int) Math.min(left, batchSize);
+        }
+
+        private synchronized void complete() {
+            if (!done) {
+                done = true;
+                subscriber.onComplete();
+            }
+        }
+
+        private synchronized void fail(Throwable throwable) {
+            if (!done) {
+                done = true;
+                subscriber.onError(throwable);
+            }
+        }
+    }
+}
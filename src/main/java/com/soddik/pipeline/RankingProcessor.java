@@ -0,0 +1,95 @@
+package com.soddik.pipeline;
+
+import com.soddik.evaluator.BatchHandEvaluator;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ranks the hands of every batch with {@link BatchHandEvaluator} and publishes the ranked batch to all of its
+ * subscribers.
+ * <p>
+ * At most {@code maxInFlight} batches are requested from upstream at a time and ranked on the executor in parallel;
+ * a new batch is requested only when one has been handed on. Ranked batches wait in a buffer of
+ * {@code maxInFlight} batches per subscriber and publishing blocks while a subscriber's buffer is full, so a slow
+ * subscriber slows this stage down and, through its demand, the stage before it. Batches leave in the order they are
+ * ranked.
+ */
+public final class RankingProcessor extends SubmissionPublisher<HandBatch>
+        implements Flow.Processor<HandBatch, HandBatch> {
+    private final Executor executor;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder hands = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private Flow.Subscription subscription;
+    private volatile boolean upstreamDone;
+
+    /**
+     * @param executor ranks the batches and delivers them to the subscribers, a {@link java.util.concurrent.ForkJoinPool}
+     *                 makes room for blocked publishing with spare threads
+     */
+    public RankingProcessor(Executor executor, int maxInFlight) {
+        super(executor, maxInFlight);
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("There must be at least one batch in flight");
+        }
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(maxInFlight);
+    }
+
+    @Override
+    public void onNext(HandBatch batch) {
+        inFlight.incrementAndGet();
+        executor.execute(() -> {
+            try {
+                BatchHandEvaluator.evaluate(batch.cards, 0, batch.size(), batch.ranks);
+                submit(batch);
+                hands.add(batch.size());
+                batches.increment();
+                subscription.request(1);
+            } catch (RuntimeException e) {
+                subscription.cancel();
+                closeExceptionally(e);
+            } finally {
+                if (inFlight.decrementAndGet() == 0 && upstreamDone) {
+                    close();
+                }
+            }
+        });
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        closeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        if (inFlight.get() == 0) {
+            close();
+        }
+    }
+
+    public long getHands() {
+        return hands.sum();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+}
@@ -0,0 +1,87 @@
+package com.soddik.pipeline;
+
+import com.soddik.entity.PokerHand;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the {@code k} strongest hands in a heap of primitives, the weakest kept hand on top; of hands with equal rank
+ * the first ones seen are kept. The result is ordered from the strongest hand.
+ */
+public final class TopHandsSink extends BatchSink<List<PokerHand>> {
+    private final long[] cards;
+    private final int[] ranks;
+    private int size;
+
+    public TopHandsSink(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException(String.format("Unexpected amount of hands %s", k));
+        }
+        this.cards = new long[k];
+        this.ranks = new int[k];
+    }
+
+    @Override
+    protected void accept(HandBatch batch) {
+        for (int hand = 0; hand < batch.size(); hand++) {
+            int rank = batch.getRank(hand);
+            if (size < ranks.length) {
+                cards[size] = batch.getCards(hand);
+                ranks[size] = rank;
+                siftUp(size++);
+            } else if (rank < ranks[0]) {
+                cards[0] = batch.getCards(hand);
+                ranks[0] = rank;
+                siftDown(0);
+            }
+        }
+    }
+
+    @Override
+    protected List<PokerHand> finish() {
+        List<PokerHand> hands = new ArrayList<>(size);
+        for (int hand = 0; hand < size; hand++) {
+            hands.add(new PokerHand(cards[hand]));
+        }
+        hands.sort(PokerHand::compareTo);
+        return hands;
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (ranks[parent] >= ranks[position]) {
+                return;
+            }
+            swap(parent, position);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int child = position * 2 + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && ranks[child + 1] > ranks[child]) {
+                child++;
+            }
+            if (ranks[position] >= ranks[child]) {
+                return;
+            }
+            swap(position, child);
+            position = child;
+        }
+    }
+
+    private void swap(int first, int second) {
+        long card = cards[first];
+        cards[first] = cards[second];
+        cards[second] = card;
+        int rank = ranks[first];
+        ranks[first] = ranks[second];
+        ranks[second] = rank;
+    }
+}
@@ -0,0 +1,117 @@
+package com.soddik.server;
+
+import com.soddik.entity.Card;
+import com.soddik.generator.Deck;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Load generator for {@link HandServer}: a closed loop of {@code concurrency} clients, each sending the next request as
+ * soon as the previous one is answered, so the offered load follows the server.
+ */
+public final class HandLoadClient {
+    private static final Logger logger = Logger.getLogger(HandLoadClient.class.getSimpleName());
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final URI endpoint;
+
+    public HandLoadClient(URI endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Usage: {@code <endpoint url> [requests] [concurrency] [hands per request]}, e.g.
+     * {@code http://localhost:8080/evaluate 10000 64 1000}.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int hands = args.length > 3 ? Integer.parseInt(args[3]) : 1_000;
+        HandLoadClient client = new HandLoadClient(URI.create(args[0]));
+        logger.info(client.run(requests, concurrency, randomHands(hands, 7, System.nanoTime()), hands).toString());
+    }
+
+    /**
+     * Sends the body {@code requests} times from {@code concurrency} threads.
+     *
+     * @param linesPerRequest hands in the body, counted for every request answered with {@code 200}
+     */
+    public LoadReport run(int requests, int concurrency, String body, int linesPerRequest) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(endpoint).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        LongAdder rejected = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder hands = new LongAdder();
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        for (int worker = 0; worker < concurrency; worker++) {
+            executor.execute(() -> {
+                for (int index = next.getAndIncrement(); index < requests; index = next.getAndIncrement()) {
+                    long sent = System.nanoTime();
+                    int status = send(request);
+                    latencies[index] = System.nanoTime() - sent;
+                    if (status == 200) {
+                        hands.add(linesPerRequest);
+                    } else if (status == 503) {
+                        rejected.increment();
+                    } else {
+                        failed.increment();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        long nanos = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new LoadReport(requests, rejected.sum(), failed.sum(), hands.sum(), nanos,
+                percentile(latencies, 0.5), percentile(latencies, 0.99));
+    }
+
+    /**
+     * Body of random hands of {@code cards} cards, one per line.
+     */
+    public static String randomHands(int hands, int cards, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Deck deck = new Deck();
+        int[] codes = new int[cards];
+        StringBuilder sb = new StringBuilder(hands * cards * 3);
+        for (int hand = 0; hand < hands; hand++) {
+            deck.deal(codes, 0, cards, random);
+            for (int card = 0; card < cards; card++) {
+                sb.append(Card.toString(codes[card])).append(card == cards - 1 ? '\n' : ' ');
+            }
+        }
+        return sb.toString();
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,349 @@
+package com.soddik.server;
+
+import com.soddik.entity.Card;
+import com.soddik.entity.Combination;
+import com.soddik.equity.EquityCalculator;
+import com.soddik.equity.EquityResult;
+import com.soddik.evaluator.HandEvaluator;
+import com.soddik.evaluator.SevenCardEvaluator;
+import com.soddik.exception.*;
+import com.soddik.parser.HandParser;
+import com.soddik.parser.ParseError;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Batch hand ranking over HTTP on the JDK built-in server.
+ * <p>
+ * Every endpoint takes a plain text {@code POST} body with one job per line and answers one line per job in the same
+ * order, so many hands travel in one request:
+ * <ul>
+ *     <li>{@code /evaluate}: a hand of 5 to 7 cards, e.g. {@code AS KS QS JS TS}; answers {@code <rank> <combination>},
+ *     {@code 0 UNKNOWN} for an invalid hand</li>
+ *     <li>{@code /compare}: hands separated by {@code |}; answers the place of every hand, {@code 0} for the best,
+ *     tied hands share the place</li>
+ *     <li>{@code /equity}: hole cards of every player separated by {@code |}, optionally {@code /} and the board, e.g.
+ *     {@code AS AH|KD KC/2C 7D 9H}; answers the equity of every player. The {@code boards} query parameter sets the
+ *     Monte Carlo runouts, at most {@value #MAX_EQUITY_BOARDS}; {@code 0} enumerates every board and needs at least a
+ *     flop. The lines times the boards per line, an exact line counting as {@value #MAX_EXACT_BOARDS}, must not exceed
+ *     {@value #MAX_EQUITY_WORK} per request, otherwise it is rejected with {@code 400}</li>
+ * </ul>
+ * Invalid lines of {@code /compare} and {@code /equity} answer {@code ERROR <reason>}. Requests run on a virtual thread
+ * each when the runtime has them, otherwise on a cached pool. At most {@code maxInFlight} requests are processed at
+ * once; a request waits up to {@value #ADMISSION_TIMEOUT_MILLIS} ms for a slot among at most {@code maxQueued} waiting
+ * ones and is rejected with {@code 503} and {@code Retry-After} otherwise, so a saturated server pushes back instead
+ * of queueing without bound. Bodies over {@value #MAX_BODY} bytes or {@value #MAX_LINES} lines are rejected with
+ * {@code 413}. An endpoint failing unexpectedly answers {@code 500}. {@code GET /stats} reports the admission counters.
+ */
+public final class HandServer {
+    public static final int DEFAULT_PORT = 8080;
+    public static final int MAX_BODY = 1 << 20;
+    public static final int MAX_LINES = 20_000;
+    public static final long ADMISSION_TIMEOUT_MILLIS = 100;
+    public static final long DEFAULT_EQUITY_BOARDS = 20_000;
+    public static final long MAX_EQUITY_BOARDS = 1_000_000;
+    /** Boards enumerated by an exact line from the flop on: every turn and river of 47 cards. */
+    public static final long MAX_EXACT_BOARDS = 1081;
+    public static final long MAX_EQUITY_WORK = 100_000_000;
+
+    private static final Logger logger = Logger.getLogger(HandServer.class.getSimpleName());
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final HandParser parser = new HandParser();
+    private final EquityCalculator calculator;
+    private final int maxQueued;
+    final Semaphore permits;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public HandServer(InetSocketAddress address, int maxInFlight, int maxQueued, EquityCalculator calculator)
+            throws IOException {
+        if (maxInFlight < 1 || maxQueued < 0) {
+            throw new IllegalArgumentException("There must be at least one request in flight");
+        }
+        this.permits = new Semaphore(maxInFlight, true);
+        this.maxQueued = maxQueued;
+        this.calculator = calculator;
+        this.executor = newRequestExecutor();
+        this.server = HttpServer.create(address, maxInFlight + maxQueued);
+        server.setExecutor(executor);
+        server.createContext("/evaluate", admitted(this::evaluate));
+        server.createContext("/compare", admitted(this::compare));
+        server.createContext("/equity", admitted(this::equity));
+        server.createContext("/stats", this::stats);
+    }
+
+    /**
+     * Usage: {@code [port] [max in flight] [max queued]}.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int processors = Runtime.getRuntime().availableProcessors();
+        int maxInFlight = args.length > 1 ? Integer.parseInt(args[1]) : processors * 2;
+        int maxQueued = args.length > 2 ? Integer.parseInt(args[2]) : maxInFlight * 4;
+        HandServer server = new HandServer(new InetSocketAddress(port), maxInFlight, maxQueued, new EquityCalculator());
+        server.start();
+        logger.info(String.format("Listening on port %s, %s requests in flight, %s queued",
+                server.getPort(), maxInFlight, maxQueued));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * A virtual thread per request on runtimes that have them. Looked up reflectively because the build targets a
+     * release without them.
+     */
+    static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            logger.info("Virtual threads are not available, requests run on a cached thread pool");
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private HttpHandler admitted(Endpoint endpoint) {
+        return exchange -> {
+            try (exchange) {
+                if (!"POST".equals(exchange.getRequestMethod())) {
+                    respond(exchange, 405, "Only POST is supported\n");
+                    return;
+                }
+                if (!admit()) {
+                    rejected.increment();
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    respond(exchange, 503, "Server is saturated\n");
+                    return;
+                }
+                try {
+                    accepted.increment();
+                    String body = readBody(exchange);
+                    if (body == null) {
+                        respond(exchange, 413, String.format("At most %s bytes and %s lines\n", MAX_BODY, MAX_LINES));
+                        return;
+                    }
+                    StringBuilder response = new StringBuilder(body.length());
+                    endpoint.handle(body, exchange.getRequestURI().getQuery(), response);
+                    respond(exchange, 200, response.toString());
+                } catch (IllegalArgumentException e) {
+                    respond(exchange, 400, e.getMessage() + "\n");
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, String.format("%s failed", exchange.getRequestURI()), e);
+                    respond(exchange, 500, e.getMessage() + "\n");
+                } finally {
+                    permits.release();
+                }
+            }
+        };
+    }
+
+    private boolean admit() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (permits.getQueueLength() >= maxQueued) {
+            return false;
+        }
+        try {
+            return permits.tryAcquire(ADMISSION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void evaluate(String body, String query, StringBuilder response) {
+        forEachLine(body, line -> {
+            long cards = parser.tryParseCards(line, 0, line.length());
+            int count = Card.count(cards);
+            int rank = ParseError.isError(cards) || count < SevenCardEvaluator.MIN_CARDS
+                    || count > SevenCardEvaluator.MAX_CARDS ? 0 : SevenCardEvaluator.evaluate(cards);
+            Combination combination = rank == 0 ? Combination.UNKNOWN : HandEvaluator.combination(rank);
+            response.append(rank).append(' ').append(combination).append('\n');
+        });
+    }
+
+    private void compare(String body, String query, StringBuilder response) {
+        forEachLine(body, line -> {
+            String[] hands = line.split("\\|");
+            int[] ranks = new int[hands.length];
+            try {
+                for (int hand = 0; hand < hands.length; hand++) {
+                    ranks[hand] = SevenCardEvaluator.evaluate(parser.parseCards(hands[hand].trim()));
+                }
+            } catch (CardAmountException | CardAttributeAmountException | UnexpectedCardAttributeValueException
+                     | UnexpectedCardAttributeKindException | UniqueCardException e) {
+                response.append("ERROR ").append(e.getMessage()).append('\n');
+                return;
+            }
+            for (int hand = 0; hand < ranks.length; hand++) {
+                int place = 0;
+                for (int other = 0; other < ranks.length; other++) {
+                    if (ranks[other] < ranks[hand] && isFirstOfRank(ranks, other)) {
+                        place++;
+                    }
+                }
+                response.append(hand == 0 ? "" : " ").append(place);
+            }
+            response.append('\n');
+        });
+    }
+
+    private void equity(String body, String query, StringBuilder response) {
+        long boards = queryParameter(query, "boards", DEFAULT_EQUITY_BOARDS);
+        if (boards < 0 || boards > MAX_EQUITY_BOARDS) {
+            throw new IllegalArgumentException(
+                    String.format("boards must be from 0 to %s, but is %s", MAX_EQUITY_BOARDS, boards));
+        }
+        long work = countLines(body) * (boards == 0 ? MAX_EXACT_BOARDS : boards);
+        if (work > MAX_EQUITY_WORK) {
+            throw new IllegalArgumentException(String.format(
+                    "At most %s boards per request, but %s are asked for, send fewer lines or boards",
+                    MAX_EQUITY_WORK, work));
+        }
+        forEachLine(body, line -> {
+            int slash = line.indexOf('/');
+            String[] players = (slash < 0 ? line : line.substring(0, slash)).split("\\|");
+            try {
+                long board = slash < 0 ? 0 : parser.parseCards(line.substring(slash + 1).trim());
+                if (boards == 0 && Card.count(board) < EquityCalculator.BOARD_SIZE - 2) {
+                    throw new IllegalArgumentException("Exact equity needs at least a flop");
+                }
+                long[] holeCards = new long[players.length];
+                for (int player = 0; player < players.length; player++) {
+                    holeCards[player] = parser.parseCards(players[player].trim());
+                }
+                EquityResult result = boards == 0 ? calculator.exact(holeCards, board, 0)
+                        : calculator.monteCarlo(holeCards, board, 0, boards, 0);
+                for (int player = 0; player < holeCards.length; player++) {
+                    response.append(player == 0 ? "" : " ").append(String.format("%.4f", result.getEquity(player)));
+                }
+                response.append('\n');
+            } catch (CardAmountException | CardAttributeAmountException | UnexpectedCardAttributeValueException
+                     | UnexpectedCardAttributeKindException | UniqueCardException | IllegalArgumentException e) {
+                response.append("ERROR ").append(e.getMessage()).append('\n');
+            }
+        });
+    }
+
+    private void stats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            respond(exchange, 200, String.format("accepted %d\nrejected %d\navailable %d\nqueued %d\n",
+                    getAccepted(), getRejected(), permits.availablePermits(), permits.getQueueLength()));
+        }
+    }
+
+    /**
+     * Whether no earlier hand has the same rank, so ties count once towards the places below them.
+     */
+    private static boolean isFirstOfRank(int[] ranks, int hand) {
+        for (int other = 0; other < hand; other++) {
+            if (ranks[other] == ranks[hand]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void forEachLine(String body, Consumer<String> job) {
+        int start = 0;
+        while (start < body.length()) {
+            int end = body.indexOf('\n', start);
+            end = end < 0 ? body.length() : end;
+            int contentEnd = end > start && body.charAt(end - 1) == '\r' ? end - 1 : end;
+            job.accept(body.substring(start, contentEnd));
+            start = end + 1;
+        }
+    }
+
+    private static long countLines(String body) {
+        long lines = 0;
+        int start = 0;
+        while (start < body.length()) {
+            int end = body.indexOf('\n', start);
+            lines++;
+            start = end < 0 ? body.length() : end + 1;
+        }
+        return lines;
+    }
+
+    /**
+     * The body, {@code null} when it is over the limits.
+     */
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream input = exchange.getRequestBody()) {
+            byte[] bytes = input.readNBytes(MAX_BODY + 1);
+            if (bytes.length > MAX_BODY) {
+                return null;
+            }
+            int lines = 0;
+            for (byte symbol : bytes) {
+                if (symbol == '\n' && ++lines > MAX_LINES) {
+                    return null;
+                }
+            }
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+    }
+
+    private static long queryParameter(String query, String name, long defaultValue) {
+        if (query == null) {
+            return defaultValue;
+        }
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith(name + "=")) {
+                return Long.parseLong(parameter.substring(name.length() + 1));
+            }
+        }
+        return defaultValue;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.US_ASCII);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=us-ascii");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        void handle(String body, String query, StringBuilder response);
+    }
+}
@@ -0,0 +1,32 @@
+package com.soddik.server;
+
+/**
+ * Totals of a {@link HandLoadClient} run. Latencies are measured from sending a request to reading its whole response,
+ * rejected and failed requests included.
+ *
+ * @param requests requests sent
+ * @param rejected requests answered with {@code 503} by the admission control
+ * @param failed   requests answered with another error status or not answered
+ * @param hands    hands in the requests answered with {@code 200}
+ * @param nanos    wall clock time of the run
+ * @param p50Nanos median latency
+ * @param p99Nanos 99th percentile latency
+ */
+public record LoadReport(long requests, long rejected, long failed, long hands, long nanos, long p50Nanos,
+                         long p99Nanos) {
+
+    public double requestsPerSecond() {
+        return nanos == 0 ? 0 : requests * 1_000_000_000.0 / nanos;
+    }
+
+    public double handsPerSecond() {
+        return nanos == 0 ? 0 : hands * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d requests (%d rejected, %d failed) in %.3f s, %.0f requests/s, %.0f hands/s, "
+                        + "p50 %.3f ms, p99 %.3f ms", requests, rejected, failed, nanos / 1_000_000_000.0,
+                requestsPerSecond(), handsPerSecond(), p50Nanos / 1_000_000.0, p99Nanos / 1_000_000.0);
+    }
+}
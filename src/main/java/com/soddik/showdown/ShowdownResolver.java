@@ -0,0 +1,188 @@
+package com.soddik.showdown;
+
+import com.soddik.entity.Card;
+import com.soddik.evaluator.SevenCardEvaluator;
+import com.soddik.exception.CardAmountException;
+import com.soddik.exception.UniqueCardException;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static com.soddik.showdown.ShowdownTables.MAX_PLAYERS;
+
+/**
+ * Ranks every seat of a {@link ShowdownTables} batch and splits the main and side pots.
+ * <p>
+ * The distinct stakes of a table cut the chips into layers: the layer between two stakes is a pot that only the seats
+ * who put in at least the upper stake and did not fold can win. Seats are sorted by stake once and pots are awarded
+ * from the top layer down, so the winners of every pot follow from the winners of the pot above and the seats that join
+ * at its level. Chips of a layer nobody can win, put in above every remaining seat by folded seats, go to the next pot
+ * below. Tied winners split a pot evenly and the odd chips go one each to the winners in seat order. The tables are
+ * split across a {@link ForkJoinPool}, every seat is ranked once with {@link SevenCardEvaluator} and nothing is
+ * allocated per table.
+ */
+public final class ShowdownResolver {
+    public static final int BOARD_SIZE = 5;
+    public static final int HOLE_CARDS = 2;
+
+    private static final int THRESHOLD = 512;
+    private static final int FOLDED = Integer.MAX_VALUE;
+
+    private final ForkJoinPool pool;
+
+    public ShowdownResolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ShowdownResolver(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Fills the ranks and payouts of every table in the batch.
+     */
+    public ShowdownSummary resolve(ShowdownTables tables) {
+        long start = System.nanoTime();
+        long pots = pool.invoke(new Resolution(tables, 0, tables.size()));
+        return new ShowdownSummary(tables.size(), pots, System.nanoTime() - start);
+    }
+
+    /**
+     * Resolves one table.
+     *
+     * @param order   scratch space for the seats by descending stake
+     * @param winners scratch space for the seats sharing the best rank, in seat order
+     * @return amount of pots awarded
+     */
+    static int resolve(ShowdownTables tables, int table, int[] order, int[] winners) {
+        int players = tables.players[table];
+        int first = table * MAX_PLAYERS;
+        long board = tables.boards[table];
+        if (Card.count(board) != BOARD_SIZE || !Card.isValidMask(board)) {
+            throw new CardAmountException(
+                    String.format("There must be exactly 5 board cards, but there are %s", Card.count(board)));
+        }
+
+        long known = board;
+        for (int seat = first; seat < first + players; seat++) {
+            long hole = tables.holeCards[seat];
+            if (tables.stakes[seat] < 0) {
+                throw new IllegalArgumentException(
+                        String.format("Unexpected stake %s of table %s", tables.stakes[seat], table));
+            }
+            tables.payouts[seat] = 0;
+            if (hole == 0) {
+                tables.ranks[seat] = FOLDED;
+            } else {
+                if (Card.count(hole) != HOLE_CARDS || !Card.isValidMask(hole)) {
+                    throw new CardAmountException(
+                            String.format("There must be exactly 2 hole cards, but there are %s", Card.count(hole)));
+                }
+                if ((known & hole) != 0) {
+                    throw new UniqueCardException(
+                            String.format("Hole cards must be unique among players and the board of table %s", table));
+                }
+                known |= hole;
+                tables.ranks[seat] = SevenCardEvaluator.evaluate(board | hole);
+            }
+        }
+
+        sortByStake(tables.stakes, first, players, order);
+        int winnerCount = 0;
+        int best = FOLDED;
+        int pots = 0;
+        long carry = 0;
+        int position = 0;
+        while (position < players) {
+            long level = tables.stakes[order[position]];
+            int end = position;
+            while (end < players && tables.stakes[order[end]] == level) {
+                int seat = order[end++];
+                int rank = tables.ranks[seat];
+                if (rank < best) {
+                    best = rank;
+                    winnerCount = 0;
+                }
+                if (rank == best && rank != FOLDED) {
+                    winnerCount = insertSeat(winners, winnerCount, seat);
+                }
+            }
+            long next = end < players ? tables.stakes[order[end]] : 0;
+            long amount = carry + (level - next) * end;
+            position = end;
+            if (winnerCount == 0 || amount == 0) {
+                carry = amount;
+                continue;
+            }
+            long share = amount / winnerCount;
+            long oddChips = amount % winnerCount;
+            for (int winner = 0; winner < winnerCount; winner++) {
+                tables.payouts[winners[winner]] += share + (winner < oddChips ? 1 : 0);
+            }
+            carry = 0;
+            pots++;
+        }
+        if (carry != 0) {
+            throw new IllegalArgumentException(String.format("Nobody can win the pot of table %s", table));
+        }
+        return pots;
+    }
+
+    /**
+     * Writes the seats of the table to {@code order} by descending stake.
+     */
+    private static void sortByStake(long[] stakes, int first, int players, int[] order) {
+        for (int index = 0; index < players; index++) {
+            int seat = first + index;
+            int position = index;
+            while (position > 0 && stakes[order[position - 1]] < stakes[seat]) {
+                order[position] = order[position - 1];
+                position--;
+            }
+            order[position] = seat;
+        }
+    }
+
+    /**
+     * Adds the seat to the winners kept in seat order.
+     */
+    private static int insertSeat(int[] winners, int count, int seat) {
+        int position = count;
+        while (position > 0 && winners[position - 1] > seat) {
+            winners[position] = winners[position - 1];
+            position--;
+        }
+        winners[position] = seat;
+        return count + 1;
+    }
+
+    private static final class Resolution extends RecursiveTask<Long> {
+        private final ShowdownTables tables;
+        private final int from;
+        private final int to;
+
+        private Resolution(ShowdownTables tables, int from, int to) {
+            this.tables = tables;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from > THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                Resolution right = new Resolution(tables, middle, to);
+                right.fork();
+                long pots = new Resolution(tables, from, middle).compute();
+                return pots + right.join();
+            }
+            int[] order = new int[MAX_PLAYERS];
+            int[] winners = new int[MAX_PLAYERS];
+            long pots = 0;
+            for (int table = from; table < to; table++) {
+                pots += resolve(tables, table, order, winners);
+            }
+            return pots;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.soddik.showdown;
+
+/**
+ * Totals of a batch resolved by {@link ShowdownResolver}.
+ *
+ * @param tables showdowns resolved
+ * @param pots   main and side pots awarded
+ * @param nanos  wall clock time of the batch
+ */
+public record ShowdownSummary(long tables, long pots, long nanos) {
+
+    public double showdownsPerSecond() {
+        return nanos == 0 ? 0 : tables * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Resolved %d showdowns (%d pots) in %.3f s, %.0f showdowns/s",
+                tables, pots, nanos / 1_000_000_000.0, showdownsPerSecond());
+    }
+}
@@ -0,0 +1,84 @@
+package com.soddik.showdown;
+
+import java.util.Arrays;
+
+/**
+ * A batch of showdowns kept in flat primitive arrays, {@value #MAX_PLAYERS} seats per table.
+ * <p>
+ * Every seat has packed hole cards (see {@link com.soddik.entity.Card}) and the total amount it put in the pot. A seat
+ * with hole cards {@code 0} has folded: its chips stay in the pots but it cannot win them. {@link ShowdownResolver}
+ * fills the rank and payout of every seat. The batch can be cleared and refilled without allocating.
+ */
+public final class ShowdownTables {
+    public static final int MAX_PLAYERS = 10;
+
+    final long[] boards;
+    final int[] players;
+    final long[] holeCards;
+    final long[] stakes;
+    final int[] ranks;
+    final long[] payouts;
+    private int size;
+
+    public ShowdownTables(int capacity) {
+        this.boards = new long[capacity];
+        this.players = new int[capacity];
+        this.holeCards = new long[capacity * MAX_PLAYERS];
+        this.stakes = new long[capacity * MAX_PLAYERS];
+        this.ranks = new int[capacity * MAX_PLAYERS];
+        this.payouts = new long[capacity * MAX_PLAYERS];
+    }
+
+    /**
+     * @param board     packed five board cards
+     * @param holeCards packed two hole cards per seat, {@code 0} for a folded seat
+     * @param stakes    chips put in by every seat
+     * @return index of the table
+     */
+    public int add(long board, long[] holeCards, long[] stakes) {
+        if (size == boards.length) {
+            throw new IllegalStateException(String.format("The batch is full with %s tables", size));
+        }
+        if (holeCards.length < 1 || holeCards.length > MAX_PLAYERS || stakes.length != holeCards.length) {
+            throw new IllegalArgumentException(
+                    String.format("There must be from 1 to 10 seats, but there are %s", holeCards.length));
+        }
+        int table = size++;
+        boards[table] = board;
+        players[table] = holeCards.length;
+        System.arraycopy(holeCards, 0, this.holeCards, table * MAX_PLAYERS, holeCards.length);
+        System.arraycopy(stakes, 0, this.stakes, table * MAX_PLAYERS, stakes.length);
+        return table;
+    }
+
+    public void clear() {
+        Arrays.fill(payouts, 0, size * MAX_PLAYERS, 0);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return boards.length;
+    }
+
+    public int getPlayers(int table) {
+        return players[table];
+    }
+
+    /**
+     * Chips won by the seat, the payouts of a table add up to its stakes.
+     */
+    public long getPayout(int table, int seat) {
+        return payouts[table * MAX_PLAYERS + seat];
+    }
+
+    /**
+     * Rank of the best hand of the seat, {@link Integer#MAX_VALUE} for a folded seat.
+     */
+    public int getRank(int table, int seat) {
+        return ranks[table * MAX_PLAYERS + seat];
+    }
+}
@@ -0,0 +1,58 @@
+package com.soddik.batch;
+
+import com.soddik.entity.Combination;
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+class BulkHandRankerTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void checkOutputFollowsInputLines() throws IOException {
+        Path input = directory.resolve("hands.txt");
+        Path output = directory.resolve("ranks.txt");
+        Files.writeString(input, "AC JC KC QC TC\n7C 5S 4D 3H 2C\r\nAS AS TD 3H 6C\n\nJC JS JD JH 6C\n3S 2C 4H 5C 6D");
+
+        RankingSummary summary = new BulkHandRanker(new HandParser(), 3, 16).rank(input, output);
+
+        Assertions.assertEquals(List.of("1 ROYAL_FLUSH", "7462 HIGH_CARD", "0 UNKNOWN", "0 UNKNOWN",
+                "54 FOUR_OF_A_KIND", "1608 STRAIGHT"), Files.readAllLines(output));
+        Assertions.assertEquals(6, summary.hands());
+        Assertions.assertEquals(2, summary.invalid());
+    }
+
+    @Test
+    void checkChunkOfShortLinesContinues() throws IOException {
+        Path input = directory.resolve("blank.txt");
+        Path output = directory.resolve("ranks.txt");
+        // blank lines rank into more output than a buffer holds, so the chunks are continued
+        int blank = 3 * BulkHandRanker.SLICE_SIZE;
+        Files.writeString(input, "\n".repeat(blank) + "AC JC KC QC TC\n");
+
+        RankingSummary summary = new BulkHandRanker(new HandParser(), 2, 2 * BulkHandRanker.SLICE_SIZE)
+                .rank(input, output);
+
+        List<String> lines = Files.readAllLines(output);
+        Assertions.assertEquals(blank + 1, lines.size());
+        Assertions.assertTrue(lines.subList(0, blank).stream().allMatch("0 UNKNOWN"::equals));
+        Assertions.assertEquals("1 ROYAL_FLUSH", lines.get(blank));
+        Assertions.assertEquals(blank + 1, summary.hands());
+        Assertions.assertEquals(blank, summary.invalid());
+    }
+
+    @Test
+    void checkOutputLineBounds() {
+        for (Combination combination : Combination.values()) {
+            Assertions.assertTrue(("7462 " + combination + "\n").length() <= BulkHandRanker.MAX_OUTPUT_LINE);
+        }
+        Assertions.assertEquals(BulkHandRanker.MIN_HAND_LINE, "AS KS QS JS TS\n".length());
+    }
+}
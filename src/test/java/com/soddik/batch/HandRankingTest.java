@@ -0,0 +1,66 @@
+package com.soddik.batch;
+
+import com.soddik.entity.PokerHand;
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+class HandRankingTest {
+    @Test
+    void checkOrderMatchesCompareTo() {
+        HandParser parser = new HandParser();
+        List<PokerHand> hands = new ArrayList<>();
+        for (String hand : List.of("2C 3C 4C 5C 7D", "AS KS QS JS TS", "2H 3H 4H 5H 7S", "KD KH 5S 5C 9D",
+                "KS KC 5H 5D 9S", "AH AD 2C 3S 4D")) {
+            hands.add(new PokerHand(hand, parser));
+        }
+        List<PokerHand> expected = new ArrayList<>(hands);
+        expected.sort(PokerHand::compareTo);
+
+        HandRanking ranking = HandRanking.of(hands);
+        HandRanking.sort(hands);
+
+        Assertions.assertEquals(expected, hands);
+        Assertions.assertEquals(4, ranking.groups());
+        Assertions.assertArrayEquals(new int[]{1}, ranking.winners());
+        Assertions.assertEquals(1, ranking.place(3));
+        Assertions.assertEquals(1, ranking.place(4));
+        Assertions.assertEquals(3, ranking.place(0));
+        Assertions.assertEquals(3, ranking.place(2));
+        Assertions.assertArrayEquals(new int[]{0, 2}, IntStream.range(ranking.groupStart(3), ranking.groupEnd(3))
+                .map(ranking::hand).toArray());
+    }
+
+    @Test
+    void checkParallelRankingIsStable() {
+        SplittableRandom random = new SplittableRandom(3);
+        int[] ranks = new int[300_000];
+        for (int index = 0; index < ranks.length; index++) {
+            ranks[index] = 1 + random.nextInt(7462);
+        }
+        Integer[] expected = new Integer[ranks.length];
+        Arrays.setAll(expected, index -> index);
+        Arrays.sort(expected, Comparator.comparingInt(index -> ranks[index]));
+
+        HandRanking ranking = HandRanking.of(ranks, new ForkJoinPool(3));
+
+        int place = 0;
+        for (int position = 0; position < ranks.length; position++) {
+            Assertions.assertEquals(expected[position], ranking.hand(position));
+            if (position > 0 && ranks[ranking.hand(position)] != ranks[ranking.hand(position - 1)]) {
+                place++;
+            }
+            Assertions.assertEquals(place, ranking.place(ranking.hand(position)));
+        }
+        Assertions.assertEquals(place + 1, ranking.groups());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HandRanking.of(new int[]{1, 7463}));
+    }
+}
@@ -0,0 +1,25 @@
+package com.soddik.batch;
+
+import com.soddik.entity.Combination;
+import com.soddik.evaluator.HandEvaluator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+class HandSpaceEnumeratorTest {
+    @Test
+    void checkEveryHandMatchesKnownFrequencies() {
+        HandSpaceStatistics statistics = new HandSpaceEnumerator(new ForkJoinPool(3)).enumerate();
+
+        Assertions.assertEquals(2_598_960, statistics.getHands());
+        Assertions.assertEquals(HandEvaluator.WORST_RANK, statistics.getDistinctRanks());
+        for (Combination combination : Combination.values()) {
+            Assertions.assertEquals(HandSpaceStatistics.getExpected(combination), statistics.getCount(combination),
+                    combination.name());
+        }
+        Assertions.assertTrue(statistics.isExpected());
+        Assertions.assertEquals(4, statistics.getRankCount(HandEvaluator.BEST_RANK));
+        Assertions.assertEquals(1020, statistics.getRankCount(HandEvaluator.WORST_RANK));
+    }
+}
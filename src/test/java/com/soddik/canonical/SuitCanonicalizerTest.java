@@ -0,0 +1,101 @@
+package com.soddik.canonical;
+
+import com.soddik.evaluator.HandEvaluator;
+import com.soddik.evaluator.SevenCardEvaluator;
+import com.soddik.exception.CardAmountException;
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+class SuitCanonicalizerTest {
+    private final HandParser parser = new HandParser();
+
+    @Test
+    void checkKnownClassCounts() {
+        Assertions.assertEquals(169, new SuitCanonicalizer(2).size());
+        Assertions.assertEquals(134_459, new SuitCanonicalizer(5).size());
+        Assertions.assertEquals(1_286_792, new SuitCanonicalizer(2, 3).size());
+        Assertions.assertEquals(13_960_050, new SuitCanonicalizer(2, 4).size());
+    }
+
+    @Test
+    void checkMultiplicitiesCoverEveryHand() {
+        SuitCanonicalizer canonicalizer = new SuitCanonicalizer(5);
+        long[] hands = {0};
+        long[] frequencies = new long[HandEvaluator.WORST_RANK + 1];
+        canonicalizer.forEach((index, groups, multiplicity) -> {
+            Assertions.assertEquals(index, canonicalizer.index(groups[0]));
+            Assertions.assertEquals(groups[0], canonicalizer.canonicalize(groups[0]));
+            hands[0] += multiplicity;
+            frequencies[HandEvaluator.evaluate(groups[0])] += multiplicity;
+        });
+
+        Assertions.assertEquals(2_598_960, hands[0]);
+        Assertions.assertEquals(4, frequencies[HandEvaluator.BEST_RANK]);
+        Assertions.assertEquals(1020, frequencies[HandEvaluator.WORST_RANK]);
+    }
+
+    @Test
+    void checkIndexRoundTrip() {
+        SuitCanonicalizer canonicalizer = new SuitCanonicalizer(2, 3);
+        long[] groups = new long[2];
+        long total = 0;
+        for (long index = 0; index < canonicalizer.size(); index++) {
+            canonicalizer.unindex(index, groups);
+            Assertions.assertEquals(index, canonicalizer.index(groups));
+            total += canonicalizer.multiplicity(index);
+        }
+        Assertions.assertEquals(1326L * 19600, total);
+    }
+
+    @Test
+    void checkKindPermutationsShareTheClass() {
+        SuitCanonicalizer canonicalizer = new SuitCanonicalizer(2, 5);
+        SplittableRandom random = new SplittableRandom(11);
+        int[][] permutations = {{1, 0, 2, 3}, {3, 2, 1, 0}, {2, 3, 0, 1}, {1, 2, 3, 0}};
+        for (int sample = 0; sample < 20_000; sample++) {
+            long hole = randomCards(random, 2, 0);
+            long board = randomCards(random, 5, hole);
+            long index = canonicalizer.index(hole, board);
+            long[] canonical = {hole, board};
+            canonicalizer.canonicalize(canonical);
+            Assertions.assertEquals(SevenCardEvaluator.evaluate(hole | board),
+                    SevenCardEvaluator.evaluate(canonical[0] | canonical[1]));
+            for (int[] permutation : permutations) {
+                Assertions.assertEquals(index, canonicalizer.index(permute(hole, permutation), permute(board, permutation)));
+            }
+        }
+    }
+
+    @Test
+    void checkGroupsAreDistinguished() {
+        SuitCanonicalizer canonicalizer = new SuitCanonicalizer(2, 3);
+        Assertions.assertEquals(canonicalizer.index(parser.parseCards("AS KS"), parser.parseCards("2H 3H 4D")),
+                canonicalizer.index(parser.parseCards("AD KD"), parser.parseCards("2C 3C 4S")));
+        Assertions.assertNotEquals(canonicalizer.index(parser.parseCards("AS KS"), parser.parseCards("2S 3H 4D")),
+                canonicalizer.index(parser.parseCards("AS KH"), parser.parseCards("2S 3H 4D")));
+        Assertions.assertThrows(CardAmountException.class,
+                () -> canonicalizer.index(parser.parseCards("AS KS QS"), parser.parseCards("2H 3H")));
+    }
+
+    private static long randomCards(SplittableRandom random, int amount, long dead) {
+        long cards = 0;
+        while (Long.bitCount(cards) < amount) {
+            long card = 1L << (random.nextInt(4) << 4 | random.nextInt(13));
+            if ((card & dead) == 0) {
+                cards |= card;
+            }
+        }
+        return cards;
+    }
+
+    private static long permute(long cards, int[] permutation) {
+        long result = 0;
+        for (int kind = 0; kind < 4; kind++) {
+            result |= (cards >>> (kind << 4) & 0x1FFF) << (permutation[kind] << 4);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,149 @@
+package com.soddik.dataset;
+
+import com.soddik.batch.RankingSummary;
+import com.soddik.entity.Combination;
+import com.soddik.evaluator.HandEvaluator;
+import com.soddik.evaluator.SevenCardEvaluator;
+import com.soddik.exception.CardAmountException;
+import com.soddik.generator.Deck;
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.SplittableRandom;
+
+class HandDatasetTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void checkRankedRoundTrip() throws IOException {
+        long[] hands = randomHands(10_000, 5, 1);
+        Path path = directory.resolve("ranked.thhd");
+        try (HandDatasetWriter writer = new HandDatasetWriter(path, 5, true)) {
+            for (long hand : hands) {
+                writer.write(hand);
+            }
+            Assertions.assertEquals(hands.length, writer.getCount());
+        }
+        Assertions.assertEquals(HandDataset.HEADER_SIZE + 6L * hands.length, Files.size(path));
+
+        try (HandDatasetReader reader = HandDatasetReader.open(path)) {
+            Assertions.assertEquals(hands.length, reader.size());
+            Assertions.assertEquals(5, reader.getHandSize());
+            Assertions.assertTrue(reader.isRanked());
+            for (int record = 0; record < hands.length; record++) {
+                int rank = HandEvaluator.evaluate(hands[record]);
+                Assertions.assertEquals(hands[record], reader.cards(record));
+                Assertions.assertEquals(rank, reader.rank(record));
+                Assertions.assertEquals(HandEvaluator.combination(rank), reader.combination(record));
+            }
+            long[] records = {0};
+            reader.forEach(100, 200, (record, cards, rank) -> {
+                Assertions.assertEquals(100 + records[0]++, record);
+                Assertions.assertEquals(hands[(int) record], cards);
+                Assertions.assertEquals(HandEvaluator.evaluate(cards), rank);
+            });
+            Assertions.assertEquals(100, records[0]);
+        }
+    }
+
+    @Test
+    void checkUnrankedSevenCardRoundTrip() throws IOException {
+        long[] hands = randomHands(5_000, 7, 2);
+        Path path = directory.resolve("unranked.thhd");
+        try (HandDatasetWriter writer = new HandDatasetWriter(path, 7, false)) {
+            for (long hand : hands) {
+                writer.write(hand);
+            }
+        }
+        Assertions.assertEquals(HandDataset.HEADER_SIZE + 4L * hands.length, Files.size(path));
+
+        try (HandDatasetReader reader = HandDatasetReader.open(path)) {
+            Assertions.assertFalse(reader.isRanked());
+            long[] records = {0};
+            reader.forEach((record, cards, rank) -> {
+                Assertions.assertEquals(hands[(int) record], cards);
+                Assertions.assertEquals(0, rank);
+                records[0]++;
+            });
+            Assertions.assertEquals(hands.length, records[0]);
+            Assertions.assertEquals(SevenCardEvaluator.evaluate(hands[42]), reader.rank(42));
+        }
+    }
+
+    @Test
+    void checkExtremeIndexes() throws IOException {
+        HandParser parser = new HandParser();
+        long lowest = parser.parseCards("2C 2D 2H 2S 3C 3D 3H");
+        long highest = parser.parseCards("KC KD KH KS AD AH AS");
+        Path path = directory.resolve("extremes.thhd");
+        try (HandDatasetWriter writer = new HandDatasetWriter(path, 7, true)) {
+            writer.write(lowest);
+            writer.write(highest);
+        }
+        try (HandDatasetReader reader = HandDatasetReader.open(path)) {
+            Assertions.assertEquals(lowest, reader.cards(0));
+            Assertions.assertEquals(highest, reader.cards(1));
+            Assertions.assertEquals(Combination.FOUR_OF_A_KIND, reader.combination(0));
+            Assertions.assertEquals(Combination.FOUR_OF_A_KIND, reader.combination(1));
+        }
+    }
+
+    @Test
+    void checkTextConversion() throws IOException {
+        Path text = directory.resolve("hands.txt");
+        Path dataset = directory.resolve("hands.thhd");
+        Path back = directory.resolve("back.txt");
+        Files.writeString(text, "AC JC KC QC TC\nAS AS TD 3H 6C\n7C 5S 4D 3H 2C\nJC JS JD\n");
+
+        RankingSummary summary = HandDatasetConverter.toBinary(text, dataset, 5, true);
+        Assertions.assertEquals(4, summary.hands());
+        Assertions.assertEquals(2, summary.invalid());
+        Assertions.assertEquals(2, HandDatasetConverter.toText(dataset, back));
+        Assertions.assertEquals(List.of("TC JC QC KC AC", "2C 3H 4D 5S 7C"), Files.readAllLines(back));
+    }
+
+    @Test
+    void checkInvalidFiles() throws IOException {
+        Path path = directory.resolve("open.thhd");
+        HandDatasetWriter writer = new HandDatasetWriter(path, 5, false);
+        writer.write(new HandParser().parseCards("AC JC KC QC TC"));
+        Assertions.assertThrows(CardAmountException.class, () -> writer.write(new HandParser().parseCards("AC JC")));
+        writer.close();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(HandDataset.HEADER_SIZE + 2);
+        }
+        Assertions.assertThrows(IOException.class, () -> HandDatasetReader.open(path));
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 0x1234), 0);
+        }
+        Assertions.assertThrows(IOException.class, () -> HandDatasetReader.open(path));
+
+        Path text = directory.resolve("text.thhd");
+        Files.writeString(text, "AC JC KC QC TC\n");
+        Assertions.assertThrows(IOException.class, () -> HandDatasetReader.open(text));
+        Assertions.assertThrows(CardAmountException.class,
+                () -> new HandDatasetWriter(directory.resolve("small.thhd"), 4, true));
+    }
+
+    private static long[] randomHands(int amount, int cards, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Deck deck = new Deck();
+        long[] hands = new long[amount];
+        for (int hand = 0; hand < amount; hand++) {
+            hands[hand] = deck.deal(cards, random);
+        }
+        return hands;
+    }
+}
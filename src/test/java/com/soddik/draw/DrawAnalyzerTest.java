@@ -0,0 +1,187 @@
+package com.soddik.draw;
+
+import com.soddik.entity.Card;
+import com.soddik.entity.Combination;
+import com.soddik.evaluator.HandEvaluator;
+import com.soddik.evaluator.SevenCardEvaluator;
+import com.soddik.exception.CardAmountException;
+import com.soddik.exception.UniqueCardException;
+import com.soddik.generator.Deck;
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.soddik.entity.Combination.*;
+
+class DrawAnalyzerTest {
+    private final HandParser parser = new HandParser();
+    private final DrawAnalyzer analyzer = new DrawAnalyzer(new ForkJoinPool(2));
+
+    @Test
+    void checkAgainstEveryRunout() {
+        SplittableRandom random = new SplittableRandom(24);
+        for (int iteration = 0; iteration < 200; iteration++) {
+            long dead = iteration % 4 == 0 ? new Deck().deal(2, random) : 0;
+            long hole = new Deck(dead).deal(2, random);
+            long board = new Deck(dead | hole).deal(3 + iteration % 2, random);
+            long known = dead | hole | board;
+            long[] opponents = new long[iteration % 4];
+            for (int opponent = 0; opponent < opponents.length; opponent++) {
+                opponents[opponent] = new Deck(known).deal(2, random);
+                known |= opponents[opponent];
+            }
+            DrawSituations situations = analyzer.analyze(hole, board, opponents, dead);
+            checkSituation(situations, hole, board, opponents, known);
+        }
+    }
+
+    @Test
+    void checkBatchMatchesSingleSituations() {
+        SplittableRandom random = new SplittableRandom(42);
+        DrawSituations situations = new DrawSituations(500);
+        for (int situation = 0; situation < situations.capacity(); situation++) {
+            long hole = new Deck().deal(2, random);
+            long board = new Deck(hole).deal(3 + situation % 2, random);
+            situations.add(hole, board, new long[]{new Deck(hole | board).deal(2, random)}, 0);
+        }
+        DrawSummary summary = analyzer.analyze(situations);
+        Assertions.assertEquals(500, summary.situations());
+
+        long runouts = 0;
+        for (int situation = 0; situation < situations.size(); situation++) {
+            long hole = situations.holeCards[situation];
+            long board = situations.boards[situation];
+            DrawSituations single = analyzer.analyze(hole, board,
+                    new long[]{situations.opponents[situation * DrawSituations.MAX_OPPONENTS]}, 0);
+            Assertions.assertEquals(single.getOuts(0), situations.getOuts(situation));
+            Assertions.assertEquals(single.getWinProbability(0), situations.getWinProbability(situation));
+            Assertions.assertEquals(single.getProbability(0, FLUSH), situations.getProbability(situation, FLUSH));
+            runouts += situations.getRunouts(situation);
+        }
+        Assertions.assertEquals(runouts, summary.runouts());
+
+        // a second analysis of the same batch starts the counts over
+        analyzer.analyze(situations);
+        Assertions.assertEquals(1, situations.getProbabilityAtLeast(0, HIGH_CARD), 1e-12);
+    }
+
+    @Test
+    void checkDraws() {
+        // nine spades complete the flush draw, fourteen more cards pair the hand or the board
+        DrawSituations flushDraw = analyzer.analyze(parser.parseCards("AS KS"), parser.parseCards("QS 7S 2D"),
+                new long[0], 0);
+        long spades = parser.parseCards("JS TS 9S 8S 6S 5S 4S 3S 2S");
+        Assertions.assertEquals(spades, flushDraw.getCombinationOuts(0) & spades);
+        Assertions.assertEquals(23, Card.count(flushDraw.getCombinationOuts(0)));
+        Assertions.assertEquals(1081, flushDraw.getRunouts(0));
+        // nine spades on the turn and two non-spades on both streets
+        Assertions.assertEquals((9.0 * 38 + 9 * 8 / 2) / 1081, flushDraw.getProbabilityAtLeast(0, FLUSH), 1e-12);
+
+        // an open ended straight draw against a set: eight straight outs, none of them pairs the board
+        DrawSituations straightDraw = analyzer.analyze(parser.parseCards("9H 8H"), parser.parseCards("7C 6D 2S"),
+                new long[]{parser.parseCards("2C 2D")}, 0);
+        Assertions.assertEquals(parser.parseCards("TS TH TD TC 5S 5H 5D 5C"), straightDraw.getRankingOuts(0));
+        Assertions.assertEquals(1, straightDraw.getWinProbability(0) + straightDraw.getTieProbability(0)
+                + lossProbability(straightDraw), 1e-12);
+
+        // the same draw on the turn with two fives dead
+        DrawSituations turn = analyzer.analyze(parser.parseCards("9H 8H"), parser.parseCards("7C 6D 2S KD"),
+                new long[]{parser.parseCards("2C 2D")}, parser.parseCards("5S 5H"));
+        Assertions.assertEquals(parser.parseCards("TS TH TD TC 5D 5C"), turn.getRankingOuts(0));
+        Assertions.assertEquals(42, turn.getRunouts(0));
+        Assertions.assertEquals(6.0 / 42, turn.getWinProbability(0), 1e-12);
+    }
+
+    @Test
+    void checkExceptions() {
+        Assertions.assertThrows(CardAmountException.class, () -> analyzer.analyze(
+                parser.parseCards("AS KS QS"), parser.parseCards("7S 2D 3C"), new long[0], 0));
+        Assertions.assertThrows(CardAmountException.class, () -> analyzer.analyze(
+                parser.parseCards("AS KS"), parser.parseCards("7S 2D 3C 4C 5C"), new long[0], 0));
+        Assertions.assertThrows(UniqueCardException.class, () -> analyzer.analyze(
+                parser.parseCards("AS KS"), parser.parseCards("AS 2D 3C"), new long[0], 0));
+        Assertions.assertThrows(UniqueCardException.class, () -> analyzer.analyze(
+                parser.parseCards("AS KS"), parser.parseCards("7S 2D 3C"), new long[]{parser.parseCards("KS QS")}, 0));
+        Assertions.assertThrows(UniqueCardException.class, () -> analyzer.analyze(
+                parser.parseCards("AS KS"), parser.parseCards("7S 2D 3C"), new long[0], parser.parseCards("2D")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new DrawSituations(1).add(
+                parser.parseCards("AS KS"), parser.parseCards("7S 2D 3C"), new long[10], 0));
+        DrawSituations full = new DrawSituations(1);
+        full.add(parser.parseCards("AS KS"), parser.parseCards("7S 2D 3C"), new long[0], 0);
+        Assertions.assertThrows(IllegalStateException.class, () -> full.add(
+                parser.parseCards("AS KS"), parser.parseCards("7S 2D 3C"), new long[0], 0));
+    }
+
+    private static double lossProbability(DrawSituations situations) {
+        int losses = situations.getRunouts(0) - situations.wins[0] - situations.ties[0];
+        return (double) losses / situations.getRunouts(0);
+    }
+
+    /**
+     * Checks the situation against every next card and runout ranked from scratch.
+     */
+    private static void checkSituation(DrawSituations situations, long hole, long board, long[] opponents,
+                                       long known) {
+        int current = HandEvaluator.combination(SevenCardEvaluator.evaluate(hole | board)).ordinal();
+        boolean ahead = opponents.length > 0 && isAhead(hole, board, opponents);
+        long combinationOuts = 0;
+        long rankingOuts = 0;
+        int[] counts = new int[Combination.values().length];
+        int runouts = 0;
+        int wins = 0;
+        int ties = 0;
+        for (int next = 0; next < Card.DECK_SIZE; next++) {
+            if ((known & Card.bit(next)) != 0) {
+                continue;
+            }
+            long nextBoard = board | Card.bit(next);
+            if (HandEvaluator.combination(SevenCardEvaluator.evaluate(hole | nextBoard)).ordinal() > current) {
+                combinationOuts |= Card.bit(next);
+            }
+            if (opponents.length > 0 && !ahead && isAhead(hole, nextBoard, opponents)) {
+                rankingOuts |= Card.bit(next);
+            }
+            for (int river = Card.count(board) == 3 ? next + 1 : Card.DECK_SIZE; river <= Card.DECK_SIZE; river++) {
+                long riverBoard = river == Card.DECK_SIZE ? nextBoard : nextBoard | Card.bit(river);
+                if (river < Card.DECK_SIZE && (known & Card.bit(river)) != 0
+                        || river == Card.DECK_SIZE && Card.count(board) == 3) {
+                    continue;
+                }
+                int rank = SevenCardEvaluator.evaluate(hole | riverBoard);
+                counts[HandEvaluator.combination(rank).ordinal()]++;
+                runouts++;
+                int best = Integer.MAX_VALUE;
+                for (long opponent : opponents) {
+                    best = Math.min(best, SevenCardEvaluator.evaluate(opponent | riverBoard));
+                }
+                wins += opponents.length > 0 && rank < best ? 1 : 0;
+                ties += rank == best ? 1 : 0;
+            }
+        }
+        Assertions.assertEquals(combinationOuts, situations.getCombinationOuts(0));
+        Assertions.assertEquals(rankingOuts, situations.getRankingOuts(0));
+        Assertions.assertEquals(runouts, situations.getRunouts(0));
+        Assertions.assertEquals(wins, situations.wins[0]);
+        Assertions.assertEquals(ties, situations.ties[0]);
+        double total = 0;
+        for (Combination combination : Combination.values()) {
+            Assertions.assertEquals((double) counts[combination.ordinal()] / runouts,
+                    situations.getProbability(0, combination));
+            total += situations.getProbability(0, combination);
+        }
+        Assertions.assertEquals(1, total, 1e-9);
+    }
+
+    private static boolean isAhead(long hole, long board, long[] opponents) {
+        int rank = SevenCardEvaluator.evaluate(hole | board);
+        for (long opponent : opponents) {
+            if (SevenCardEvaluator.evaluate(opponent | board) <= rank) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -352,4 +352,19 @@ class PokerHandTest {
     void checkUniqueCardException() {
         Assertions.assertThrows(UniqueCardException.class, () -> new PokerHand("AS AS TD 3H 6C", parser));
     }
-}
\ No newline at end of file
+
+    @Test
+    @Order(18)
+    void checkPackedAndLegacyCardsAreInterchangeable() {
+        PokerHand fromString = new PokerHand("JC JS 3D 3H 6C", parser);
+        PokerHand fromPacked = new PokerHand(fromString.getPackedCards());
+        PokerHand fromLegacy = new PokerHand(fromString.getCards());
+
+        Assertions.assertEquals(fromString, fromPacked);
+        Assertions.assertEquals(fromString, fromLegacy);
+        Assertions.assertEquals(0, fromString.compareTo(fromLegacy));
+        Assertions.assertEquals(List.of(6, 81), fromLegacy.getNonCombinationCards());
+        Assertions.assertArrayEquals(new Integer[]{3, 21}, fromLegacy.getCards()[0]);
+        Assertions.assertArrayEquals(new Integer[]{11, 23}, fromLegacy.getCards()[4]);
+    }
+}
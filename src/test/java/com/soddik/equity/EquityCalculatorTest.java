@@ -0,0 +1,70 @@
+package com.soddik.equity;
+
+import com.soddik.exception.UniqueCardException;
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+class EquityCalculatorTest {
+    private final HandParser parser = new HandParser();
+    private final EquityCalculator calculator = new EquityCalculator(new ForkJoinPool(4), 42);
+
+    @Test
+    void checkMonteCarloPreflop() {
+        long[] holeCards = {parser.parseCards("AS AH"), parser.parseCards("KD KC")};
+
+        EquityResult result = calculator.monteCarlo(holeCards, 0, 0, 2_000_000, 0.004);
+
+        Assertions.assertEquals(0.8126, result.getEquity(0), 0.01);
+        Assertions.assertEquals(1.0, result.getEquity(0) + result.getEquity(1), 1e-9);
+        Assertions.assertTrue(result.getBoards() < 2_000_000);
+        Assertions.assertTrue(1.96 * result.getStandardError(0) <= 0.004);
+    }
+
+    @Test
+    void checkExactPreflop() {
+        long[] holeCards = {parser.parseCards("AS AH"), parser.parseCards("KD KC")};
+
+        EquityResult result = calculator.exact(holeCards, 0, 0);
+
+        Assertions.assertEquals(1_712_304, result.getBoards());
+        Assertions.assertEquals(0.812555, result.getEquity(0), 1e-6);
+        Assertions.assertEquals(result.getBoards(), result.getWins(0) + result.getWins(1) + result.getTies(0));
+        Assertions.assertEquals(0, result.getStandardError(0));
+    }
+
+    @Test
+    void checkExactTurnWithDeadCards() {
+        long[] holeCards = {parser.parseCards("AS KS"), parser.parseCards("QH QD"), parser.parseCards("7C 8C")};
+        long board = parser.parseCards("2S 9S QC 3D");
+        long dead = parser.parseCards("4S 5S");
+
+        EquityResult result = calculator.exact(holeCards, board, dead);
+
+        Assertions.assertEquals(52 - 12, result.getBoards());
+        Assertions.assertEquals(5, result.getWins(0));
+        Assertions.assertEquals(35, result.getWins(1));
+        Assertions.assertEquals(0, result.getWins(2));
+    }
+
+    @Test
+    void checkCompleteBoardSplitsPot() {
+        long[] holeCards = {parser.parseCards("2S 3H"), parser.parseCards("2D 3C"), parser.parseCards("4D 5C")};
+        long board = parser.parseCards("AS KD QS JH TD");
+
+        EquityResult result = calculator.monteCarlo(holeCards, board, 0, 1000, 0);
+
+        Assertions.assertEquals(1, result.getBoards());
+        Assertions.assertEquals(1.0 / 3, result.getEquity(2), 1e-9);
+        Assertions.assertEquals(1, result.getTies(0));
+    }
+
+    @Test
+    void checkOverlappingCards() {
+        long[] holeCards = {parser.parseCards("AS AH"), parser.parseCards("AS KC")};
+
+        Assertions.assertThrows(UniqueCardException.class, () -> calculator.monteCarlo(holeCards, 0, 0, 10, 0));
+    }
+}
@@ -0,0 +1,75 @@
+package com.soddik.equity;
+
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+class PreflopEquityTableTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void checkStartingHandClasses() {
+        HandParser parser = new HandParser();
+        long[] combinations = new long[12];
+        int total = 0;
+        for (int startingHand = 0; startingHand < StartingHand.CLASSES; startingHand++) {
+            int size = StartingHand.combinations(startingHand, combinations);
+            Assertions.assertEquals(StartingHand.combinations(startingHand), size);
+            for (int index = 0; index < size; index++) {
+                Assertions.assertEquals(startingHand, StartingHand.classOf(combinations[index]));
+            }
+            total += size;
+        }
+
+        Assertions.assertEquals(1326, total);
+        Assertions.assertEquals("AKs", StartingHand.toString(StartingHand.classOf(parser.parseCards("KH AH"))));
+        Assertions.assertEquals("T9o", StartingHand.toString(StartingHand.classOf(parser.parseCards("9H TS"))));
+        Assertions.assertEquals("22", StartingHand.toString(StartingHand.classOf(parser.parseCards("2C 2D"))));
+    }
+
+    @Test
+    void checkGenerationResumesAndTableIsMapped() throws IOException {
+        Path path = directory.resolve("preflop.bin");
+        PreflopTableGenerator generator = new PreflopTableGenerator(new EquityCalculator(new ForkJoinPool(2), 5), 64);
+
+        Assertions.assertEquals(3, generator.generate(path, 3));
+        Assertions.assertThrows(IOException.class, () -> PreflopEquityTable.open(path));
+        Assertions.assertEquals(StartingHand.CLASSES - 3, generator.generate(path));
+
+        HandParser parser = new HandParser();
+        PreflopEquityTable table = PreflopEquityTable.open(path);
+        long aces = parser.parseCards("AS AH");
+        long sevenDeuce = parser.parseCards("7C 2D");
+        Assertions.assertEquals(64, table.getBoardsPerMatchup());
+        Assertions.assertEquals(0.5f, table.equity(aces, parser.parseCards("AD AC")));
+        Assertions.assertTrue(table.equity(aces, sevenDeuce) > 0.8f);
+        Assertions.assertEquals(1.0f, table.equity(aces, sevenDeuce) + table.equity(sevenDeuce, aces), 1e-6f);
+    }
+
+    @Test
+    void checkGenerationKeepsOtherFiles() throws IOException {
+        PreflopTableGenerator generator = new PreflopTableGenerator(new EquityCalculator(new ForkJoinPool(2), 5), 64);
+        Path text = directory.resolve("notes.txt");
+        Files.writeString(text, "not a table");
+        Assertions.assertThrows(IOException.class, () -> generator.generate(text, 1));
+        Assertions.assertEquals("not a table", Files.readString(text));
+
+        Path other = directory.resolve("other.bin");
+        byte[] zeros = new byte[(int) PreflopEquityTable.FILE_SIZE];
+        Files.write(other, zeros);
+        Assertions.assertThrows(IOException.class, () -> generator.generate(other, 1));
+        Assertions.assertArrayEquals(zeros, Files.readAllBytes(other));
+
+        Path table = directory.resolve("preflop.bin");
+        Assertions.assertEquals(1, generator.generate(table, 1));
+        Assertions.assertThrows(IOException.class,
+                () -> new PreflopTableGenerator(new EquityCalculator(new ForkJoinPool(2), 5), 32).generate(table, 1));
+    }
+}
@@ -0,0 +1,85 @@
+package com.soddik.equity;
+
+import com.soddik.exception.UniqueCardException;
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+class RangeEquityCalculatorTest {
+    private final HandParser parser = new HandParser();
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final RangeEquityCalculator calculator = new RangeEquityCalculator(pool, 42);
+    private final EquityCalculator single = new EquityCalculator(pool, 42);
+
+    @Test
+    void checkSingleCombos() {
+        long hero = parser.parseCards("AS AH");
+        long villain = parser.parseCards("KD KC");
+        long board = parser.parseCards("2C 7D 9H");
+
+        RangeEquityResult result = calculator.exact(HandRange.of(hero), HandRange.of(villain), board, 0);
+        EquityResult expected = single.exact(new long[]{hero, villain}, board, 0);
+
+        // boards are dealt from the cards left by the board, runouts that hit a combination are skipped per matchup
+        Assertions.assertEquals(Combinations.count(49, 2), result.getBoards());
+        Assertions.assertEquals(expected.getEquity(0), result.getEquity(0), 1e-12);
+        Assertions.assertEquals(expected.getEquity(1), result.getComboEquity(1, 0), 1e-12);
+    }
+
+    @Test
+    void checkAgainstEveryMatchup() {
+        HandRange hero = RangeParser.parse("AK, QQ, 98s:0.5");
+        HandRange villain = RangeParser.parse("JJ+, AQs, T9s-87s");
+        long board = parser.parseCards("QS 9D 2H");
+        long dead = parser.parseCards("3C");
+
+        RangeEquityResult result = calculator.exact(hero, villain, board, dead);
+
+        HandRange heroLive = result.getRange(0);
+        HandRange villainLive = result.getRange(1);
+        double share = 0;
+        double total = 0;
+        for (int heroCombo = 0; heroCombo < heroLive.size(); heroCombo++) {
+            double comboShare = 0;
+            double comboTotal = 0;
+            for (int villainCombo = 0; villainCombo < villainLive.size(); villainCombo++) {
+                long[] holeCards = {heroLive.getCombo(heroCombo), villainLive.getCombo(villainCombo)};
+                if ((holeCards[0] & holeCards[1]) != 0) {
+                    continue;
+                }
+                double weight = villainLive.getWeight(villainCombo);
+                comboShare += weight * single.exact(holeCards, board, dead).getEquity(0);
+                comboTotal += weight;
+            }
+            Assertions.assertEquals(comboShare / comboTotal, result.getComboEquity(0, heroCombo), 1e-9);
+            share += heroLive.getWeight(heroCombo) * comboShare;
+            total += heroLive.getWeight(heroCombo) * comboTotal;
+        }
+        Assertions.assertEquals(share / total, result.getEquity(0), 1e-9);
+        Assertions.assertEquals(1.0, result.getEquity(0) + result.getEquity(1), 1e-9);
+    }
+
+    @Test
+    void checkMonteCarloPreflop() {
+        HandRange aces = RangeParser.parse("AA");
+        HandRange kings = RangeParser.parse("KK");
+
+        RangeEquityResult result = calculator.monteCarlo(aces, kings, 0, 0, 200_000);
+        RangeEquityResult again = new RangeEquityCalculator(new ForkJoinPool(2), 42).monteCarlo(aces, kings, 0, 0,
+                200_000);
+
+        Assertions.assertEquals(200_000, result.getBoards());
+        Assertions.assertEquals(0.82, result.getEquity(0), 0.01);
+        Assertions.assertEquals(result.getEquity(0), again.getEquity(0), 1e-12);
+    }
+
+    @Test
+    void checkBlockedRanges() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> calculator.exact(RangeParser.parse("AA"),
+                RangeParser.parse("KK"), parser.parseCards("AS AH AD"), 0));
+        Assertions.assertThrows(UniqueCardException.class, () -> calculator.exact(RangeParser.parse("AA"),
+                RangeParser.parse("KK"), parser.parseCards("2S 3H 4D"), parser.parseCards("2S")));
+    }
+}
@@ -0,0 +1,54 @@
+package com.soddik.equity;
+
+import com.soddik.exception.RangeFormatException;
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RangeParserTest {
+    private final HandParser parser = new HandParser();
+
+    @Test
+    void checkClasses() {
+        Assertions.assertEquals(6, RangeParser.parse("AA").size());
+        Assertions.assertEquals(4, RangeParser.parse("AKs").size());
+        Assertions.assertEquals(12, RangeParser.parse("KQo").size());
+        Assertions.assertEquals(16, RangeParser.parse("AK").size());
+        Assertions.assertEquals(16, RangeParser.parse("KA").size());
+        Assertions.assertEquals(1, RangeParser.parse("AsKh").size());
+        Assertions.assertEquals(HandRange.of(parser.parseCards("AS KH")).toString(), RangeParser.parse("AsKh").toString());
+        Assertions.assertEquals(0, RangeParser.parse(" ").size());
+    }
+
+    @Test
+    void checkSpans() {
+        Assertions.assertEquals(30, RangeParser.parse("TT+").size());
+        Assertions.assertEquals(16, RangeParser.parse("ATs+").size());
+        Assertions.assertEquals(12, RangeParser.parse("KQo+").size());
+        Assertions.assertEquals(18, RangeParser.parse("22-44").size());
+        Assertions.assertEquals(18, RangeParser.parse("44-22").size());
+        Assertions.assertEquals(16, RangeParser.parse("A5s-A2s").size());
+        Assertions.assertEquals(12, RangeParser.parse("76s-54s").size());
+        Assertions.assertEquals(30 + 4 + 12 + 12, RangeParser.parse("TT+, AKs, KQo, 76s-54s").size());
+        Assertions.assertEquals(6, RangeParser.parse("AA, AA, AsAh").size());
+    }
+
+    @Test
+    void checkWeightsAndBlockers() {
+        HandRange range = RangeParser.parse("AK:0.5, AKs");
+        Assertions.assertEquals(16, range.size());
+        Assertions.assertEquals(12 * 0.5 + 4, range.getTotalWeight(), 1e-12);
+
+        HandRange blocked = RangeParser.parse("AA, KK", parser.parseCards("AS 7D 2C"), parser.parseCards("KH KD"));
+        Assertions.assertEquals(3 + 1, blocked.size());
+        Assertions.assertEquals(0, blocked.without(parser.parseCards("AH AD KS")).size());
+    }
+
+    @Test
+    void checkRangeFormatException() {
+        for (String notation : new String[]{"AKx", "A", "AAs", "1K", "AA:2", "AA:0", "AK:x", "A5s-K2s", "A5s-A2o",
+                "22-A5s", "AsAs", "AsKx", "AA,,KK"}) {
+            Assertions.assertThrows(RangeFormatException.class, () -> RangeParser.parse(notation), notation);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.soddik.evaluator;
+
+import com.soddik.entity.Card;
+import com.soddik.entity.PokerHand;
+import com.soddik.equity.Combinations;
+import com.soddik.exception.CardAmountException;
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+class BatchHandEvaluatorTest {
+    private static final int HANDS = 2_598_960;
+
+    @Test
+    void checkKernelIsUsedWithTheModule() {
+        Assumptions.assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+        Assertions.assertTrue(BatchHandEvaluator.isVectorized());
+    }
+
+    @Test
+    void checkEveryHandMatchesPokerHand() {
+        long[] cards = new long[HANDS];
+        int[] positions = new int[5];
+        Combinations.unrank(0, positions);
+        for (int hand = 0; hand < HANDS; hand++) {
+            for (int position : positions) {
+                cards[hand] |= Card.bit(position);
+            }
+            Combinations.next(positions, Card.DECK_SIZE);
+        }
+
+        // small calls, so the kernel is also checked once it is compiled
+        int[] ranks = new int[HANDS];
+        for (int from = 0; from < HANDS; from += 1024) {
+            BatchHandEvaluator.evaluate(cards, from, Math.min(from + 1024, HANDS), ranks);
+        }
+        PokerHand previous = new PokerHand(cards[0]);
+        for (int hand = 0; hand < HANDS; hand++) {
+            PokerHand expected = new PokerHand(cards[hand]);
+            Assertions.assertEquals(expected.getRank(), ranks[hand], expected.toString());
+            Assertions.assertEquals(Integer.signum(expected.compareTo(previous)),
+                    Integer.signum(Integer.compare(ranks[hand], ranks[hand == 0 ? 0 : hand - 1])));
+            previous = expected;
+        }
+    }
+
+    @Test
+    void checkRangesAndTails() {
+        SplittableRandom random = new SplittableRandom(18);
+        long[] cards = new long[1003];
+        for (int hand = 0; hand < cards.length; hand++) {
+            while (Card.count(cards[hand]) < 5) {
+                cards[hand] |= Card.bit(random.nextInt(Card.DECK_SIZE));
+            }
+        }
+        int[] expected = new int[cards.length];
+        BatchHandEvaluator.evaluateScalar(cards, 0, cards.length, expected);
+
+        for (int from : new int[]{0, 1, 7, 500}) {
+            for (int to : new int[]{from, from + 3, 999, 1003}) {
+                int[] ranks = new int[cards.length];
+                BatchHandEvaluator.evaluate(cards, from, to, ranks);
+                for (int hand = 0; hand < cards.length; hand++) {
+                    Assertions.assertEquals(hand >= from && hand < to ? expected[hand] : 0, ranks[hand]);
+                }
+            }
+        }
+        Assertions.assertThrows(IndexOutOfBoundsException.class,
+                () -> BatchHandEvaluator.evaluate(cards, 10, 1004, new int[1004]));
+    }
+
+    @Test
+    void checkInvalidHandsAreRejected() {
+        HandParser parser = new HandParser();
+        long[] cards = new long[64];
+        for (int hand = 0; hand < cards.length; hand++) {
+            cards[hand] = parser.parseCards("AS KS QS JS TS");
+        }
+        cards[37] = parser.parseCards("AS KS QS JS");
+        Assertions.assertThrows(CardAmountException.class, () -> BatchHandEvaluator.evaluate(cards));
+        cards[37] = parser.parseCards("AS KS QS JS TS") | 1L << 15;
+        Assertions.assertThrows(CardAmountException.class, () -> BatchHandEvaluator.evaluate(cards));
+    }
+}
@@ -0,0 +1,59 @@
+package com.soddik.evaluator;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+class EvaluatorTablesTest {
+
+    @Test
+    void checkEmbeddedTables() throws IOException {
+        // the build writes the tables before the tests run
+        Assertions.assertEquals(HandEvaluator.tables(), EvaluatorTables.read(EvaluatorTables.HAND));
+        Assertions.assertEquals(OmahaEvaluator.tables(), EvaluatorTables.read(EvaluatorTables.OMAHA));
+        ByteBuffer incremental = EvaluatorTables.read(EvaluatorTables.INCREMENTAL);
+        Assertions.assertEquals(IncrementalEvaluator.generate().toBuffer(), incremental);
+        Assertions.assertEquals(IncrementalEvaluator.getInstance().size(),
+                IncrementalEvaluator.read(incremental, EvaluatorTables.INCREMENTAL, true).size());
+        Assertions.assertNull(EvaluatorTables.read(EvaluatorTables.HAND, 1));
+        Assertions.assertNull(EvaluatorTables.read("missing.tables"));
+    }
+
+    @Test
+    void checkWriteAndCheck(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve(EvaluatorTables.OMAHA);
+        EvaluatorTables.write(path, OmahaEvaluator.tables());
+        byte[] bytes = Files.readAllBytes(path);
+        Assertions.assertEquals(EvaluatorTables.HEADER_SIZE + OmahaEvaluator.tables().remaining(), bytes.length);
+        Assertions.assertEquals(OmahaEvaluator.tables(), EvaluatorTables.check(bytes, path.toString()));
+
+        bytes[bytes.length / 2] ^= 1;
+        Assertions.assertThrows(IOException.class, () -> EvaluatorTables.check(bytes, path.toString()));
+        bytes[bytes.length / 2] ^= 1;
+        ByteBuffer.wrap(bytes).putInt(4, EvaluatorTables.VERSION + 1);
+        Assertions.assertThrows(IOException.class, () -> EvaluatorTables.check(bytes, path.toString()));
+        ByteBuffer.wrap(bytes).putInt(4, EvaluatorTables.VERSION);
+        Assertions.assertThrows(IOException.class,
+                () -> EvaluatorTables.check(Arrays.copyOf(bytes, bytes.length - 1), path.toString()));
+        Assertions.assertThrows(IOException.class, () -> EvaluatorTables.check(new byte[4], path.toString()));
+    }
+
+    @Test
+    void checkGenerateDirectory(@TempDir Path directory) throws IOException {
+        EvaluatorTables.main(new String[]{directory.toString()});
+        Assertions.assertNull(System.getProperty(EvaluatorTables.PROPERTY));
+        for (String name : new String[]{EvaluatorTables.HAND, EvaluatorTables.OMAHA, EvaluatorTables.INCREMENTAL}) {
+            try (InputStream input = EvaluatorTables.class.getResourceAsStream(name)) {
+                Assertions.assertArrayEquals(input.readAllBytes(), Files.readAllBytes(directory.resolve(name)));
+            }
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EvaluatorTables.main(new String[0]));
+    }
+}
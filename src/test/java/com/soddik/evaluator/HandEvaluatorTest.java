@@ -0,0 +1,82 @@
+package com.soddik.evaluator;
+
+import com.soddik.entity.Card;
+import com.soddik.entity.Combination;
+import com.soddik.exception.CardAmountException;
+import com.soddik.exception.UnexpectedCardAttributeValueException;
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static com.soddik.entity.Combination.*;
+
+class HandEvaluatorTest {
+    private final HandParser parser = new HandParser();
+
+    @Test
+    void checkAllHandsFallIntoKnownClasses() {
+        long[] combinations = new long[Combination.values().length];
+        boolean[] seen = new boolean[HandEvaluator.WORST_RANK + 1];
+        for (int a = 0; a < Card.DECK_SIZE; a++) {
+            for (int b = a + 1; b < Card.DECK_SIZE; b++) {
+                for (int c = b + 1; c < Card.DECK_SIZE; c++) {
+                    for (int d = c + 1; d < Card.DECK_SIZE; d++) {
+                        for (int e = d + 1; e < Card.DECK_SIZE; e++) {
+                            int rank = HandEvaluator.evaluate(a, b, c, d, e);
+                            seen[rank] = true;
+                            combinations[HandEvaluator.combination(rank).ordinal()]++;
+                        }
+                    }
+                }
+            }
+        }
+
+        for (int rank = HandEvaluator.BEST_RANK; rank <= HandEvaluator.WORST_RANK; rank++) {
+            Assertions.assertTrue(seen[rank], "rank " + rank);
+        }
+        Assertions.assertEquals(4, combinations[ROYAL_FLUSH.ordinal()]);
+        Assertions.assertEquals(36, combinations[STRAIGHT_FLUSH.ordinal()]);
+        Assertions.assertEquals(624, combinations[FOUR_OF_A_KIND.ordinal()]);
+        Assertions.assertEquals(3744, combinations[FULL_HOUSE.ordinal()]);
+        Assertions.assertEquals(5108, combinations[FLUSH.ordinal()]);
+        Assertions.assertEquals(10200, combinations[STRAIGHT.ordinal()]);
+        Assertions.assertEquals(54912, combinations[THREE_OF_A_KIND.ordinal()]);
+        Assertions.assertEquals(123552, combinations[TWO_PAIRS.ordinal()]);
+        Assertions.assertEquals(1098240, combinations[PAIR.ordinal()]);
+        Assertions.assertEquals(1302540, combinations[HIGH_CARD.ordinal()]);
+    }
+
+    @Test
+    void checkRankOrder() {
+        Assertions.assertEquals(HandEvaluator.BEST_RANK, rank("AC JC KC QC TC"));
+        Assertions.assertEquals(HandEvaluator.WORST_RANK, rank("7C 5S 4D 3H 2C"));
+        Assertions.assertTrue(rank("JC JS JD JH 7C") < rank("JC JS JD JH 6C"));
+        Assertions.assertTrue(rank("JC JS JD 7H 7C") < rank("JC JS JD 6H 6C"));
+        Assertions.assertTrue(rank("AC KS TD 3H 6C") < rank("AC QS TD 3H 6C"));
+        Assertions.assertTrue(rank("2S 2C 9C TH TD") < rank("3C 3S 4C 9H 9D"));
+        Assertions.assertTrue(rank("6S 2C 3H 4C 5D") < rank("AS 2C 3H 4C 5D"));
+        Assertions.assertTrue(rank("AS 2C 3H 4C 5D") < rank("AS AC KH QC JD"));
+    }
+
+    @Test
+    void checkWheelIsFiveHighStraight() {
+        int wheel = rank("AS 2C 3H 4C 5D");
+        int steelWheel = rank("AS 2S 3S 4S 5S");
+
+        Assertions.assertEquals(STRAIGHT, HandEvaluator.combination(wheel));
+        Assertions.assertEquals(5, HandEvaluator.combinationValue(wheel));
+        Assertions.assertEquals(STRAIGHT_FLUSH, HandEvaluator.combination(steelWheel));
+        Assertions.assertEquals(HandEvaluator.BEST_RANK + 9, steelWheel);
+    }
+
+    private int rank(String hand) {
+        return HandEvaluator.evaluate(parser.parseHand(hand));
+    }
+
+    @Test
+    void checkInvalidMasks() {
+        Assertions.assertThrows(CardAmountException.class, () -> HandEvaluator.evaluate(0xFL));
+        Assertions.assertEquals("Unexpected card mask 200f", Assertions.assertThrows(
+                UnexpectedCardAttributeValueException.class, () -> HandEvaluator.evaluate(0x200FL)).getMessage());
+    }
+}
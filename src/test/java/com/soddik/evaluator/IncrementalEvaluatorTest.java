@@ -0,0 +1,93 @@
+package com.soddik.evaluator;
+
+import com.soddik.entity.Card;
+import com.soddik.exception.CardAmountException;
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+class IncrementalEvaluatorTest {
+    private final HandParser parser = new HandParser();
+    private final IncrementalEvaluator evaluator = IncrementalEvaluator.getInstance();
+
+    @Test
+    void checkAgainstSevenCardEvaluator() {
+        SplittableRandom random = new SplittableRandom(22);
+        for (int iteration = 0; iteration < 200_000; iteration++) {
+            int amount = 5 + iteration % 3;
+            long cards = 0;
+            int state = IncrementalEvaluator.START;
+            while (Card.count(cards) < amount) {
+                int card = random.nextInt(Card.DECK_SIZE);
+                if ((cards & Card.bit(card)) == 0) {
+                    cards |= Card.bit(card);
+                    state = evaluator.next(state, card);
+                }
+            }
+            Assertions.assertEquals(SevenCardEvaluator.evaluate(cards), evaluator.rank(state, cards));
+            Assertions.assertEquals(state, evaluator.nextAll(IncrementalEvaluator.START, cards));
+        }
+    }
+
+    @Test
+    void checkSharedPrefix() {
+        long hole = parser.parseCards("AS KS");
+        long flop = parser.parseCards("QS 7D 7C");
+        int state = evaluator.nextAll(evaluator.nextAll(IncrementalEvaluator.START, hole), flop);
+        Assertions.assertEquals(SevenCardEvaluator.evaluate(hole | flop), evaluator.rank(state, hole | flop));
+        Assertions.assertEquals(0, evaluator.rank(evaluator.nextAll(IncrementalEvaluator.START, hole), hole));
+        long known = hole | flop;
+        for (int turn = 0; turn < Card.DECK_SIZE; turn++) {
+            if ((known & Card.bit(turn)) != 0) {
+                continue;
+            }
+            int turnState = evaluator.next(state, turn);
+            for (int river = turn + 1; river < Card.DECK_SIZE; river++) {
+                long cards = known | Card.bit(turn) | Card.bit(river);
+                if ((known & Card.bit(river)) == 0) {
+                    Assertions.assertEquals(SevenCardEvaluator.evaluate(cards),
+                            evaluator.rank(evaluator.next(turnState, river), cards));
+                }
+            }
+        }
+    }
+
+    @Test
+    void checkCardLimits() {
+        int state = evaluator.nextAll(IncrementalEvaluator.START, parser.parseCards("AS AH AD AC"));
+        Assertions.assertEquals(-1, evaluator.next(state, Card.of(14, 20)));
+        int seven = evaluator.nextAll(IncrementalEvaluator.START, parser.parseCards("AS KH QD JC 9S 8H 7D"));
+        Assertions.assertEquals(-1, evaluator.next(seven, Card.of(2, 20)));
+        Assertions.assertThrows(CardAmountException.class, () -> evaluator.evaluate(parser.parseCards("AS KH")));
+    }
+
+    @Test
+    void checkSaveAndLoad(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("incremental.bin");
+        evaluator.save(path);
+        IncrementalEvaluator loaded = IncrementalEvaluator.load(path);
+        Assertions.assertEquals(evaluator.size(), loaded.size());
+        SplittableRandom random = new SplittableRandom(7);
+        for (int iteration = 0; iteration < 10_000; iteration++) {
+            long cards = 0;
+            while (Card.count(cards) < 7) {
+                cards |= Card.bit(random.nextInt(Card.DECK_SIZE));
+            }
+            Assertions.assertEquals(evaluator.evaluate(cards), loaded.evaluate(cards));
+        }
+
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 2));
+        Assertions.assertThrows(IOException.class, () -> IncrementalEvaluator.load(path));
+        bytes[0] = 0;
+        Files.write(path, bytes);
+        Assertions.assertThrows(IOException.class, () -> IncrementalEvaluator.load(path));
+    }
+}
@@ -0,0 +1,83 @@
+package com.soddik.evaluator;
+
+import com.soddik.entity.Card;
+import com.soddik.entity.PokerHand;
+import com.soddik.exception.CardAmountException;
+import com.soddik.exception.UniqueCardException;
+import com.soddik.generator.Deck;
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static com.soddik.entity.Combination.*;
+
+class OmahaEvaluatorTest {
+    private final HandParser parser = new HandParser();
+
+    @Test
+    void checkAgainstBestOfAllHands() {
+        SplittableRandom random = new SplittableRandom(21);
+        int[] hole = new int[4];
+        int[] board = new int[5];
+        for (int iteration = 0; iteration < 100_000; iteration++) {
+            int boardCards = 3 + iteration % 3;
+            long holeCards = new Deck().deal(4, random);
+            long boardMask = new Deck(holeCards).deal(boardCards, random);
+            Card.toCodes(holeCards, hole);
+            Card.toCodes(boardMask, board);
+
+            PokerHand best = null;
+            for (int first = 0; first < 4; first++) {
+                for (int second = first + 1; second < 4; second++) {
+                    for (int third = 0; third < boardCards; third++) {
+                        for (int fourth = third + 1; fourth < boardCards; fourth++) {
+                            for (int fifth = fourth + 1; fifth < boardCards; fifth++) {
+                                PokerHand hand = new PokerHand(Card.bit(hole[first]) | Card.bit(hole[second])
+                                        | Card.bit(board[third]) | Card.bit(board[fourth]) | Card.bit(board[fifth]));
+                                if (best == null || hand.compareTo(best) < 0) {
+                                    best = hand;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+
+            int rank = OmahaEvaluator.evaluate(holeCards, boardMask);
+            Assertions.assertEquals(best.getRank(), rank);
+            long bestHand = OmahaEvaluator.bestHand(holeCards, boardMask);
+            Assertions.assertEquals(2, Card.count(bestHand & holeCards));
+            Assertions.assertEquals(3, Card.count(bestHand & boardMask));
+            Assertions.assertEquals(rank, HandEvaluator.evaluate(bestHand));
+        }
+    }
+
+    @Test
+    void checkExactlyTwoHoleCards() {
+        // four hearts on the board and one in the hand is no flush
+        Assertions.assertEquals(PAIR, OmahaEvaluator.combination(
+                parser.parseCards("AH KS KD 2C"), parser.parseCards("3H 7H 9H JH 4S")));
+        // a single ace in the hand does not make the straight on a broadway board
+        Assertions.assertEquals(HIGH_CARD, OmahaEvaluator.combination(
+                parser.parseCards("AS 2D 3C 8H"), parser.parseCards("KD QD JC TH 6S")));
+        // three of the four aces in the hand are only a pair of aces with two of them
+        Assertions.assertEquals(THREE_OF_A_KIND, OmahaEvaluator.combination(
+                parser.parseCards("AS AD AC 2H"), parser.parseCards("KD QS 7C AH 4S")));
+        Assertions.assertEquals(FLUSH, OmahaEvaluator.combination(
+                parser.parseCards("AH 5H KS KD"), parser.parseCards("3H 7H 9H")));
+        Assertions.assertEquals(parser.parseCards("AH 5H 9H JH 7H"), OmahaEvaluator.bestHand(
+                parser.parseCards("AH 5H KS KD"), parser.parseCards("3H 7H 9H JH")));
+    }
+
+    @Test
+    void checkExceptions() {
+        Assertions.assertThrows(CardAmountException.class, () -> OmahaEvaluator.evaluate(
+                parser.parseCards("AH 5H KS"), parser.parseCards("3H 7H 9H")));
+        Assertions.assertThrows(CardAmountException.class, () -> OmahaEvaluator.evaluate(
+                parser.parseCards("AH 5H KS KD"), parser.parseCards("3H 7H")));
+        Assertions.assertThrows(UniqueCardException.class, () -> OmahaEvaluator.evaluate(
+                parser.parseCards("AH 5H KS KD"), parser.parseCards("AH 7H 9H")));
+    }
+}
@@ -0,0 +1,60 @@
+package com.soddik.evaluator;
+
+import com.soddik.entity.Card;
+import com.soddik.exception.CardAmountException;
+import com.soddik.exception.UnexpectedCardAttributeValueException;
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static com.soddik.entity.Combination.*;
+
+class SevenCardEvaluatorTest {
+    private final HandParser parser = new HandParser();
+
+    @Test
+    void checkAgainstBestOfAllSubsets() {
+        SplittableRandom random = new SplittableRandom(7);
+        int[] codes = new int[7];
+        for (int iteration = 0; iteration < 200_000; iteration++) {
+            long cards = 0;
+            while (Card.count(cards) < 7) {
+                cards |= Card.bit(random.nextInt(Card.DECK_SIZE));
+            }
+            Card.toCodes(cards, codes);
+
+            int best = HandEvaluator.WORST_RANK;
+            for (int skipFirst = 0; skipFirst < 7; skipFirst++) {
+                for (int skipSecond = skipFirst + 1; skipSecond < 7; skipSecond++) {
+                    long subset = cards & ~Card.bit(codes[skipFirst]) & ~Card.bit(codes[skipSecond]);
+                    best = Math.min(best, HandEvaluator.evaluate(subset));
+                }
+            }
+
+            int rank = SevenCardEvaluator.evaluate(cards);
+            Assertions.assertEquals(best, rank);
+            long bestHand = SevenCardEvaluator.bestHand(cards);
+            Assertions.assertEquals(bestHand, bestHand & cards);
+            Assertions.assertEquals(rank, HandEvaluator.evaluate(bestHand));
+        }
+    }
+
+    @Test
+    void checkShowdown() {
+        Assertions.assertEquals(FULL_HOUSE, SevenCardEvaluator.combination(parser.parseCards("AS KS 7D 7C 2H 7H 2C")));
+        Assertions.assertEquals(STRAIGHT, SevenCardEvaluator.combination(parser.parseCards("AS 5D 7D 7C 2H 3C 4C")));
+        Assertions.assertEquals(FLUSH, SevenCardEvaluator.combination(parser.parseCards("AS KS 7D 7C 9S QS 3S")));
+        Assertions.assertEquals(parser.parseCards("AS KS 7D 7C 7H"),
+                SevenCardEvaluator.bestHand(parser.parseCards("AS KS 7D 7C 2H 7H 3C")));
+        Assertions.assertEquals(parser.parseCards("2S 3S 4S 5S AS"),
+                SevenCardEvaluator.bestHand(parser.parseCards("AS 2S 3S 4S 5S 6D AH")));
+    }
+
+    @Test
+    void checkCardAmountException() {
+        Assertions.assertThrows(CardAmountException.class, () -> SevenCardEvaluator.evaluate(parser.parseCards("AS KS")));
+        Assertions.assertThrows(UnexpectedCardAttributeValueException.class, () -> SevenCardEvaluator.evaluate(0x203FL));
+    }
+}
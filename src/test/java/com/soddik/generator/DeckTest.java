@@ -0,0 +1,59 @@
+package com.soddik.generator;
+
+import com.soddik.entity.Card;
+import com.soddik.exception.CardAmountException;
+import com.soddik.exception.UnexpectedCardAttributeValueException;
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+class DeckTest {
+    private final SplittableRandom random = new SplittableRandom(11);
+
+    @Test
+    void checkCardsAreDealtUniformly() {
+        Deck deck = new Deck();
+        int deals = 520_000;
+        long[] frequencies = new long[Card.DECK_SIZE];
+        for (int deal = 0; deal < deals; deal++) {
+            long hand = deck.deal(5, random);
+            Assertions.assertEquals(5, Card.count(hand));
+            for (int card = 0; card < Card.DECK_SIZE; card++) {
+                if ((hand & Card.bit(card)) != 0) {
+                    frequencies[card]++;
+                }
+            }
+        }
+
+        double expected = deals * 5.0 / Card.DECK_SIZE;
+        double chiSquare = 0;
+        for (long frequency : frequencies) {
+            chiSquare += (frequency - expected) * (frequency - expected) / expected;
+        }
+        // 51 degrees of freedom, 99.9th percentile
+        Assertions.assertTrue(chiSquare < 87.97, "chi-square " + chiSquare);
+    }
+
+    @Test
+    void checkDeadCardsAreNeverDealt() {
+        long dead = new HandParser().parseCards("AS AH KD 2C");
+        Deck deck = new Deck(dead);
+
+        Assertions.assertEquals(48, deck.size());
+        for (int deal = 0; deal < 10_000; deal++) {
+            Assertions.assertEquals(0, deck.deal(48, random) & dead);
+        }
+        Assertions.assertThrows(CardAmountException.class, () -> deck.deal(49, random));
+        Assertions.assertThrows(UnexpectedCardAttributeValueException.class, () -> deck.setDeadCards(1L << 13));
+    }
+
+    @Test
+    void checkGeneratorDealsValidHands() {
+        RandomHandGenerator generator = new RandomHandGenerator(new DeckGenerator(), random);
+        for (int deal = 0; deal < 1000; deal++) {
+            Assertions.assertNotNull(generator.generateHand().getCombination());
+        }
+    }
+}
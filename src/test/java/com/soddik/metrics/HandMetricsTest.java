@@ -0,0 +1,90 @@
+package com.soddik.metrics;
+
+import com.soddik.entity.Combination;
+import com.soddik.entity.PokerHand;
+import com.soddik.exception.UnexpectedCardAttributeValueException;
+import com.soddik.exception.UniqueCardException;
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+class HandMetricsTest {
+    private final HandParser parser = new HandParser();
+    private final HandMetrics metrics = HandMetrics.getInstance();
+
+    @BeforeEach
+    void enable() {
+        metrics.reset();
+        metrics.setEnabled(true);
+    }
+
+    @AfterEach
+    void disable() {
+        metrics.setEnabled(false);
+        metrics.reset();
+    }
+
+    @Test
+    void checkStagesAndCombinationsAreCounted() {
+        PokerHand flush = new PokerHand("2C 7C 9C JC KC", parser);
+        PokerHand pair = new PokerHand("2C 2D 9C JS KC", parser);
+        flush.compareTo(pair);
+        Assertions.assertThrows(UniqueCardException.class, () -> parser.parseHand("2C 2C 9C JS KC"));
+
+        Assertions.assertEquals(2, HandMetrics.histogram(Stage.PARSE).getCount());
+        Assertions.assertEquals(2, HandMetrics.histogram(Stage.EVALUATE).getCount());
+        Assertions.assertEquals(1, HandMetrics.histogram(Stage.COMPARE).getCount());
+        Assertions.assertEquals(1, HandMetrics.histogram(Combination.FLUSH).getCount());
+        Assertions.assertEquals(1, HandMetrics.histogram(Combination.PAIR).getCount());
+        Assertions.assertEquals(1, HandMetrics.exceptionCount(UniqueCardException.class));
+        // only the throwing sites count, creating an exception does not
+        Assertions.assertNotNull(new UniqueCardException("created"));
+        Assertions.assertEquals(1, HandMetrics.exceptionCount(UniqueCardException.class));
+        Assertions.assertThrows(UnexpectedCardAttributeValueException.class, () -> new PokerHand(1L << 13));
+        Assertions.assertEquals(1, HandMetrics.exceptionCount(UnexpectedCardAttributeValueException.class));
+        Assertions.assertTrue(HandMetrics.histogram(Stage.EVALUATE).getQuantileNanos(0.99) > 0);
+
+        metrics.setEnabled(false);
+        new PokerHand("2C 7C 9C JC KC", parser);
+        Assertions.assertThrows(UniqueCardException.class, () -> parser.parseHand("2C 2C 9C JS KC"));
+        Assertions.assertEquals(2, HandMetrics.histogram(Stage.EVALUATE).getCount());
+        Assertions.assertEquals(1, HandMetrics.exceptionCount(UniqueCardException.class));
+    }
+
+    @Test
+    void checkHistogramBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int index = 0; index < 99; index++) {
+            histogram.record(100);
+        }
+        histogram.record(5000);
+
+        Assertions.assertEquals(100, histogram.getCount());
+        Assertions.assertEquals(127, histogram.getQuantileNanos(0.5));
+        Assertions.assertEquals(127, histogram.getQuantileNanos(0.99));
+        Assertions.assertEquals(8191, histogram.getQuantileNanos(1));
+        Assertions.assertEquals(149, histogram.getMeanNanos(), 1e-9);
+    }
+
+    @Test
+    void checkMBeanIsRegistered() throws Exception {
+        HandMetrics.register();
+        new PokerHand("2C 7C 9C JC KC", parser);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(HandMetrics.OBJECT_NAME);
+        TabularData counts = (TabularData) server.getAttribute(name, "StageCounts");
+        CompositeData evaluate = counts.get(new Object[]{Stage.EVALUATE.name()});
+
+        Assertions.assertEquals(1L, evaluate.get("value"));
+        Assertions.assertEquals(true, server.getAttribute(name, "Enabled"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.soddik.parser;
+
+import com.soddik.exception.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class HandParserTest {
+    private final HandParser parser = new HandParser();
+
+    @Test
+    void checkAllInputsGiveSameCards() {
+        String line = "xx AC JC KC QC TC\n";
+        long expected = parser.parseHand("AC JC KC QC TC");
+        byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+
+        Assertions.assertEquals(expected, parser.parseHand(line, 3, 14));
+        Assertions.assertEquals(expected, parser.parseHand(line.toCharArray(), 3, 14));
+        Assertions.assertEquals(expected, parser.parseHand(bytes, 3, 14));
+        Assertions.assertEquals(expected, parser.parseHand(ByteBuffer.wrap(bytes), 3, 14));
+        Assertions.assertEquals(expected, parser.parseHand(new StringBuilder("AC JC KC QC TC ")));
+    }
+
+    @Test
+    void checkLegacyContract() {
+        parser.parseString("3S 2C 4H 5C 6D");
+        Integer[][] cards = parser.getCards();
+
+        Assertions.assertEquals(5, cards.length);
+        Assertions.assertEquals(2, cards[0][0]);
+        Assertions.assertEquals(6, cards[4][0]);
+        Assertions.assertEquals(0, parser.getCards().length);
+    }
+
+    @Test
+    void checkParseCards() {
+        Assertions.assertEquals(7, Long.bitCount(parser.parseCards("AS KS 7D 7C 2H 7H 2C")));
+        Assertions.assertThrows(CardAmountException.class, () -> parser.parseHand("AS KS 7D 7C 2H 7H 2C"));
+    }
+
+    @Test
+    void checkExceptions() {
+        byte[] bytes = "AS AS TD 3H 6C".getBytes(StandardCharsets.US_ASCII);
+
+        Assertions.assertThrows(NullPointerException.class, () -> parser.parseHand((String) null));
+        Assertions.assertThrows(UniqueCardException.class, () -> parser.parseHand(bytes, 0, bytes.length));
+        Assertions.assertThrows(CardAttributeAmountException.class, () -> parser.parseHand("AS  KS TD 3H 6C"));
+        Assertions.assertThrows(UnexpectedCardAttributeValueException.class, () -> parser.parseHand("\u00C9S KS TD 3H 6C"));
+        Assertions.assertThrows(UnexpectedCardAttributeKindException.class, () -> parser.parseHand("As KS TD 3H 6C"));
+    }
+
+    @Test
+    void checkExceptionMessages() {
+        Assertions.assertEquals("Unique cards must be in hand, but there is a duplicate with card: AS",
+                Assertions.assertThrows(UniqueCardException.class, () -> parser.parseHand("AS AS TD 3H 6C")).getMessage());
+        Assertions.assertEquals("The card should contain 2 attributes, but contains 3",
+                Assertions.assertThrows(CardAttributeAmountException.class,
+                        () -> parser.parseHand("AS 10S TD 3H 6C")).getMessage());
+        Assertions.assertEquals("Unexpected card value \u00C9", Assertions.assertThrows(
+                UnexpectedCardAttributeValueException.class, () -> parser.parseHand("\u00C9S KS TD 3H 6C")).getMessage());
+        Assertions.assertEquals("Unexpected card kind s", Assertions.assertThrows(
+                UnexpectedCardAttributeKindException.class, () -> parser.parseHand("KS As TD 3H 6C")).getMessage());
+        Assertions.assertEquals("There must be exactly 5 cards in the hand, but there are 4", Assertions.assertThrows(
+                CardAmountException.class, () -> parser.parseHand("xxKS AS TD 3H".toCharArray(), 2, 11)).getMessage());
+    }
+
+    @Test
+    void checkResultCodes() {
+        byte[] bytes = "AC JC KC QC TC|AS KS TD 3H 6X|AS KS TD 3H|KS AS KS".getBytes(StandardCharsets.US_ASCII);
+
+        Assertions.assertEquals(parser.parseHand("AC JC KC QC TC"), parser.tryParseHand(bytes, 0, 14));
+        long kind = parser.tryParseHand(bytes, 15, 14);
+        Assertions.assertTrue(ParseError.isError(kind));
+        Assertions.assertEquals(ParseError.CARD_KIND, ParseError.of(kind));
+        Assertions.assertEquals(13, ParseError.position(kind));
+        long amount = parser.tryParseHand(ByteBuffer.wrap(bytes), 30, 11);
+        Assertions.assertEquals(ParseError.CARD_AMOUNT, ParseError.of(amount));
+        Assertions.assertEquals(11, ParseError.position(amount));
+        Assertions.assertEquals(4, ParseError.detail(amount));
+        long duplicate = parser.tryParseCards(bytes, 42, 8);
+        Assertions.assertEquals(ParseError.DUPLICATE_CARD, ParseError.of(duplicate));
+        Assertions.assertEquals(6, ParseError.position(duplicate));
+        long attributes = parser.tryParseCards("AS KS  TD", 0, 9);
+        Assertions.assertEquals(ParseError.CARD_ATTRIBUTE_AMOUNT, ParseError.of(attributes));
+        Assertions.assertEquals(6, ParseError.position(attributes));
+        Assertions.assertEquals(0, ParseError.detail(attributes));
+        Assertions.assertEquals(ParseError.CARD_VALUE, ParseError.of(parser.tryParseHand("AS KS 1D 3H 6C".toCharArray(), 0, 14)));
+        Assertions.assertEquals(ParseError.NONE, ParseError.of(parser.tryParseCards("AS KS", 0, 5)));
+        Assertions.assertEquals(0, ParseError.position(parser.tryParseCards("AS KS", 0, 5)));
+    }
+
+    @Test
+    void checkFailuresDoNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        byte[] bytes = "AS KS TD 3H 6X".getBytes(StandardCharsets.US_ASCII);
+        long errors = 0;
+        for (int round = 0; round < 2; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int line = 0; line < 100_000; line++) {
+                errors += ParseError.position(parser.tryParseHand(bytes, 0, bytes.length));
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            // a constant few bytes come from the measurement and compilation, not from the lines
+            if (round == 1) {
+                Assertions.assertTrue(allocated < 1024, String.format("%s bytes allocated", allocated));
+            }
+        }
+        Assertions.assertEquals(2 * 100_000 * 13, errors);
+    }
+
+    @Test
+    void checkParseLinesFillsErrorColumn() {
+        byte[] chunk = "AC JC KC QC TC\r\nAS AS TD 3H 6C\n\nJC JS JD JH 6C\n3S 2C 4H 5C".getBytes(StandardCharsets.US_ASCII);
+        HandColumns columns = new HandColumns(2);
+
+        Assertions.assertEquals(3, parser.parseLines(chunk, 0, chunk.length, columns));
+        Assertions.assertEquals(5, columns.size());
+        Assertions.assertEquals(parser.parseHand("AC JC KC QC TC"), columns.getHand(0));
+        Assertions.assertEquals(ParseError.DUPLICATE_CARD, columns.getError(1));
+        Assertions.assertEquals(3, columns.getPosition(1));
+        Assertions.assertEquals(ParseError.CARD_ATTRIBUTE_AMOUNT, columns.getError(2));
+        Assertions.assertTrue(columns.isValid(3));
+        Assertions.assertEquals(ParseError.CARD_AMOUNT, columns.getError(4));
+        Assertions.assertEquals(0, columns.getHand(4));
+
+        Assertions.assertEquals(0, parser.parseLines(ByteBuffer.wrap(chunk), 0, 14, columns));
+        Assertions.assertEquals(1, columns.size());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> columns.getHand(1));
+    }
+}
@@ -0,0 +1,156 @@
+package com.soddik.pipeline;
+
+import com.soddik.dataset.HandDatasetReader;
+import com.soddik.entity.Combination;
+import com.soddik.entity.PokerHand;
+import com.soddik.evaluator.HandEvaluator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+class HandPipelineTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void checkSinksAgree() throws IOException {
+        Path path = directory.resolve("hands.thhd");
+        CombinationHistogramSink histogram = new CombinationHistogramSink();
+        TopHandsSink top = new TopHandsSink(10);
+        DatasetSink dataset = new DatasetSink(path);
+
+        PipelineSummary summary = new HandPipeline(3, 2, 1000, 4).run(200_500, 19, histogram, top, dataset);
+
+        Assertions.assertEquals(200_500, summary.hands());
+        Assertions.assertEquals(201, summary.batches());
+        Assertions.assertEquals(200_500, dataset.getResult().join());
+        Map<Combination, Long> expected = new EnumMap<>(Combination.class);
+        int[] ranks = new int[HandEvaluator.WORST_RANK + 1];
+        try (HandDatasetReader reader = HandDatasetReader.open(path)) {
+            reader.forEach((record, cards, rank) -> {
+                Assertions.assertEquals(HandEvaluator.evaluate(cards), rank);
+                expected.merge(HandEvaluator.combination(rank), 1L, Long::sum);
+                ranks[rank]++;
+            });
+        }
+        Map<Combination, Long> counts = histogram.getResult().join();
+        for (Combination combination : Combination.values()) {
+            Assertions.assertEquals(expected.getOrDefault(combination, 0L), counts.get(combination));
+        }
+
+        List<PokerHand> best = top.getResult().join();
+        Assertions.assertEquals(10, best.size());
+        int kept = 0;
+        for (int rank = HandEvaluator.BEST_RANK; kept < best.size(); rank++) {
+            for (int hand = 0; hand < ranks[rank] && kept < best.size(); hand++) {
+                Assertions.assertEquals(rank, best.get(kept++).getRank());
+            }
+        }
+    }
+
+    @Test
+    void checkSingleGeneratorIsRepeatable() {
+        CombinationHistogramSink first = new CombinationHistogramSink();
+        CombinationHistogramSink second = new CombinationHistogramSink();
+        new HandPipeline(1, 3, 256, 2).run(50_000, 7, first);
+        new HandPipeline(1, 1, 256, 2).run(50_000, 7, second);
+
+        Assertions.assertEquals(first.getResult().join(), second.getResult().join());
+        Assertions.assertEquals(0, new HandPipeline(1, 1, 256, 2).run(0, 7, new CombinationHistogramSink()).hands());
+    }
+
+    @Test
+    void checkSlowSinkBoundsBatchesInFlight() {
+        int buffer = 2;
+        ForkJoinPool generation = new ForkJoinPool(2);
+        ForkJoinPool ranking = new ForkJoinPool(2);
+        AtomicLong generated = new AtomicLong();
+        AtomicLong consumed = new AtomicLong();
+        AtomicLong maxInFlight = new AtomicLong();
+        BatchSink<Long> slow = new BatchSink<>() {
+            @Override
+            protected void accept(HandBatch batch) {
+                maxInFlight.accumulateAndGet(generated.get() - consumed.get(), Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                consumed.incrementAndGet();
+            }
+
+            @Override
+            protected Long finish() {
+                return consumed.get();
+            }
+        };
+        try (RankingProcessor processor = new RankingProcessor(ranking, buffer)) {
+            processor.subscribe(slow);
+            RandomHandPublisher publisher = new RandomHandPublisher(200 * 64, 64, 2, 3, generation);
+            publisher.subscribe(new CountingProcessor(processor, generated));
+            Assertions.assertEquals(200, slow.getResult().join());
+        } finally {
+            generation.shutdownNow();
+            ranking.shutdownNow();
+        }
+        // ranking, waiting for the sink and prefetched by it
+        Assertions.assertTrue(maxInFlight.get() <= buffer + buffer + BatchSink.PREFETCH + 1,
+                String.format("%s batches in flight", maxInFlight.get()));
+    }
+
+    @Test
+    void checkFailingSinkCompletesExceptionally() {
+        BatchSink<Void> failing = new BatchSink<>() {
+            @Override
+            protected void accept(HandBatch batch) {
+                throw new IllegalStateException("Sink failed");
+            }
+
+            @Override
+            protected Void finish() {
+                return null;
+            }
+        };
+        CompletionException exception = Assertions.assertThrows(CompletionException.class,
+                () -> new HandPipeline(1, 1, 100, 2).run(10_000, 1, failing));
+        Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new HandPipeline().run(10, 1));
+    }
+
+    /**
+     * Counts the batches handed to the processor.
+     */
+    private record CountingProcessor(RankingProcessor processor, AtomicLong generated)
+            implements Flow.Subscriber<HandBatch> {
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            processor.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(HandBatch batch) {
+            generated.incrementAndGet();
+            processor.onNext(batch);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            processor.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            processor.onComplete();
+        }
+    }
+}
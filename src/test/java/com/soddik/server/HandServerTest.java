@@ -0,0 +1,96 @@
+package com.soddik.server;
+
+import com.soddik.equity.EquityCalculator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ForkJoinPool;
+
+class HandServerTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+    private HandServer server;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = new HandServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2, 0,
+                new EquityCalculator(new ForkJoinPool(2), 1));
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    @Test
+    void checkEndpoints() throws Exception {
+        HttpResponse<String> evaluate = post("/evaluate", "AC JC KC QC TC\n7C 5S 4D 3H 2C\r\nAS AS TD 3H 6C\n"
+                + "JC JS JD JH 6C 2D 3D\n");
+        Assertions.assertEquals(200, evaluate.statusCode());
+        Assertions.assertEquals("1 ROYAL_FLUSH\n7462 HIGH_CARD\n0 UNKNOWN\n54 FOUR_OF_A_KIND\n", evaluate.body());
+
+        HttpResponse<String> compare = post("/compare", "2C 2D 9C JS KC|AS KS QS JS TS|2H 2S 9D JD KD\nAS|2C\n");
+        Assertions.assertEquals(200, compare.statusCode());
+        Assertions.assertTrue(compare.body().startsWith("1 0 1\nERROR "), compare.body());
+
+        HttpResponse<String> equity = post("/equity?boards=0", "AS AH|KD KC/2C 7D 9H 3S\n");
+        Assertions.assertEquals(200, equity.statusCode());
+        Assertions.assertEquals("0.9545 0.0455\n", equity.body());
+    }
+
+    @Test
+    void checkRejections() throws Exception {
+        Assertions.assertEquals(405, client.send(HttpRequest.newBuilder(uri("/evaluate")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).statusCode());
+        Assertions.assertEquals(413, post("/evaluate", "AC JC KC QC TC\n".repeat(HandServer.MAX_LINES + 1)).statusCode());
+        Assertions.assertEquals(400, post("/equity?boards=many", "AS AH|KD KC\n").statusCode());
+        Assertions.assertEquals(400, post("/equity?boards=" + (HandServer.MAX_EQUITY_BOARDS + 1), "AS AH|KD KC\n")
+                .statusCode());
+        Assertions.assertEquals(400, post("/equity?boards=-1", "AS AH|KD KC\n").statusCode());
+        Assertions.assertEquals(400, post("/equity?boards=" + HandServer.MAX_EQUITY_BOARDS,
+                "AS AH|KD KC\n".repeat((int) (HandServer.MAX_EQUITY_WORK / HandServer.MAX_EQUITY_BOARDS) + 1))
+                .statusCode());
+        HttpResponse<String> preflop = post("/equity?boards=0", "AS AH|KD KC\n");
+        Assertions.assertEquals(200, preflop.statusCode());
+        Assertions.assertEquals("ERROR Exact equity needs at least a flop\n", preflop.body());
+
+        server.permits.acquire(2);
+        try {
+            HttpResponse<String> saturated = post("/evaluate", "AC JC KC QC TC\n");
+            Assertions.assertEquals(503, saturated.statusCode());
+            Assertions.assertEquals("1", saturated.headers().firstValue("Retry-After").orElse(""));
+        } finally {
+            server.permits.release(2);
+        }
+        Assertions.assertEquals(1, server.getRejected());
+    }
+
+    @Test
+    void checkLoadClientReport() throws Exception {
+        HandLoadClient loadClient = new HandLoadClient(uri("/evaluate"));
+        LoadReport report = loadClient.run(40, 2, HandLoadClient.randomHands(100, 7, 3), 100);
+
+        Assertions.assertEquals(40, report.requests());
+        Assertions.assertEquals(0, report.failed());
+        Assertions.assertEquals((40 - report.rejected()) * 100, report.hands());
+        Assertions.assertTrue(report.p50Nanos() <= report.p99Nanos());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+}
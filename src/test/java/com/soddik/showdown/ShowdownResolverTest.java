@@ -0,0 +1,104 @@
+package com.soddik.showdown;
+
+import com.soddik.entity.Card;
+import com.soddik.exception.UniqueCardException;
+import com.soddik.generator.Deck;
+import com.soddik.parser.HandParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+class ShowdownResolverTest {
+    private final HandParser parser = new HandParser();
+    private final ShowdownResolver resolver = new ShowdownResolver(new ForkJoinPool(2));
+
+    @Test
+    void checkSidePots() {
+        ShowdownTables tables = new ShowdownTables(4);
+        long board = parser.parseCards("2S 7D 9C JH KS");
+        int allIn = tables.add(board, cards("AS AH", "QD QC", "3S 4H"), new long[]{50, 100, 100});
+        int split = tables.add(board, cards("AD 3C", "AC 4H", "5S 6S"), new long[]{101, 101, 40});
+        int folded = tables.add(board, new long[]{parser.parseCards("3D 4D"), 0, parser.parseCards("JD TD")},
+                new long[]{60, 90, 60});
+
+        ShowdownSummary summary = resolver.resolve(tables);
+
+        Assertions.assertArrayEquals(new long[]{150, 100, 0}, payouts(tables, allIn));
+        Assertions.assertArrayEquals(new long[]{121, 121, 0}, payouts(tables, split));
+        Assertions.assertArrayEquals(new long[]{0, 0, 210}, payouts(tables, folded));
+        Assertions.assertEquals(3, summary.tables());
+        Assertions.assertEquals(5, summary.pots());
+    }
+
+    @Test
+    void checkOddChipsGoInSeatOrder() {
+        ShowdownTables tables = new ShowdownTables(1);
+        long[] holeCards = {parser.parseCards("2C 3C"), parser.parseCards("4H 5H"), parser.parseCards("6D 7D"), 0};
+        int table = tables.add(parser.parseCards("AS KD QS JH TD"), holeCards, new long[]{33, 33, 33, 2});
+
+        resolver.resolve(tables);
+
+        Assertions.assertArrayEquals(new long[]{34, 34, 33, 0}, payouts(tables, table));
+        Assertions.assertEquals(tables.getRank(table, 0), tables.getRank(table, 2));
+    }
+
+    @Test
+    void checkRandomBatchKeepsChips() {
+        SplittableRandom random = new SplittableRandom(13);
+        Deck deck = new Deck();
+        ShowdownTables tables = new ShowdownTables(5000);
+        int[] codes = new int[25];
+        for (int table = 0; table < tables.capacity(); table++) {
+            int players = 2 + random.nextInt(9);
+            deck.deal(codes, 0, 5 + 2 * players, random);
+            long[] holeCards = new long[players];
+            long[] stakes = new long[players];
+            for (int seat = 0; seat < players; seat++) {
+                boolean folds = seat > 0 && random.nextInt(4) == 0;
+                holeCards[seat] = folds ? 0 : Card.bit(codes[5 + 2 * seat]) | Card.bit(codes[6 + 2 * seat]);
+                stakes[seat] = 1 + random.nextInt(200);
+            }
+            tables.add(Card.bit(codes[0]) | Card.bit(codes[1]) | Card.bit(codes[2]) | Card.bit(codes[3])
+                    | Card.bit(codes[4]), holeCards, stakes);
+        }
+
+        ShowdownSummary summary = resolver.resolve(tables);
+
+        for (int table = 0; table < tables.size(); table++) {
+            long paid = 0;
+            long staked = 0;
+            for (int seat = 0; seat < tables.getPlayers(table); seat++) {
+                paid += tables.getPayout(table, seat);
+                staked += tables.stakes[table * ShowdownTables.MAX_PLAYERS + seat];
+            }
+            Assertions.assertEquals(staked, paid);
+        }
+        Assertions.assertTrue(summary.showdownsPerSecond() > 0);
+    }
+
+    @Test
+    void checkDuplicateCardsAreRejected() {
+        ShowdownTables tables = new ShowdownTables(1);
+        tables.add(parser.parseCards("2S 7D 9C JH KS"), cards("AS AH", "AS KC"), new long[]{10, 10});
+
+        Assertions.assertThrows(UniqueCardException.class, () -> resolver.resolve(tables));
+    }
+
+    private long[] cards(String... holeCards) {
+        long[] result = new long[holeCards.length];
+        for (int seat = 0; seat < holeCards.length; seat++) {
+            result[seat] = parser.parseCards(holeCards[seat]);
+        }
+        return result;
+    }
+
+    private static long[] payouts(ShowdownTables tables, int table) {
+        long[] result = new long[tables.getPlayers(table)];
+        for (int seat = 0; seat < result.length; seat++) {
+            result[seat] = tables.getPayout(table, seat);
+        }
+        return result;
+    }
+}